@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Array;
+import com.ray3k.skincomposer.benchmarks.SyntheticProject.ProjectSize;
+import com.ray3k.skincomposer.data.DrawableData;
+import com.ray3k.skincomposer.data.DrawableData.DrawableType;
+import com.ray3k.skincomposer.data.ExportManifest;
+import com.ray3k.skincomposer.utils.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.ray3k.skincomposer.Main.*;
+
+/**
+ * Measures reading a texture atlas into drawables, compared to the previous per pixel extraction, and packing drawables into a texture atlas, both from scratch and
+ * when the manifest shows that nothing has changed.
+ * @author Raymond Buckley
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AtlasDataBenchmark {
+    @State(Scope.Benchmark)
+    public static class ExportedProject {
+        @Param({"SMALL", "MEDIUM", "LARGE"})
+        public ProjectSize size;
+        public FileHandle folder;
+        public FileHandle atlasFile;
+        public FileHandle settingsFile;
+        public ExportManifest manifest;
+        
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            folder = BenchmarkEnvironment.setup().child("atlas-" + size + "/");
+            SyntheticProject.generate(size, folder);
+            settingsFile = appFolder.child("texturepacker/atlas-export-settings.json");
+            
+            var skinFile = folder.child("export/skin.json");
+            skinFile.parent().mkdirs();
+            atlasFile = skinFile.sibling("skin.atlas");
+            manifest = ExportManifest.load(skinFile);
+            atlasData.writeAtlas(atlasFile, settingsFile, manifest, null);
+        }
+    }
+    
+    @State(Scope.Benchmark)
+    public static class EmptyProject {
+        @Setup(Level.Invocation)
+        public void clear() {
+            projectData.clear();
+        }
+    }
+    
+    @Benchmark
+    public void readAtlas(ExportedProject project, EmptyProject empty) throws Exception {
+        atlasData.readAtlas(project.atlasFile);
+    }
+    
+    /**
+     * The extraction used before regions were copied in bulk and encoded in parallel. Every region consumes the pixmap
+     * of its page, which decodes the page again, and is copied pixel by pixel and written sequentially. The pixmaps
+     * and the atlas are disposed here so the leaks of the original code don't skew later iterations.
+     */
+    @Benchmark
+    public void readAtlasBaseline(ExportedProject project, EmptyProject empty) throws Exception {
+        var saveFile = projectData.getSaveFile();
+        FileHandle targetDirectory;
+        if (saveFile != null) {
+            targetDirectory = saveFile.sibling(saveFile.nameWithoutExtension() + "_data/");
+        } else {
+            targetDirectory = appFolder.child("temp/" + projectData.getId() + "_data/");
+        }
+        targetDirectory.mkdirs();
+        
+        var atlas = new TextureAtlas(project.atlasFile);
+        try {
+            for (var region : atlas.getRegions()) {
+                var textureData = region.getTexture().getTextureData();
+                if (!textureData.isPrepared()) textureData.prepare();
+                
+                var pixmap = textureData.consumePixmap();
+                pixmap.setBlending(Pixmap.Blending.None);
+                Pixmap savePixmap;
+                String name;
+                
+                if (region.findValue("split") == null && region.findValue("pad") == null) {
+                    name = region.name + ".png";
+                    savePixmap = new Pixmap(region.getRegionWidth(), region.getRegionHeight(), Pixmap.Format.RGBA8888);
+                    savePixmap.setBlending(Pixmap.Blending.None);
+                    for (int x = 0; x < region.getRegionWidth(); x++) {
+                        for (int y = 0; y < region.getRegionHeight(); y++) {
+                            savePixmap.drawPixel(x, y, pixmap.getPixel(region.getRegionX() + x, region.getRegionY() + y));
+                        }
+                    }
+                } else {
+                    name = region.name + ".9.png";
+                    savePixmap = new Pixmap(region.getRegionWidth() + 2, region.getRegionHeight() + 2, pixmap.getFormat());
+                    savePixmap.setBlending(Pixmap.Blending.None);
+                    savePixmap.setColor(Color.BLACK);
+                    
+                    int[] splits = region.findValue("split");
+                    if (splits != null) {
+                        for (int y = splits[2] + 1; y < savePixmap.getHeight() - splits[3] - 1; y++) {
+                            savePixmap.drawPixel(0, y);
+                        }
+                        for (int x = splits[0] + 1; x < savePixmap.getWidth() - splits[1] - 1; x++) {
+                            savePixmap.drawPixel(x, 0);
+                        }
+                    }
+                    
+                    int[] pads = region.findValue("pad");
+                    if (pads != null) {
+                        for (int y = pads[2] + 1; y < savePixmap.getHeight() - pads[3] - 1; y++) {
+                            savePixmap.drawPixel(savePixmap.getWidth() - 1, y);
+                        }
+                        for (int x = pads[0] + 1; x < savePixmap.getWidth() - pads[1] - 1; x++) {
+                            savePixmap.drawPixel(x, savePixmap.getHeight() - 1);
+                        }
+                    }
+                    
+                    for (int x = 0; x < region.getRegionWidth(); x++) {
+                        for (int y = 0; y < region.getRegionHeight(); y++) {
+                            savePixmap.drawPixel(x + 1, y + 1, pixmap.getPixel(region.getRegionX() + x, region.getRegionY() + y));
+                        }
+                    }
+                }
+                
+                var outputFile = targetDirectory.child(name);
+                PixmapIO.writePNG(outputFile, savePixmap);
+                savePixmap.dispose();
+                if (textureData.disposePixmap()) pixmap.dispose();
+                
+                var drawable = new DrawableData(outputFile);
+                drawable.type = Utils.isNinePatch(outputFile.name()) ? DrawableType.NINE_PATCH : DrawableType.TEXTURE;
+                var drawables = atlasData.getDrawables();
+                for (var originalData : new Array<>(drawables)) {
+                    if (originalData.name.equals(drawable.name)) drawables.removeValue(originalData, true);
+                }
+                drawables.add(drawable);
+            }
+        } finally {
+            atlas.dispose();
+        }
+    }
+    
+    @Benchmark
+    public Array<String> writeAtlas(ExportedProject project) throws Exception {
+        //a manifest without records forces the atlas to be packed
+        var target = project.folder.child("write/skin.atlas");
+        target.parent().mkdirs();
+        return atlasData.writeAtlas(target, project.settingsFile, ExportManifest.load(target.sibling("skin.json")), null);
+    }
+    
+    @Benchmark
+    public Array<String> writeAtlasUnchanged(ExportedProject project) throws Exception {
+        return atlasData.writeAtlas(project.atlasFile, project.settingsFile, project.manifest, null);
+    }
+}
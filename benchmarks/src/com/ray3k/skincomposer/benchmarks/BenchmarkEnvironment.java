@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.ray3k.skincomposer.Main;
+import com.ray3k.skincomposer.data.DrawableCache;
+import com.ray3k.skincomposer.data.ProjectData;
+import com.ray3k.skincomposer.desktop.DesktopLauncher;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+
+import static com.ray3k.skincomposer.Main.*;
+
+/**
+ * Starts a headless application once per JVM with a GL backend that ignores every call, and initializes the static
+ * state of {@link Main} that the benchmarked code depends on. Caches and generated files are kept in a temporary folder
+ * and preferences in a separate folder, so benchmarks never touch the user's Skin Composer settings.
+ * @author Raymond Buckley
+ */
+public class BenchmarkEnvironment {
+    private static FileHandle tempFolder;
+    
+    /**
+     * Initializes the environment if it has not been initialized yet. Must be called in the setup of every benchmark.
+     * @return The temporary folder for files generated by the benchmarks.
+     */
+    public static synchronized FileHandle setup() throws Exception {
+        if (tempFolder != null) return tempFolder;
+        
+        var path = Files.createTempDirectory("skin-composer-benchmarks").toAbsolutePath().toString();
+        var config = new HeadlessApplicationConfiguration();
+        //preferences are relative to the home folder, kept apart from the ones of the editor
+        config.preferencesDirectory = ".prefs/skin-composer-benchmarks/";
+        
+        var latch = new CountDownLatch(1);
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                Gdx.gl = Gdx.gl20 = mockGL();
+                latch.countDown();
+            }
+        }, config);
+        latch.await();
+        
+        tempFolder = Gdx.files.absolute(path);
+        appFolder = tempFolder.child(".skincomposer/");
+        desktopWorker = new DesktopLauncher();
+        Main.copyDefaultFiles();
+        drawableCache = new DrawableCache(appFolder.child("cache/"));
+        
+        projectData = new ProjectData();
+        atlasData = projectData.getAtlasData();
+        jsonData = projectData.getJsonData();
+        return tempFolder;
+    }
+    
+    /**
+     * Creates a GL20 implementation that does nothing and returns default values, so textures and other GL resources
+     * can be created without a context.
+     * @return
+     */
+    private static GL20 mockGL() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class[] {GL20.class}, (proxy, method, args) -> {
+            var type = method.getReturnType();
+            if (type == Boolean.TYPE) return false;
+            if (type == Integer.TYPE) return 0;
+            if (type == Float.TYPE) return 0f;
+            if (type == Long.TYPE) return 0L;
+            if (type == String.class) return "";
+            return null;
+        });
+    }
+}
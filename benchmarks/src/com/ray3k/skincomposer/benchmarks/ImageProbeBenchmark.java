@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.ray3k.skincomposer.utils.ImageProbe;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading the dimensions of a folder of 1000 images by decoding every image into a Pixmap, as
+ * Utils.imageDimensions did before, compared to reading only the image headers with {@link ImageProbe}.
+ * @author Raymond Buckley
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageProbeBenchmark {
+    public static final int IMAGE_COUNT = 1000;
+    @Param({"32", "128", "512"})
+    public int imageSize;
+    private final Array<FileHandle> files = new Array<>();
+    
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        var folder = BenchmarkEnvironment.setup().child("images-" + imageSize + "/");
+        folder.mkdirs();
+        
+        //noise keeps the compressed size close to the worst case. Every tenth image is a nine patch.
+        var random = new RandomXS128(imageSize);
+        var pixmap = new Pixmap(imageSize, imageSize, Pixmap.Format.RGBA8888);
+        for (int y = 0; y < imageSize; y++) {
+            for (int x = 0; x < imageSize; x++) {
+                pixmap.drawPixel(x, y, random.nextInt());
+            }
+        }
+        var source = folder.child("source.png");
+        PixmapIO.writePNG(source, pixmap);
+        pixmap.dispose();
+        
+        files.clear();
+        for (int i = 0; i < IMAGE_COUNT; i++) {
+            var file = folder.child("image" + i + (i % 10 == 0 ? ".9.png" : ".png"));
+            source.copyTo(file);
+            files.add(file);
+        }
+    }
+    
+    @Benchmark
+    public int decode() {
+        int total = 0;
+        for (var file : files) {
+            var pixmap = new Pixmap(file);
+            int width = pixmap.getWidth();
+            int height = pixmap.getHeight();
+            if (file.name().matches("(?i).*\\.9\\.png$")) {
+                width = Math.max(width - 2, 0);
+                height = Math.max(height - 2, 0);
+            }
+            pixmap.dispose();
+            total += width + height;
+        }
+        return total;
+    }
+    
+    @Benchmark
+    public int probe() {
+        int total = 0;
+        for (var file : files) {
+            var info = ImageProbe.probe(file);
+            total += info.width + info.height;
+        }
+        return total;
+    }
+}
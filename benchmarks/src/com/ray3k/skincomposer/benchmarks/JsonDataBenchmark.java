@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.ray3k.skincomposer.benchmarks.SyntheticProject.ProjectSize;
+import com.ray3k.skincomposer.data.ExportManifest;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.ray3k.skincomposer.Main.*;
+
+/**
+ * Measures importing and exporting the skin JSON.
+ * @author Raymond Buckley
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JsonDataBenchmark {
+    @State(Scope.Benchmark)
+    public static class ExportedProject {
+        @Param({"SMALL", "MEDIUM", "LARGE"})
+        public ProjectSize size;
+        public FileHandle folder;
+        public FileHandle skinFile;
+        
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            folder = BenchmarkEnvironment.setup().child("json-" + size + "/");
+            SyntheticProject.generate(size, folder);
+            skinFile = folder.child("export/skin.json");
+            skinFile.parent().mkdirs();
+            projectData.export(skinFile);
+        }
+    }
+    
+    @State(Scope.Benchmark)
+    public static class EmptyProject {
+        @Setup(Level.Invocation)
+        public void clear() {
+            projectData.clear();
+        }
+    }
+    
+    @State(Scope.Benchmark)
+    public static class WriteTarget {
+        public FileHandle file;
+        
+        @Setup(Level.Invocation)
+        public void delete(ExportedProject project) {
+            //without an existing file and manifest, the JSON is always written
+            file = project.folder.child("write/skin.json");
+            file.parent().mkdirs();
+            file.delete();
+        }
+    }
+    
+    @Benchmark
+    public Array<String> readFile(ExportedProject project, EmptyProject empty) throws Exception {
+        return jsonData.readFile(project.skinFile);
+    }
+    
+    @Benchmark
+    public Array<String> writeFile(WriteTarget target) {
+        return jsonData.writeFile(target.file, ExportManifest.load(target.file));
+    }
+}
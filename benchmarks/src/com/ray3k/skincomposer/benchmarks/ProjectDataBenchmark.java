@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.ray3k.skincomposer.benchmarks.SyntheticProject.ProjectSize;
+import com.ray3k.skincomposer.data.ProjectData;
+import com.ray3k.skincomposer.data.ProjectData.SaveFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.ray3k.skincomposer.Main.*;
+
+/**
+ * Measures saving and loading project files in each save format.
+ * @author Raymond Buckley
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectDataBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public ProjectSize size;
+    @Param({"STANDARD", "COMPACT", "COMPRESSED"})
+    public SaveFormat format;
+    private FileHandle projectFile;
+    
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        var folder = BenchmarkEnvironment.setup().child("project-" + size + "/");
+        SyntheticProject.generate(size, folder);
+        projectData.setSaveFormat(format);
+        projectFile = folder.child("project-" + format + ".scmp");
+        projectData.save(projectFile);
+        ProjectData.finishSaving();
+    }
+    
+    @Benchmark
+    public void save() {
+        projectData.save(projectFile);
+        ProjectData.finishSaving();
+    }
+    
+    @Benchmark
+    public void load() {
+        projectData.load(projectFile);
+    }
+}
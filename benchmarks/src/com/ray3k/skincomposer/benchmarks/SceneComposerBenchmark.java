@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.ray3k.skincomposer.benchmarks.SyntheticProject.ProjectSize;
+import com.ray3k.skincomposer.dialog.scenecomposer.DialogSceneComposerJavaBuilder;
+import com.ray3k.skincomposer.dialog.scenecomposer.DialogSceneComposerModel;
+import com.ray3k.skincomposer.dialog.scenecomposer.DialogSceneComposerModel.SimRootGroup;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating Java code from a scene and saving and loading scenes as JSON.
+ * @author Raymond Buckley
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SceneComposerBenchmark {
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public ProjectSize size;
+    private FileHandle sceneFile;
+    
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        var folder = BenchmarkEnvironment.setup().child("scene-" + size + "/");
+        SyntheticProject.generate(size, folder);
+        
+        //the model configures the serializers used by the JSON round trip
+        new DialogSceneComposerModel();
+        DialogSceneComposerModel.rootActor = SyntheticProject.createScene(size);
+        sceneFile = folder.child("scene.json");
+    }
+    
+    @Benchmark
+    public String generateJavaFile() {
+        return DialogSceneComposerJavaBuilder.generateJavaFile();
+    }
+    
+    @Benchmark
+    public SimRootGroup jsonRoundTrip() {
+        DialogSceneComposerModel.saveToJson(sceneFile);
+        DialogSceneComposerModel.loadFromJson(sceneFile);
+        return DialogSceneComposerModel.rootActor;
+    }
+}
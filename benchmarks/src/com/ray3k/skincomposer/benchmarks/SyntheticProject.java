@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.scenes.scene2d.ui.Button;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.utils.Align;
+import com.ray3k.skincomposer.data.ColorData;
+import com.ray3k.skincomposer.data.DrawableData;
+import com.ray3k.skincomposer.dialog.scenecomposer.DialogSceneComposerModel.*;
+
+import static com.ray3k.skincomposer.Main.*;
+
+/**
+ * Generates projects of a given size with random images, colors, and styles. The same size always generates the same
+ * project. Images are only written the first time they are needed.
+ * @author Raymond Buckley
+ */
+public class SyntheticProject {
+    public enum ProjectSize {
+        SMALL(25, 10, 10, 10), MEDIUM(250, 50, 100, 100), LARGE(1000, 200, 400, 500);
+        
+        public final int drawables;
+        public final int colors;
+        public final int styles;
+        public final int sceneRows;
+        
+        ProjectSize(int drawables, int colors, int styles, int sceneRows) {
+            this.drawables = drawables;
+            this.colors = colors;
+            this.styles = styles;
+            this.sceneRows = sceneRows;
+        }
+    }
+    
+    /**
+     * Replaces the current project with a generated one.
+     * @param size
+     * @param folder The folder the images are written to.
+     */
+    public static void generate(ProjectSize size, FileHandle folder) throws Exception {
+        var random = new RandomXS128(size.ordinal());
+        projectData.clear();
+        
+        for (int i = 0; i < size.colors; i++) {
+            jsonData.getColors().add(new ColorData("color" + i, new Color(random.nextFloat(), random.nextFloat(), random.nextFloat(), 1f)));
+        }
+        
+        var imagesFolder = folder.child("images/");
+        imagesFolder.mkdirs();
+        for (int i = 0; i < size.drawables; i++) {
+            var ninePatch = i % 4 == 0;
+            var file = imagesFolder.child("drawable" + i + (ninePatch ? ".9.png" : ".png"));
+            if (!file.exists()) writeImage(file, random, ninePatch);
+            atlasData.getDrawables().add(new DrawableData(file));
+        }
+        
+        for (int i = 0; i < size.styles; i++) {
+            var button = jsonData.newStyle(Button.class, "button" + i);
+            button.properties.get("up").value = "drawable" + random.nextInt(size.drawables);
+            button.properties.get("down").value = "drawable" + random.nextInt(size.drawables);
+            button.properties.get("checked").value = "drawable" + random.nextInt(size.drawables);
+            
+            var label = jsonData.newStyle(Label.class, "label" + i);
+            label.properties.get("fontColor").value = "color" + random.nextInt(size.colors);
+            label.properties.get("background").value = "drawable" + random.nextInt(size.drawables);
+        }
+    }
+    
+    private static void writeImage(FileHandle file, RandomXS128 random, boolean ninePatch) {
+        var width = 16 + random.nextInt(80);
+        var height = 16 + random.nextInt(80);
+        var pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        try {
+            pixmap.setColor(random.nextFloat(), random.nextFloat(), random.nextFloat(), 1f);
+            pixmap.fill();
+            
+            if (ninePatch) {
+                //clear the border and mark the stretch and content areas
+                pixmap.setBlending(Pixmap.Blending.None);
+                pixmap.setColor(Color.CLEAR);
+                pixmap.drawRectangle(0, 0, width, height);
+                pixmap.setColor(Color.BLACK);
+                pixmap.drawLine(width / 3, 0, width * 2 / 3, 0);
+                pixmap.drawLine(0, height / 3, 0, height * 2 / 3);
+                pixmap.drawLine(width / 3, height - 1, width * 2 / 3, height - 1);
+                pixmap.drawLine(width - 1, height / 3, width - 1, height * 2 / 3);
+            }
+            
+            PixmapIO.writePNG(file, pixmap);
+        } finally {
+            pixmap.dispose();
+        }
+    }
+    
+    /**
+     * Creates a scene with a table of labels, images, and buttons that use the styles and drawables of the generated
+     * project.
+     * @param size
+     * @return
+     */
+    public static SimRootGroup createScene(ProjectSize size) {
+        var random = new RandomXS128(size.ordinal());
+        var root = new SimRootGroup();
+        var table = new SimTable();
+        table.name = "root";
+        table.fillParent = true;
+        table.parent = root;
+        root.children.add(table);
+        
+        for (int row = 0; row < size.sceneRows; row++) {
+            var label = new SimLabel();
+            label.name = "label" + row;
+            label.text = "Row " + row;
+            label.style = jsonData.findStyle(Label.class, "label" + random.nextInt(size.styles));
+            label.textAlignment = Align.left;
+            addCell(table, label, row, 0).growX = true;
+            
+            var image = new SimImage();
+            image.drawable = atlasData.getDrawable("drawable" + random.nextInt(size.drawables));
+            image.scaling = "fit";
+            addCell(table, image, row, 1);
+            
+            var button = new SimButton();
+            button.name = "button" + row;
+            button.style = jsonData.findStyle(Button.class, "button" + random.nextInt(size.styles));
+            button.color = jsonData.getColorByName("color" + random.nextInt(size.colors));
+            addCell(table, button, row, 2).padLeft = 5;
+        }
+        return root;
+    }
+    
+    private static SimCell addCell(SimTable table, SimActor actor, int row, int column) {
+        var cell = new SimCell();
+        cell.row = row;
+        cell.column = column;
+        cell.child = actor;
+        cell.parent = table;
+        actor.parent = cell;
+        table.cells.add(cell);
+        return cell;
+    }
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.math.RandomXS128;
+import com.ray3k.skincomposer.utils.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the image helpers used when drawables are added and tinted.
+ * @author Raymond Buckley
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UtilsBenchmark {
+    @Param({"64", "256", "1024"})
+    public int imageSize;
+    private Pixmap pixmap;
+    private FileHandle imageFile;
+    private final Color tint = new Color(.5f, .75f, 1f, 1f);
+    
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        var random = new RandomXS128(imageSize);
+        pixmap = new Pixmap(imageSize, imageSize, Pixmap.Format.RGBA8888);
+        for (int y = 0; y < imageSize; y++) {
+            for (int x = 0; x < imageSize; x++) {
+                pixmap.drawPixel(x, y, random.nextInt());
+            }
+        }
+        
+        imageFile = BenchmarkEnvironment.setup().child("utils/image" + imageSize + ".png");
+        imageFile.parent().mkdirs();
+        PixmapIO.writePNG(imageFile, pixmap);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pixmap.dispose();
+    }
+    
+    @Benchmark
+    public Color averageEdgeColor() {
+        return Utils.averageEdgeColor(pixmap, false);
+    }
+    
+    @Benchmark
+    public Color averageEdgeColorFile() {
+        return Utils.averageEdgeColor(imageFile);
+    }
+    
+    @Benchmark
+    public Pixmap tintPixmap() {
+        return Utils.tintPixmap(pixmap, tint);
+    }
+}
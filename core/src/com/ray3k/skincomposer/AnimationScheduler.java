@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.ray3k.skincomposer;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.ray3k.tenpatch.TenPatchDrawable;
+
+/**
+ * Advances the animations of TenPatch drawables that were drawn in the previous
+ * frame. Drawables that are not animated or were not drawn are skipped. Frame
+ * based animations sharing a frame duration advance together from a single
+ * timer and are only updated when that timer reaches the next frame.
+ * @author Raymond Buckley
+ */
+public class AnimationScheduler {
+    private ObjectSet<TenPatchDrawable> drawn = new ObjectSet<>();
+    private ObjectSet<TenPatchDrawable> visible = new ObjectSet<>();
+    private final IntMap<FrameGroup> frameGroups = new IntMap<>();
+    private boolean animatingOther;
+    private boolean animating;
+    
+    private static class FrameGroup {
+        private float frameDuration;
+        private float time;
+        private final Array<TenPatchDrawable> drawables = new Array<>();
+    }
+    
+    /**
+     * Called by {@link ScheduledTenPatchDrawable} every time it is drawn.
+     * @param drawable
+     */
+    public void drawn(TenPatchDrawable drawable) {
+        if (isAnimated(drawable)) drawn.add(drawable);
+    }
+    
+    /**
+     * Marks that something other than a TenPatch drawable, such as a Spine
+     * animation, was animated during this frame.
+     */
+    public void animated() {
+        animatingOther = true;
+    }
+    
+    public static boolean isAnimated(TenPatchDrawable drawable) {
+        return drawable.getRegions() != null && drawable.getRegions().size > 1
+                || drawable.getOffsetXspeed() != 0 || drawable.getOffsetYspeed() != 0;
+    }
+    
+    /**
+     * Advances the drawables that were visible in the previous frame. Call
+     * before Stage#act.
+     * @param delta
+     */
+    public void update(float delta) {
+        for (var group : frameGroups.values()) {
+            group.drawables.clear();
+        }
+        
+        for (var drawable : visible) {
+            //scrolling drawables move every frame
+            if (drawable.getOffsetXspeed() != 0 || drawable.getOffsetYspeed() != 0) {
+                drawable.update(delta);
+                continue;
+            }
+            
+            var key = Float.floatToIntBits(drawable.getFrameDuration());
+            var group = frameGroups.get(key);
+            if (group == null) {
+                group = new FrameGroup();
+                group.frameDuration = drawable.getFrameDuration();
+                frameGroups.put(key, group);
+            }
+            group.drawables.add(drawable);
+        }
+        
+        var iter = frameGroups.values().iterator();
+        while (iter.hasNext()) {
+            var group = iter.next();
+            if (group.drawables.size == 0 || group.frameDuration <= 0) {
+                iter.remove();
+                continue;
+            }
+            
+            group.time += delta;
+            if (group.time >= group.frameDuration) {
+                var advance = (int) (group.time / group.frameDuration) * group.frameDuration;
+                group.time -= advance;
+                for (var drawable : group.drawables) {
+                    drawable.update(advance);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Collects the drawables drawn during this frame so they are advanced in
+     * the next one. Call after Stage#draw.
+     */
+    public void endFrame() {
+        var swap = visible;
+        visible = drawn;
+        drawn = swap;
+        drawn.clear();
+        
+        animating = visible.size > 0 || animatingOther;
+        animatingOther = false;
+    }
+    
+    /**
+     * @return true if any animation was visible in the last frame.
+     */
+    public boolean isAnimating() {
+        return animating;
+    }
+}
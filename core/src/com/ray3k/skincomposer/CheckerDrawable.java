@@ -30,6 +30,8 @@ import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 /**
  * Draws a checkerboard pattern with the provided drawables, tinted with the
  * provided colors. Ensure that the widget using this drawable is set to clip.
+ * drawable1 fills the background and only the tint of drawable2 is used for the
+ * alternate cells, which are drawn in a single pass by {@link PatternRenderer}.
  * 
  * @author Raymond
  */
@@ -102,19 +104,7 @@ public class CheckerDrawable extends BaseDrawable {
 
     @Override
     public void draw(Batch batch, float x, float y, float width, float height) {
-        boolean changeY = false;
-        for (float y1 = y; y1 < y + height; y1 += h) {
-            boolean changeX = changeY;
-            for (float x1 = x; x1 < x + width; x1 += w) {
-                if (changeX) {
-                    drawable2.draw(batch, x1, y1, Math.min(w, x + width - x1), Math.min(h, y + height - y1));
-                } else {
-                    drawable1.draw(batch, x1, y1, Math.min(w, x + width - x1), Math.min(h, y + height - y1));
-                }
-                
-                changeX = !changeX;
-            }
-            changeY = !changeY;
-        }
+        drawable1.draw(batch, x, y, width, height);
+        PatternRenderer.drawChecker(batch, PatternRenderer.getColor(drawable2), x, y, width, height, x, y, w, h);
     }
 }
@@ -28,12 +28,14 @@ import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.PixmapPacker;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeBitmapFontData;
 import com.badlogic.gdx.utils.Array;
+import com.ray3k.skincomposer.data.AtlasTask;
 
 import java.io.File;
 import java.util.List;
 
 public interface DesktopWorker {
     void texturePack(Array<FileHandle> handles, FileHandle localFile, FileHandle targetFile, FileHandle settingsFile);
+    void texturePack(Array<FileHandle> handles, FileHandle localFile, FileHandle targetFile, FileHandle settingsFile, AtlasTask task);
     void packFontImages(Array<FileHandle> files, FileHandle saveFile);
     void sizeWindowToFit(int maxWidth, int maxHeight, int displayBorder, Graphics graphics);
     void centerWindow(Graphics graphics);
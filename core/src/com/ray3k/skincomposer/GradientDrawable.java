@@ -23,15 +23,15 @@
  ******************************************************************************/
 package com.ray3k.skincomposer;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.Batch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.utils.BaseDrawable;
 
 /**
- * Drawable that renders a gradient defined by four corner colors.
+ * Drawable that renders a gradient defined by four corner colors. The gradient
+ * is drawn as a single quad of a white texture region with colored vertices,
+ * so it is batched with the surrounding drawables.
  * 
  * MIT License
 
@@ -58,19 +58,32 @@ SOFTWARE.
  * @author Raymond Buckley
  */
 public class GradientDrawable extends BaseDrawable {
-    private static ShapeRenderer g;
+    private TextureRegion whiteRegion;
     private Color col1, col2, col3, col4;
     private float borderLeft, borderTop, borderRight, borderBottom;
+    private final float[] vertices = new float[20];
 
     /**
-     * 
+     * Uses the white region of the Skin Composer UI skin.
      * @param col1 bottom left color
      * @param col2 bottom right color
      * @param col3 top right color
      * @param col4 top left color
      */
     public GradientDrawable(Color col1, Color col2, Color col3, Color col4) {
-        if (g == null) g = new ShapeRenderer();
+        this(null, col1, col2, col3, col4);
+    }
+    
+    /**
+     * 
+     * @param whiteRegion a region that is white at its center
+     * @param col1 bottom left color
+     * @param col2 bottom right color
+     * @param col3 top right color
+     * @param col4 top left color
+     */
+    public GradientDrawable(TextureRegion whiteRegion, Color col1, Color col2, Color col3, Color col4) {
+        this.whiteRegion = whiteRegion;
         
         this.col1 = new Color();
         this.col2 = new Color();
@@ -158,28 +171,40 @@ public class GradientDrawable extends BaseDrawable {
         this.col4.set(col4);
     }
     
+    public TextureRegion getWhiteRegion() {
+        return whiteRegion;
+    }
+
+    public void setWhiteRegion(TextureRegion whiteRegion) {
+        this.whiteRegion = whiteRegion;
+    }
+    
     @Override
     public void draw(Batch batch, float x, float y, float width, float height) {
-        float[] alphas = {col1.a, col2.a, col3.a, col4.a};
-        col1.a = batch.getColor().a * col1.a;
-        col2.a = batch.getColor().a * col2.a;
-        col3.a = batch.getColor().a * col3.a;
-        col4.a = batch.getColor().a * col4.a;
+        if (whiteRegion == null) whiteRegion = Main.skin.getRegion("white");
+        
+        float x1 = x + borderLeft;
+        float y1 = y + borderBottom;
+        float x2 = x + width - borderRight;
+        float y2 = y + height - borderTop;
         
-        g.begin(ShapeRenderer.ShapeType.Filled);
-        g.setProjectionMatrix(batch.getProjectionMatrix());
-        g.setTransformMatrix(batch.getTransformMatrix());
-        batch.end();
-        Gdx.gl.glEnable(GL20.GL_BLEND);
-        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
-        g.rect(x + borderLeft, y + borderBottom, width - borderLeft - borderRight, height - borderBottom - borderTop, col1, col2, col3, col4);
-        g.end();
-        Gdx.gl.glDisable(GL20.GL_BLEND);
-        batch.begin();
+        //every vertex samples the center of the region so filtering never reaches its edges
+        float u = (whiteRegion.getU() + whiteRegion.getU2()) / 2;
+        float v = (whiteRegion.getV() + whiteRegion.getV2()) / 2;
+        float alpha = batch.getColor().a;
         
-        col1.a = alphas[0];
-        col2.a = alphas[1];
-        col3.a = alphas[2];
-        col4.a = alphas[3];
+        setVertex(0, x1, y1, col1, alpha, u, v);
+        setVertex(5, x1, y2, col4, alpha, u, v);
+        setVertex(10, x2, y2, col3, alpha, u, v);
+        setVertex(15, x2, y1, col2, alpha, u, v);
+        batch.draw(whiteRegion.getTexture(), vertices, 0, vertices.length);
+    }
+    
+    private void setVertex(int offset, float x, float y, Color color, float alpha, float u, float v) {
+        vertices[offset] = x;
+        vertices[offset + 1] = y;
+        vertices[offset + 2] = Color.toFloatBits(color.r, color.g, color.b, color.a * alpha);
+        vertices[offset + 3] = u;
+        vertices[offset + 4] = v;
     }
 }
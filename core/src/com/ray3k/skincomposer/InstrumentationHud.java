@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.ray3k.skincomposer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.PolygonSpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.ray3k.skincomposer.utils.Instrumentation;
+
+import java.util.Locale;
+
+/**
+ * Overlay that displays frame time percentiles, GL statistics, and the timers
+ * collected by {@link Instrumentation}. It is drawn on top of the stage after
+ * every other actor and is not part of the stage itself. GL statistics are only
+ * measured while the overlay is enabled.
+ * @author Raymond Buckley
+ */
+public class InstrumentationHud extends Table {
+    private static final float UPDATE_INTERVAL = .5f;
+    private static final long FPS_WINDOW_MILLIS = 5000;
+    private static final float[] PERCENTILES = {.5f, .95f, .99f};
+    private final GLProfiler profiler;
+    private final Label label;
+    private final StringBuilder text = new StringBuilder();
+    private final float[] percentileResults = new float[PERCENTILES.length];
+    private final float[] lastFrame = new float[5];
+    private boolean enabled;
+    private boolean continuous;
+    private float updateTimer;
+
+    public InstrumentationHud(Skin skin) {
+        profiler = new GLProfiler(Gdx.graphics);
+        
+        setBackground(skin.newDrawable("white", new Color(0, 0, 0, .7f)));
+        pad(5);
+        label = new Label("", new LabelStyle(skin.getFont("font"), Color.WHITE));
+        add(label);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (enabled) {
+            profiler.reset();
+            profiler.enable();
+            updateTimer = UPDATE_INTERVAL;
+        } else {
+            profiler.disable();
+        }
+    }
+    
+    /**
+     * Records the statistics of the frame that was just drawn. Must be called
+     * after the stage is drawn and before the overlay is drawn.
+     * @param delta
+     * @param actStart the start time of Stage#act from Instrumentation#start()
+     * @param drawStart the start time of Stage#draw from Instrumentation#start()
+     * @param batch the batch used to draw the stage
+     * @param continuous false if the frame was rendered on demand. The delta of
+     * these frames includes the idle time, so the time spent rendering is
+     * recorded instead.
+     */
+    public void recordFrame(float delta, long actStart, long drawStart, Batch batch, boolean continuous) {
+        var draw = Instrumentation.millisSince(drawStart);
+        var act = Instrumentation.millisSince(actStart) - draw;
+        var drawCalls = -1;
+        var textureBindings = -1;
+        if (enabled) {
+            drawCalls = profiler.getDrawCalls();
+            textureBindings = profiler.getTextureBindings();
+            profiler.reset();
+        }
+        
+        var renderCalls = -1;
+        if (batch instanceof PolygonSpriteBatch) {
+            renderCalls = ((PolygonSpriteBatch) batch).renderCalls;
+        } else if (batch instanceof SpriteBatch) {
+            renderCalls = ((SpriteBatch) batch).renderCalls;
+        }
+        
+        this.continuous = continuous;
+        var frame = continuous ? delta * 1000 : act + draw;
+        Instrumentation.recordFrame(frame, act, draw, drawCalls, textureBindings, renderCalls, continuous);
+        
+        if (enabled) {
+            updateTimer += delta;
+            if (updateTimer >= UPDATE_INTERVAL || !continuous) {
+                updateTimer = 0;
+                updateText();
+            }
+        }
+    }
+    
+    private void updateText() {
+        Instrumentation.getFramePercentiles(PERCENTILES, percentileResults);
+        Instrumentation.getLastFrame(lastFrame);
+        
+        text.setLength(0);
+        text.append(continuous ? "Rendering continuously" : "Rendering on demand");
+        text.append(String.format(Locale.ROOT, "  %.1f fps over %d s\n",
+                Instrumentation.getFramesPerSecond(FPS_WINDOW_MILLIS), FPS_WINDOW_MILLIS / 1000));
+        text.append(String.format(Locale.ROOT, "Frame  p50 %.1f ms  p95 %.1f ms  p99 %.1f ms\n",
+                percentileResults[0], percentileResults[1], percentileResults[2]));
+        text.append(String.format(Locale.ROOT, "Act %.2f ms  Draw %.2f ms\n", lastFrame[0], lastFrame[1]));
+        text.append(String.format(Locale.ROOT, "Draw calls %d  Texture binds %d  Render calls %d",
+                (int) lastFrame[2], (int) lastFrame[3], (int) lastFrame[4]));
+        
+        for (var timer : Instrumentation.getTimers()) {
+            text.append(String.format(Locale.ROOT, "\n%s  x%d  last %.1f ms  avg %.1f ms  max %.1f ms",
+                    timer.name, timer.count, timer.lastMillis, timer.getAverageMillis(), timer.maxMillis));
+        }
+        
+        label.setText(text);
+    }
+    
+    /**
+     * Draws the overlay in the top right corner of the stage if it is enabled.
+     * @param stage
+     */
+    public void drawOverlay(Stage stage) {
+        if (!enabled) return;
+        
+        setSize(getPrefWidth(), getPrefHeight());
+        setPosition(stage.getWidth() - getWidth() - 10, stage.getHeight() - getHeight() - 10);
+        validate();
+        
+        var batch = stage.getBatch();
+        batch.setProjectionMatrix(stage.getCamera().combined);
+        batch.begin();
+        draw(batch, 1);
+        batch.end();
+    }
+}
@@ -59,10 +59,13 @@ import com.esotericsoftware.spine.SkeletonData;
 import com.esotericsoftware.spine.SkeletonJson;
 import com.esotericsoftware.spine.SkeletonRenderer;
 import com.ray3k.skincomposer.data.AtlasData;
+import com.ray3k.skincomposer.data.Autosave;
+import com.ray3k.skincomposer.data.DrawableCache;
 import com.ray3k.skincomposer.data.JsonData;
 import com.ray3k.skincomposer.data.ProjectData;
 import com.ray3k.skincomposer.dialog.DialogFactory;
 import com.ray3k.skincomposer.dialog.DialogListener;
+import com.ray3k.skincomposer.utils.Instrumentation;
 import com.ray3k.skincomposer.utils.Utils;
 import com.ray3k.stripe.FreeTypeSkin;
 import com.ray3k.stripe.PopColorPicker.PopColorPickerStyle;
@@ -101,6 +104,8 @@ public class Main extends ApplicationAdapter {
     public static ProjectData projectData;
     public static JsonData jsonData;
     public static AtlasData atlasData;
+    public static DrawableCache drawableCache;
+    public static Autosave autosave;
     public static RootTable rootTable;
     public static IbeamListener ibeamListener;
     public static MainListener mainListener;
@@ -123,8 +128,11 @@ public class Main extends ApplicationAdapter {
     public static AnimationStateData arrowAnimationStateData;
     public static TinyVGAssetLoader tinyVGAssetLoader;
     private static final int SPINE_MAX_VERTS = 32767;
+    private static final float MAX_ON_DEMAND_DELTA = 1 / 30f;
     private static TinyVGDrawable drawable;
     public static PopColorPickerStyle popColorPickerStyle;
+    public static InstrumentationHud instrumentationHud;
+    public static AnimationScheduler animationScheduler;
     
     public Main (String[] args) {
         this.args = args;
@@ -135,7 +143,17 @@ public class Main extends ApplicationAdapter {
     public void create() {
         appFolder = Gdx.files.external(".skincomposer/");
         
-        skin = new FreeTypeSkin(Gdx.files.internal("skin-composer-ui/skin-composer-ui.json"));
+        animationScheduler = new AnimationScheduler();
+        skin = new FreeTypeSkin(Gdx.files.internal("skin-composer-ui/skin-composer-ui.json")) {
+            @Override
+            public void add(String name, Object resource, Class type) {
+                //ten patches are replaced so they register with the animation scheduler when they are drawn
+                if (resource instanceof TenPatchDrawable && !(resource instanceof ScheduledTenPatchDrawable)) {
+                    resource = new ScheduledTenPatchDrawable((TenPatchDrawable) resource);
+                }
+                super.add(name, resource, type);
+            }
+        };
         viewport = new ScreenViewport();
 //        viewport.setUnitsPerPixel(.5f);
         var batch = new PolygonSpriteBatch(SPINE_MAX_VERTS);
@@ -189,6 +207,9 @@ public class Main extends ApplicationAdapter {
         
         initDefaults();
         
+        instrumentationHud = new InstrumentationHud(skin);
+        instrumentationHud.setEnabled(projectData.isShowingPerformanceOverlay());
+        
         populate();
     
         resizeUiScale(projectData.getUiScale());
@@ -199,53 +220,22 @@ public class Main extends ApplicationAdapter {
         
         skin.getFont("font").getData().markupEnabled = true;
         
-        //copy defaults.json to temp folder if it doesn't exist
-        var fileHandle = appFolder.child("texturepacker/atlas-export-settings.json");
-        if (!fileHandle.exists()) {
-            Gdx.files.internal("atlas-export-settings.json").copyTo(fileHandle);
-        }
-        
-        //copy atlas settings for preview to temp folder if it doesn't exist
-        fileHandle = appFolder.child("texturepacker/atlas-internal-settings.json");
-        if (!fileHandle.exists()) {
-            Gdx.files.internal("atlas-internal-settings.json").copyTo(fileHandle);
-        }
-    
-        //copy white-pixel.png for pixel drawables
-        fileHandle = appFolder.child("texturepacker/white-pixel.png");
-        if (!fileHandle.exists()) {
-            Gdx.files.internal("white-pixel.png").copyTo(fileHandle);
-        }
-        
-        //copy preview fonts to preview fonts folder if they do not exist
-        fileHandle = appFolder.child("preview fonts/IBMPlexSerif-Medium.ttf");
-        if (!fileHandle.exists()) {
-            Gdx.files.internal("preview fonts/IBMPlexSerif-Medium.ttf").copyTo(fileHandle);
-        }
-        
-        fileHandle = appFolder.child("preview fonts/Pacifico-Regular.ttf");
-        if (!fileHandle.exists()) {
-            Gdx.files.internal("preview fonts/Pacifico-Regular.ttf").copyTo(fileHandle);
-        }
-        
-        fileHandle = appFolder.child("preview fonts/PressStart2P-Regular.ttf");
-        if (!fileHandle.exists()) {
-            Gdx.files.internal("preview fonts/PressStart2P-Regular.ttf").copyTo(fileHandle);
-        }
-        
-        fileHandle = appFolder.child("preview fonts/SourceSansPro-Regular.ttf");
-        if (!fileHandle.exists()) {
-            Gdx.files.internal("preview fonts/SourceSansPro-Regular.ttf").copyTo(fileHandle);
-        }
+        copyDefaultFiles();
         
         ibeamListener = new IbeamListener();
         
+        drawableCache = new DrawableCache(appFolder.child("cache/"));
+        
         dialogFactory = new DialogFactory();
         projectData = new ProjectData();
         projectData.randomizeId();
         projectData.setMaxUndos(30);
         atlasData = projectData.getAtlasData();
         jsonData = projectData.getJsonData();
+        autosave = new Autosave(appFolder.child("temp/" + Autosave.FOLDER_NAME + "/"));
+        
+        //cleared before the update check or the log listener can write to temp
+        projectData.getAtlasData().clearTempData();
         
         newVersion = VERSION;
         if (projectData.isCheckingForUpdates()) {
@@ -273,7 +263,6 @@ public class Main extends ApplicationAdapter {
         loadingAnimation = skin.get("loading-animation", TenPatchDrawable.class);
         loadingAnimation2 = skin.get("loading-animation2", TenPatchDrawable.class);
         
-        projectData.getAtlasData().clearTempData();
         handListener = new HandListener();
         
         scrollFocusListener = new ScrollFocusListener(stage);
@@ -302,8 +291,11 @@ public class Main extends ApplicationAdapter {
         stage.addActor(rootTable);
         rootTable.updateRecentFiles();
         
-        //pass arguments
-        if (!mainListener.argumentsPassed(args)) {
+        //offer to recover the previous session if it did not close normally
+        var recovery = autosave.findRecovery();
+        if (recovery != null) {
+            mainListener.showRecoveryDialog(recovery, args);
+        } else if (!mainListener.argumentsPassed(args)) {
             //show welcome screen if there are no valid arguments
             mainListener.createWelcomeListener();
         }
@@ -314,13 +306,25 @@ public class Main extends ApplicationAdapter {
         Gdx.gl.glClearColor(1.0f, 1.0f, 1.0f, 1.0f);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         
-        stage.act(Gdx.graphics.getDeltaTime());
+        //a frame rendered on demand has a delta that spans the idle time, so it is limited to keep new actions from skipping ahead
+        var continuous = Gdx.graphics.isContinuousRendering();
+        var delta = continuous ? Gdx.graphics.getDeltaTime() : Math.min(Gdx.graphics.getDeltaTime(), MAX_ON_DEMAND_DELTA);
         
-        for (var tenPatch : skin.getAll(TenPatchDrawable.class)) {
-            tenPatch.value.update(Gdx.graphics.getDeltaTime());
-        }
+        var actStart = Instrumentation.start();
+        animationScheduler.update(delta);
+        stage.act(delta);
+        autosave.update();
         
+        var drawStart = Instrumentation.start();
         stage.draw();
+        animationScheduler.endFrame();
+        
+        instrumentationHud.recordFrame(delta, actStart, drawStart, stage.getBatch(), continuous);
+        instrumentationHud.drawOverlay(stage);
+        
+        //input, actions, and posted runnables request rendering so the editor only needs to render continuously while animating
+        Gdx.graphics.setContinuousRendering(!projectData.isRenderingOnDemand() || animationScheduler.isAnimating()
+                || autosave.hasPendingOperations());
     }
 
     @Override
@@ -333,8 +337,12 @@ public class Main extends ApplicationAdapter {
 
     @Override
     public void dispose() {
+        ProjectData.finishSaving();
+        autosave.dispose();
+        drawableCache.save();
         stage.dispose();
         skin.dispose();
+        PatternRenderer.dispose();
     }
     
     public void resizeUiScale(int scale) {
@@ -352,6 +360,51 @@ public class Main extends ApplicationAdapter {
         viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
     }
 
+    /**
+     * Copies the TexturePacker settings, the white pixel, and the preview fonts
+     * to the app folder if they do not exist yet.
+     */
+    public static void copyDefaultFiles() {
+        //copy defaults.json to temp folder if it doesn't exist
+        var fileHandle = appFolder.child("texturepacker/atlas-export-settings.json");
+        if (!fileHandle.exists()) {
+            Gdx.files.internal("atlas-export-settings.json").copyTo(fileHandle);
+        }
+        
+        //copy atlas settings for preview to temp folder if it doesn't exist
+        fileHandle = appFolder.child("texturepacker/atlas-internal-settings.json");
+        if (!fileHandle.exists()) {
+            Gdx.files.internal("atlas-internal-settings.json").copyTo(fileHandle);
+        }
+    
+        //copy white-pixel.png for pixel drawables
+        fileHandle = appFolder.child("texturepacker/white-pixel.png");
+        if (!fileHandle.exists()) {
+            Gdx.files.internal("white-pixel.png").copyTo(fileHandle);
+        }
+        
+        //copy preview fonts to preview fonts folder if they do not exist
+        fileHandle = appFolder.child("preview fonts/IBMPlexSerif-Medium.ttf");
+        if (!fileHandle.exists()) {
+            Gdx.files.internal("preview fonts/IBMPlexSerif-Medium.ttf").copyTo(fileHandle);
+        }
+        
+        fileHandle = appFolder.child("preview fonts/Pacifico-Regular.ttf");
+        if (!fileHandle.exists()) {
+            Gdx.files.internal("preview fonts/Pacifico-Regular.ttf").copyTo(fileHandle);
+        }
+        
+        fileHandle = appFolder.child("preview fonts/PressStart2P-Regular.ttf");
+        if (!fileHandle.exists()) {
+            Gdx.files.internal("preview fonts/PressStart2P-Regular.ttf").copyTo(fileHandle);
+        }
+        
+        fileHandle = appFolder.child("preview fonts/SourceSansPro-Regular.ttf");
+        if (!fileHandle.exists()) {
+            Gdx.files.internal("preview fonts/SourceSansPro-Regular.ttf").copyTo(fileHandle);
+        }
+    }
+    
     public static Class basicToStyleClass(Class clazz) {
         int i = 0;
         for (Class basicClass : BASIC_CLASSES) {
@@ -56,6 +56,8 @@ import com.ray3k.skincomposer.utils.Utils;
 import static com.ray3k.skincomposer.Main.*;
 
 import java.io.File;
+import java.text.DateFormat;
+import java.util.Date;
 import java.util.Locale;
 
 public class MainListener extends RootTableListener {
@@ -646,20 +648,16 @@ public class MainListener extends RootTableListener {
     }
     
     public void refreshTextureAtlas() {
-        dialogFactory.showDialogLoading(() -> {
-            Gdx.app.postRunnable(() -> {
-                try {
-                    FileHandle defaultsFile = Main.appFolder.child("texturepacker/atlas-internal-settings.json");
-                    projectData.getAtlasData().writeAtlas(defaultsFile);
-                    projectData.getAtlasData().atlasCurrent = true;
-                    atlasData.produceAtlas();
-                    rootTable.refreshPreview();
-                } catch (Exception e) {
-                    dialogFactory.showDialogError("Error", "Unable to write texture atlas to temporary storage!", null);
-                    Gdx.app.error(getClass().getName(), "Unable to write texture atlas to temporary storage!", e);
-                    dialogFactory.showDialogError("Atlas Error...", "Unable to write texture atlas to temporary storage.\n\nOpen log?");
-                }
-            });
+        atlasData.atlasCurrent = false;
+        var task = atlasData.produceAtlasAsync();
+        dialogFactory.showDialogLoading(task);
+        task.addFinishedListener(() -> {
+            if (task.isFailed()) {
+                Gdx.app.error(getClass().getName(), "Unable to write texture atlas to temporary storage!");
+                dialogFactory.showDialogError("Atlas Error...", "Unable to write texture atlas to temporary storage.\n\nOpen log?");
+            } else if (!task.isCancelled()) {
+                rootTable.refreshPreview();
+            }
         });
     }
     
@@ -679,6 +677,39 @@ public class MainListener extends RootTableListener {
         return welcomeListener;
     }
 
+    /**
+     * Offers to recover the autosave of a session that did not close normally.
+     * The arguments are processed as usual if the user declines.
+     * @param recovery
+     * @param args
+     */
+    public void showRecoveryDialog(Autosave.Recovery recovery, String[] args) {
+        var text = "Skin Composer did not close properly.\n"
+                + "Unsaved changes to " + (recovery.originalFile == null ? "a new project" : recovery.originalFile.name())
+                + " were autosaved at " + DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT).format(new Date(recovery.time));
+        text += recovery.recoveredOperations > 0 ? " after " + recovery.recoveredOperations + " edit(s)." : ".";
+        text += "\nRecover the unsaved changes?";
+        
+        dialogFactory.yesNoDialog("Recover Project?", text, (int selection) -> {
+            if (selection == 0) {
+                try {
+                    autosave.recover(recovery);
+                } catch (Exception e) {
+                    Gdx.app.error(getClass().getName(), "Error while recovering autosave", e);
+                    dialogFactory.showDialogError("Recovery Error...", "Error while recovering unsaved changes.\n\nOpen log?");
+                    return;
+                }
+                rootTable.populate();
+                rootTable.updateRecentFiles();
+            } else {
+                autosave.clear();
+                if (!argumentsPassed(args)) {
+                    createWelcomeListener();
+                }
+            }
+        }, dialogListener);
+    }
+    
     public boolean argumentsPassed(String[] args) {
         var validArgument = false;
         if (args != null && args.length > 0) {
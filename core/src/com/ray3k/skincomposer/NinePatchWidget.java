@@ -559,57 +559,8 @@ public class NinePatchWidget extends Stack {
         }
         
         private void drawTiles(Batch batch, float x, float y, float width, float height) {
-            if (offsetX % widget.zoom > 0) {
-                var flip = (offsetX / widget.zoom) % 2 == 0;
-                if ((offsetY / widget.zoom) % 2 == 0) flip = !flip;
-                
-                var posX = (int) x + offsetX % widget.zoom - widget.zoom;
-                for (var posY = (int) y + offsetY % widget.zoom - widget.zoom; posY < y + height; posY += widget.zoom) {
-                    flip = !flip;
-                    
-                    if (flip) {
-                        style.lightTile.draw(batch, posX, posY, widget.zoom, widget.zoom);
-                        style.darkTile.draw(batch, posX + widget.zoom, posY, widget.zoom, widget.zoom);
-                    } else {
-                        style.lightTile.draw(batch, posX + widget.zoom, posY, widget.zoom, widget.zoom);
-                        style.darkTile.draw(batch, posX, posY, widget.zoom, widget.zoom);
-                    }
-                }
-            }
-            
-            if (offsetY % widget.zoom > 0) {
-                var flip = (offsetX / widget.zoom) % 2 == 0;
-                if ((offsetY / widget.zoom) % 2 == 0) flip = !flip;
-            
-                var posY = (int) y + offsetY % widget.zoom - widget.zoom;
-                for (var posX = (int) x + offsetX % widget.zoom; posX < x + width; posX += widget.zoom) {
-                    flip = !flip;
-                    if (!flip) {
-                        style.lightTile.draw(batch, posX, posY, widget.zoom, widget.zoom);
-                        style.darkTile.draw(batch, posX + widget.zoom, posY, widget.zoom, widget.zoom);
-                    } else {
-                        style.lightTile.draw(batch, posX + widget.zoom, posY, widget.zoom, widget.zoom);
-                        style.darkTile.draw(batch, posX, posY, widget.zoom, widget.zoom);
-                    }
-                }
-            }
-            
-            var flip = (offsetX / widget.zoom) % 2 == 0;
-            if ((offsetY / widget.zoom) % 2 == 0) flip = !flip;
-            
-            for (var posY = (int) y + offsetY % widget.zoom; posY < y + height; posY += widget.zoom) {
-                flip = !flip;
-                
-                for (var posX = (int) x + offsetX % widget.zoom; posX < x + width; posX += widget.zoom * 2) {
-                    if (flip) {
-                        style.lightTile.draw(batch, posX, posY, widget.zoom, widget.zoom);
-                        style.darkTile.draw(batch, posX + widget.zoom, posY, widget.zoom, widget.zoom);
-                    } else {
-                        style.lightTile.draw(batch, posX + widget.zoom, posY, widget.zoom, widget.zoom);
-                        style.darkTile.draw(batch, posX, posY, widget.zoom, widget.zoom);
-                    }
-                }
-            }
+            style.lightTile.draw(batch, x, y, width, height);
+            PatternRenderer.drawChecker(batch, PatternRenderer.getColor(style.darkTile), x, y, width, height, x + offsetX, y + offsetY, widget.zoom, widget.zoom);
         }
         
         private void drawDrawable(Batch batch, float x, float y, float width, float height) {
@@ -772,13 +723,7 @@ public class NinePatchWidget extends Stack {
             }
             
             if (drawable != null) {
-                for (var drawY = 0; drawY <= widget.getRegionHeight(); drawY++) {
-                    drawable.draw(batch, x, y + drawY * widget.zoom + offsetY, width, 1);
-                }
-                
-                for (var drawX = 0; drawX <= widget.getRegionWidth(); drawX++) {
-                    drawable.draw(batch, x + drawX * widget.zoom + offsetX, y, 1, height);
-                }
+                PatternRenderer.drawGrid(batch, PatternRenderer.getColor(drawable), x, y, width, height, x + offsetX, y + offsetY, widget.zoom, widget.getRegionWidth(), widget.getRegionHeight());
             }
         }
         
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.ray3k.skincomposer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.scenes.scene2d.utils.SpriteDrawable;
+
+/**
+ * Draws checkerboard and pixel grid patterns as a single quad regardless of the
+ * number of cells. The pattern is computed in a fragment shader from the quad's
+ * texture coordinates, which are expressed in cells instead of texels.
+ * 
+ * @author Raymond Buckley
+ */
+public class PatternRenderer {
+    private static final String VERTEX_SHADER = "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_cells;\n"
+            + "void main() {\n"
+            + "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+            + "    v_color.a = v_color.a * (255.0/254.0);\n"
+            + "    v_cells = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "}\n";
+    
+    private static final String FRAGMENT_SHADER = "#ifdef GL_ES\n"
+            + "#ifdef GL_FRAGMENT_PRECISION_HIGH\n"
+            + "precision highp float;\n"
+            + "#else\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "#endif\n"
+            + "varying vec4 v_color;\n"
+            + "varying vec2 v_cells;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "uniform vec2 u_white;\n"
+            + "uniform float u_mode;\n"
+            + "uniform vec2 u_lineWidth;\n"
+            + "uniform vec2 u_lineCount;\n"
+            + "void main() {\n"
+            + "    vec2 cell = floor(v_cells);\n"
+            + "    float mask;\n"
+            + "    if (u_mode < 0.5) {\n"
+            + "        mask = mod(cell.x + cell.y, 2.0);\n"
+            + "    } else {\n"
+            + "        vec2 line = step(fract(v_cells), u_lineWidth) * step(0.0, cell) * step(cell, u_lineCount);\n"
+            + "        mask = max(line.x, line.y);\n"
+            + "    }\n"
+            + "    if (mask < 0.5) discard;\n"
+            + "    gl_FragColor = v_color * texture2D(u_texture, u_white);\n"
+            + "}\n";
+    
+    private static final float MODE_CHECKER = 0;
+    private static final float MODE_GRID = 1;
+    private static ShaderProgram shader;
+    private static ShaderProgram previousShader;
+    private static boolean shaderFailed;
+    private static final float[] vertices = new float[20];
+    private static final Color tempColor = new Color();
+    
+    /**
+     * Draws the odd cells of a checkerboard with the given color. The even cells
+     * are left untouched so the caller can fill the background with a single draw
+     * beforehand.
+     * @param batch
+     * @param color
+     * @param x
+     * @param y
+     * @param width
+     * @param height
+     * @param originX the x position where the first even cell starts
+     * @param originY the y position where the first even cell starts
+     * @param cellWidth
+     * @param cellHeight 
+     */
+    public static void drawChecker(Batch batch, Color color, float x, float y, float width, float height, float originX, float originY, float cellWidth, float cellHeight) {
+        if (!begin(batch)) return;
+        
+        shader.setUniformf("u_mode", MODE_CHECKER);
+        draw(batch, color, x, y, width, height, originX, originY, cellWidth, cellHeight);
+        end(batch);
+    }
+    
+    /**
+     * Draws a grid of one pixel wide lines. Vertical lines are drawn at the left
+     * edge of cells 0 through columns and horizontal lines at the bottom edge of
+     * cells 0 through rows, counted from the origin. Lines are clipped to the
+     * given bounds.
+     * @param batch
+     * @param color
+     * @param x
+     * @param y
+     * @param width
+     * @param height
+     * @param originX
+     * @param originY
+     * @param cellSize
+     * @param columns
+     * @param rows 
+     */
+    public static void drawGrid(Batch batch, Color color, float x, float y, float width, float height, float originX, float originY, float cellSize, int columns, int rows) {
+        if (!begin(batch)) return;
+        
+        shader.setUniformf("u_mode", MODE_GRID);
+        shader.setUniformf("u_lineWidth", 1f / cellSize, 1f / cellSize);
+        shader.setUniformf("u_lineCount", columns, rows);
+        draw(batch, color, x, y, width, height, originX, originY, cellSize, cellSize);
+        end(batch);
+    }
+    
+    /**
+     * Returns the tint of a solid color drawable such as those created with
+     * Skin#newDrawable(String, Color). Other drawables return white.
+     * @param drawable
+     * @return 
+     */
+    public static Color getColor(Drawable drawable) {
+        if (drawable instanceof SpriteDrawable) {
+            return ((SpriteDrawable) drawable).getSprite().getColor();
+        } else {
+            return Color.WHITE;
+        }
+    }
+    
+    private static boolean begin(Batch batch) {
+        if (shader == null && !shaderFailed) {
+            shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+            if (!shader.isCompiled()) {
+                Gdx.app.error(PatternRenderer.class.getName(), "Error compiling pattern shader:\n" + shader.getLog());
+                shader.dispose();
+                shader = null;
+                shaderFailed = true;
+            }
+        }
+        if (shader == null) return false;
+        
+        previousShader = batch.getShader();
+        batch.setShader(shader);
+        return true;
+    }
+    
+    private static void end(Batch batch) {
+        batch.setShader(previousShader);
+        previousShader = null;
+    }
+    
+    private static void draw(Batch batch, Color color, float x, float y, float width, float height, float originX, float originY, float cellWidth, float cellHeight) {
+        TextureRegion white = Main.skin.getRegion("white");
+        //sample the center of the white region so the texture only contributes its white texel
+        shader.setUniformf("u_white", (white.getU() + white.getU2()) / 2, (white.getV() + white.getV2()) / 2);
+        float packedColor = tempColor.set(color).mul(batch.getColor()).toFloatBits();
+        float u = (x - originX) / cellWidth;
+        float v = (y - originY) / cellHeight;
+        float u2 = (x + width - originX) / cellWidth;
+        float v2 = (y + height - originY) / cellHeight;
+        
+        setVertex(0, x, y, packedColor, u, v);
+        setVertex(5, x, y + height, packedColor, u, v2);
+        setVertex(10, x + width, y + height, packedColor, u2, v2);
+        setVertex(15, x + width, y, packedColor, u2, v);
+        batch.draw(white.getTexture(), vertices, 0, vertices.length);
+    }
+    
+    private static void setVertex(int offset, float x, float y, float packedColor, float u, float v) {
+        vertices[offset] = x;
+        vertices[offset + 1] = y;
+        vertices[offset + 2] = packedColor;
+        vertices[offset + 3] = u;
+        vertices[offset + 4] = v;
+    }
+    
+    public static void dispose() {
+        if (shader != null) {
+            shader.dispose();
+            shader = null;
+        }
+    }
+}
@@ -60,6 +60,7 @@ import com.badlogic.gdx.utils.reflect.Field;
 import com.ray3k.skincomposer.data.*;
 import com.ray3k.skincomposer.data.CustomProperty.PropertyType;
 import com.ray3k.skincomposer.data.ProjectData.RecentFile;
+import com.ray3k.skincomposer.utils.Instrumentation;
 import com.ray3k.skincomposer.utils.Utils;
 import com.ray3k.stripe.DraggableList.DraggableListListener;
 import com.ray3k.stripe.*;
@@ -102,6 +103,7 @@ public class RootTable extends Table {
             + "\n\n\n" + PARAGRAPH_SAMPLE + "\n\n\n" + PARAGRAPH_SAMPLE + "\n\n\n"
             + PARAGRAPH_SAMPLE;
     private final Array<BitmapFont> previewFonts;
+    private final PreviewFontCache previewFontCache;
     private TextButton undoButton;
     private TextButton redoButton;
     private StripeMenu recentFilesMenu;
@@ -120,6 +122,7 @@ public class RootTable extends Table {
         
         scrollPaneListener = new ScrollPaneListener();
         previewFonts = new Array<>();
+        previewFontCache = new PreviewFontCache(16);
         
         atlasData.produceAtlas();
         
@@ -2070,15 +2073,17 @@ public class RootTable extends Table {
         }
     }
     
-    public void refreshPreview() {        
+    public void refreshPreview() {
+        var start = Instrumentation.start();
         if (previewTable != null) {
             previewTable.clear();
             previewTable.setBackground("white");
             previewTable.setColor((Color) previewProperties.get("bgcolor"));
 
             for (BitmapFont font : previewFonts) {
-                font.dispose();
+                previewFontCache.release(font);
             }
+            previewFonts.clear();
 
             if (classSelectBox.getSelectedIndex() >= 0 && classSelectBox.getSelectedIndex() < Main.BASIC_CLASSES.length) {
                 StyleData styleData = getSelectedStyle();
@@ -2472,7 +2477,7 @@ public class RootTable extends Table {
                                     for (FontData fd : jsonData.getFonts()) {
                                         if (fd.getName().equals(fontName)) {
                                             fontData = fd;
-                                            font = new BitmapFont(fd.file);
+                                            font = previewFontCache.obtain(fd);
                                             previewFonts.add(font);
                                             break;
                                         }
@@ -2529,6 +2534,7 @@ public class RootTable extends Table {
                 }
             }
         }
+        Instrumentation.record("RootTable.refreshPreview", start);
     }
     
     public <T> T createPreviewStyle(Class<T> clazz, StyleData styleData) {
@@ -2551,7 +2557,7 @@ public class RootTable extends Table {
                     } else if (field.getType().equals(BitmapFont.class)) {
                         for (FontData data : projectData.getJsonData().getFonts()) {
                             if (value.equals(data.getName())) {
-                                BitmapFont font = new BitmapFont(data.file);
+                                BitmapFont font = previewFontCache.obtain(data);
                                 previewFonts.add(font);
                                 field.set(instance, font);
                             }
@@ -2915,15 +2921,4 @@ public class RootTable extends Table {
     
         public abstract void droppedScmpFile(FileHandle fileHandle);
     }
-    
-    @Override
-    public void act(float delta) {
-        super.act(delta);
-        
-        for (var drawable : atlasData.getDrawablePairs().values()) {
-            if (drawable instanceof TenPatchDrawable) {
-                ((TenPatchDrawable) drawable).update(delta);
-            }
-        }
-    }
 }
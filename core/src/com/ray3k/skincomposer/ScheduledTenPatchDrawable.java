@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.ray3k.skincomposer;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.ray3k.tenpatch.TenPatchDrawable;
+
+/**
+ * TenPatchDrawable that registers with the {@link AnimationScheduler} whenever
+ * it is drawn. The scheduler is responsible for updating the animation, so
+ * update() should not be called on it directly.
+ * @author Raymond Buckley
+ */
+public class ScheduledTenPatchDrawable extends TenPatchDrawable {
+    public ScheduledTenPatchDrawable() {
+    }
+    
+    public ScheduledTenPatchDrawable(int[] horizontalStretchAreas, int[] verticalStretchAreas, boolean tiling, TextureRegion region) {
+        super(horizontalStretchAreas, verticalStretchAreas, tiling, region);
+    }
+    
+    public ScheduledTenPatchDrawable(TenPatchDrawable tenPatchDrawable) {
+        super(tenPatchDrawable);
+    }
+    
+    @Override
+    public void draw(Batch batch, float x, float y, float width, float height) {
+        if (Main.animationScheduler != null) Main.animationScheduler.drawn(this);
+        super.draw(batch, x, y, width, height);
+    }
+    
+    @Override
+    public void draw(Batch batch, float x, float y, float originX, float originY, float width, float height,
+                     float scaleX, float scaleY, float rotation) {
+        if (Main.animationScheduler != null) Main.animationScheduler.drawn(this);
+        super.draw(batch, x, y, originX, originY, width, height, scaleX, scaleY, rotation);
+    }
+}
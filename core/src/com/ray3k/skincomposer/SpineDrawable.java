@@ -33,6 +33,7 @@ public class SpineDrawable extends SkeletonDrawable {
     public void draw(Batch batch, float x, float y, float width, float height) {
         getSkeleton().setScale(width / cropWidth, height / cropHeight);
         getSkeleton().setColor(batch.getColor());
+        if (Main.animationScheduler != null) Main.animationScheduler.animated();
         super.draw(batch, x - cropX, y - cropY, width, height);
     }
 }
\ No newline at end of file
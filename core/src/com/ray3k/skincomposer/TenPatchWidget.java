@@ -271,6 +271,7 @@ public class TenPatchWidget extends Stack {
     private class TenPatchDisplay extends Widget {
         private TenPatchWidgetStyle style;
         private TenPatchWidget widget;
+        private final Color oldColor = new Color();
 
         public TenPatchDisplay(TenPatchWidget widget, TenPatchWidgetStyle style) {
             this.style = style;
@@ -801,21 +802,12 @@ public class TenPatchWidget extends Stack {
         }
         
         private void drawTiles(Batch batch) {
-            var oldColor = new Color(batch.getColor());
+            oldColor.set(batch.getColor());
             batch.setColor(bgColor);
-            if (MathUtils.isEqual(1f, widget.getZoomScale())) {
-                style.gridLight.draw(batch, getX(), getY(), getWidth(), getHeight());
-            } else {
-                var even = (int) (widget.position.y / widget.getZoomScale()) % 2 == 0;
-                for (var y = -widget.getZoomScale() + widget.position.y % widget.getZoomScale(); y < getHeight(); y += widget.getZoomScale()) {
-                    var drawLight = (int) (widget.position.x / widget.getZoomScale()) % 2 == 0 ? even : !even;
-                    for (var x = -widget.getZoomScale() + widget.position.x % widget.getZoomScale(); x < getWidth(); x += widget.getZoomScale()) {
-                        var drawable = drawLight ? style.gridLight : style.gridDark;
-                        drawable.draw(batch, x + getX(), y + getY(), widget.getZoomScale(), widget.getZoomScale());
-                        drawLight = !drawLight;
-                    }
-                    even = !even;
-                }
+            style.gridLight.draw(batch, getX(), getY(), getWidth(), getHeight());
+            if (!MathUtils.isEqual(1f, widget.getZoomScale())) {
+                PatternRenderer.drawChecker(batch, PatternRenderer.getColor(style.gridDark), getX(), getY(), getWidth(), getHeight(),
+                        getX() + widget.position.x, getY() + widget.position.y, widget.getZoomScale(), widget.getZoomScale());
             }
             batch.setColor(oldColor);
         }
@@ -832,13 +824,9 @@ public class TenPatchWidget extends Stack {
             if (region != null && widget.zoomScale > 2 && (widget.getGridMode() == GridMode.DARK || widget.getGridMode() == GridMode.LIGHT)) {
                 var grid =  widget.getGridMode() == GridMode.LIGHT ? widget.getStyle().gridLight : widget.getStyle().gridDark;
                 
-                for (var x = 0; x < region.getRegionWidth() * widget.zoomScale; x += widget.zoomScale) {
-                    grid.draw(batch, getX() + widget.position.x + x, getY() + widget.position.y, 1f, region.getRegionHeight() * widget.zoomScale);
-                }
-                
-                for (var y = 0; y < region.getRegionHeight() * widget.zoomScale; y += widget.zoomScale) {
-                    grid.draw(batch, getX() + widget.position.x, getY() + widget.position.y + y, region.getRegionWidth() * widget.zoomScale, 1f);
-                }
+                PatternRenderer.drawGrid(batch, PatternRenderer.getColor(grid), getX() + widget.position.x, getY() + widget.position.y,
+                        region.getRegionWidth() * widget.zoomScale, region.getRegionHeight() * widget.zoomScale,
+                        getX() + widget.position.x, getY() + widget.position.y, widget.zoomScale, region.getRegionWidth() - 1, region.getRegionHeight() - 1);
             }
         }
         
@@ -27,26 +27,55 @@ package com.ray3k.skincomposer;
 import com.badlogic.gdx.ApplicationLogger;
 import com.badlogic.gdx.files.FileHandle;
 
-import java.io.PrintStream;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * Writes log messages to temp/log.txt in the app folder. Messages are queued in a bounded ring buffer and written by a
+ * single background thread so logging never blocks on file IO. The log is rotated once it exceeds MAX_LOG_SIZE and the
+ * queue is flushed when the JVM shuts down, including after a crash.
+ * @author Raymond Buckley
+ */
 public class TextFileApplicationLogger implements ApplicationLogger {
+    private static final int RING_SIZE = 4096;
+    private static final long MAX_LOG_SIZE = 2 * 1024 * 1024;
+    private static final int MAX_BACKUPS = 3;
+    private static final long FLUSH_TIMEOUT = 2000;
     private final FileHandle log;
+    private final Entry[] ring = new Entry[RING_SIZE];
+    private int head;
+    private int size;
+    private int dropped;
+    private boolean writing;
+    private Writer writer;
+    private long logSize;
 
     public TextFileApplicationLogger() {
         log = Main.appFolder.child("temp/log.txt");
+        
+        var thread = new Thread(this::writeLoop, "log-writer");
+        thread.setDaemon(true);
+        thread.start();
+        
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "log-flush"));
     }
     
     @Override
     public void log(String tag, String message) {
-        log.writeString("\n" + tag + ": " + message + "\n", true);
+        queue(tag, message, null);
         
         System.out.println(tag + ": " + message);
     }
 
     @Override
     public void log(String tag, String message, Throwable exception) {
-        log.writeString("\n" + tag + ": " + message + "\n", true);
-        printException(exception);
+        queue(tag, message, exception);
         
         System.out.println(tag + ": " + message);
         exception.printStackTrace(System.out);
@@ -54,15 +83,14 @@ public class TextFileApplicationLogger implements ApplicationLogger {
 
     @Override
     public void error(String tag, String message) {
-        log.writeString("\n" + tag + ": " + message + "\n", true);
+        queue(tag, message, null);
         
         System.err.println(tag + ": " + message);
     }
 
     @Override
     public void error(String tag, String message, Throwable exception) {
-        log.writeString("\n" + tag + ": " + message + "\n", true);
-        printException(exception);
+        queue(tag, message, exception);
         
         System.err.println(tag + ": " + message);
         exception.printStackTrace(System.err);
@@ -70,23 +98,157 @@ public class TextFileApplicationLogger implements ApplicationLogger {
 
     @Override
     public void debug(String tag, String message) {
-        log.writeString("\n" + tag + ": " + message + "\n", true);
+        queue(tag, message, null);
         
         System.out.println(tag + ": " + message);
     }
 
     @Override
     public void debug(String tag, String message, Throwable exception) {
-        log.writeString("\n" + tag + ": " + message + "\n", true);
-        printException(exception);
+        queue(tag, message, exception);
         
         System.out.println(tag + ": " + message);
         exception.printStackTrace(System.out);
     }
     
-    private void printException(Throwable exception) {
-        PrintStream printStream = new PrintStream(log.write(true));
-        exception.printStackTrace(printStream);
-        printStream.close();
+    /**
+     * Blocks until every queued message has been written to the log file or the timeout expires.
+     */
+    public void flush() {
+        var end = System.currentTimeMillis() + FLUSH_TIMEOUT;
+        synchronized (ring) {
+            while (size > 0 || writing) {
+                var remaining = end - System.currentTimeMillis();
+                if (remaining <= 0) break;
+                try {
+                    ring.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+    
+    private void queue(String tag, String message, Throwable exception) {
+        synchronized (ring) {
+            //when the writer falls behind, the oldest messages are overwritten
+            if (size == RING_SIZE) {
+                head = (head + 1) % RING_SIZE;
+                size--;
+                dropped++;
+            }
+            ring[(head + size) % RING_SIZE] = new Entry(tag, message, exception);
+            size++;
+            ring.notifyAll();
+        }
+    }
+    
+    private void writeLoop() {
+        var batch = new Entry[RING_SIZE];
+        while (true) {
+            int count;
+            int droppedCount;
+            synchronized (ring) {
+                writing = false;
+                ring.notifyAll();
+                while (size == 0) {
+                    try {
+                        ring.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                
+                count = size;
+                for (int i = 0; i < count; i++) {
+                    var index = (head + i) % RING_SIZE;
+                    batch[i] = ring[index];
+                    ring[index] = null;
+                }
+                head = (head + count) % RING_SIZE;
+                size = 0;
+                droppedCount = dropped;
+                dropped = 0;
+                writing = true;
+            }
+            
+            //the temp folder may have been cleared while the log was open
+            if (writer != null && !log.exists()) closeWriter();
+            
+            try {
+                if (droppedCount > 0) write("\nTextFileApplicationLogger: " + droppedCount + " messages were dropped\n");
+                for (int i = 0; i < count; i++) {
+                    var entry = batch[i];
+                    batch[i] = null;
+                    write("\n" + entry.tag + ": " + entry.message + "\n");
+                    if (entry.exception != null) write(stackTrace(entry.exception));
+                }
+                writer.flush();
+            } catch (IOException e) {
+                e.printStackTrace(System.err);
+                closeWriter();
+            }
+        }
+    }
+    
+    private void write(String text) throws IOException {
+        if (writer == null) openWriter();
+        writer.write(text);
+        logSize += text.length();
+        
+        if (logSize > MAX_LOG_SIZE) {
+            closeWriter();
+            rotate();
+        }
+    }
+    
+    private void openWriter() throws IOException {
+        log.parent().mkdirs();
+        logSize = log.exists() ? log.length() : 0;
+        writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(log.file(), true), StandardCharsets.UTF_8));
+    }
+    
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                e.printStackTrace(System.err);
+            }
+            writer = null;
+        }
+    }
+    
+    private void rotate() {
+        var oldest = log.sibling(log.nameWithoutExtension() + "." + MAX_BACKUPS + ".txt");
+        if (oldest.exists()) oldest.delete();
+        
+        for (int i = MAX_BACKUPS - 1; i >= 1; i--) {
+            var backup = log.sibling(log.nameWithoutExtension() + "." + i + ".txt");
+            if (backup.exists()) backup.file().renameTo(log.sibling(log.nameWithoutExtension() + "." + (i + 1) + ".txt").file());
+        }
+        
+        log.file().renameTo(log.sibling(log.nameWithoutExtension() + ".1.txt").file());
+    }
+    
+    private static String stackTrace(Throwable exception) {
+        var stringWriter = new StringWriter();
+        var printWriter = new PrintWriter(stringWriter);
+        exception.printStackTrace(printWriter);
+        printWriter.flush();
+        return stringWriter.toString();
+    }
+    
+    private static class Entry {
+        private final String tag;
+        private final String message;
+        private final Throwable exception;
+    
+        public Entry(String tag, String message, Throwable exception) {
+            this.tag = tag;
+            this.message = message;
+            this.exception = exception;
+        }
     }
 }
@@ -61,6 +61,7 @@ public class UndoableManager {
             Undoable undoable = undoables.get(undoIndex);
             undoable.undo();
             undoIndex--;
+            autosave.record();
 
             if (undoIndex < 0) {
                 rootTable.setUndoDisabled(true);
@@ -80,6 +81,7 @@ public class UndoableManager {
             if (undoIndex < undoables.size - 1) {
                 undoIndex++;
                 undoables.get(undoIndex).redo();
+                autosave.record();
             }
 
             if (undoIndex >= undoables.size - 1) {
@@ -105,6 +107,7 @@ public class UndoableManager {
         if (redoImmediately) {
             undoable.redo();
         }
+        autosave.record();
         
         rootTable.setUndoDisabled(false);
         rootTable.setRedoDisabled(true);
@@ -500,20 +503,8 @@ public class UndoableManager {
         public void undo() {
             if (oldValue == null) {
                 property.value = oldValue;
-            } else {
-                for (FontData font : jsonData.getFonts()) {
-                    if (font.getName().equals((String) oldValue)) {
-                        property.value = oldValue;
-                        break;
-                    }
-                }
-                
-                for (FreeTypeFontData font : jsonData.getFreeTypeFonts()) {
-                    if (font.name.equals((String) oldValue)) {
-                        property.value = oldValue;
-                        break;
-                    }
-                }
+            } else if (jsonData.getFont((String) oldValue) != null || jsonData.getFreeTypeFont((String) oldValue) != null) {
+                property.value = oldValue;
             }
             rootTable.refreshStyleProperties(true);
             rootTable.refreshPreview();
@@ -523,20 +514,8 @@ public class UndoableManager {
         public void redo() {
             if (newValue == null) {
                 property.value = newValue;
-            } else {
-                for (FontData font : jsonData.getFonts()) {
-                    if (font.getName().equals((String) newValue)) {
-                        property.value = newValue;
-                        break;
-                    }
-                }
-                
-                for (FreeTypeFontData font : jsonData.getFreeTypeFonts()) {
-                    if (font.name.equals((String) newValue)) {
-                        property.value = newValue;
-                        break;
-                    }
-                }
+            } else if (jsonData.getFont((String) newValue) != null || jsonData.getFreeTypeFont((String) newValue) != null) {
+                property.value = newValue;
             }
             rootTable.refreshStyleProperties(true);
             rootTable.refreshPreview();
@@ -564,20 +543,8 @@ public class UndoableManager {
         public void undo() {
             if (oldValue == null) {
                 property.setValue(oldValue);
-            } else {
-                for (FontData font : jsonData.getFonts()) {
-                    if (font.getName().equals((String) oldValue)) {
-                        property.setValue(oldValue);
-                        break;
-                    }
-                }
-                
-                for (FreeTypeFontData font : jsonData.getFreeTypeFonts()) {
-                    if (font.name.equals((String) oldValue)) {
-                        property.setValue(oldValue);
-                        break;
-                    }
-                }
+            } else if (jsonData.getFont((String) oldValue) != null || jsonData.getFreeTypeFont((String) oldValue) != null) {
+                property.setValue(oldValue);
             }
             rootTable.refreshStyleProperties(true);
             rootTable.refreshPreview();
@@ -587,20 +554,8 @@ public class UndoableManager {
         public void redo() {
             if (newValue == null) {
                 property.setValue(newValue);
-            } else {
-                for (FontData font : jsonData.getFonts()) {
-                    if (font.getName().equals((String) newValue)) {
-                        property.setValue(newValue);
-                        break;
-                    }
-                }
-                
-                for (FreeTypeFontData font : jsonData.getFreeTypeFonts()) {
-                    if (font.name.equals((String) newValue)) {
-                        property.setValue(newValue);
-                        break;
-                    }
-                }
+            } else if (jsonData.getFont((String) newValue) != null || jsonData.getFreeTypeFont((String) newValue) != null) {
+                property.setValue(newValue);
             }
             rootTable.refreshStyleProperties(true);
             rootTable.refreshPreview();
@@ -789,6 +744,7 @@ public class UndoableManager {
         @Override
         public void undo() {
             styleData.name = oldName;
+            NameIndex.nameChanged();
             
             for (Array<StyleData> styles : jsonData.getClassStyleMap().values()) {
                 for (StyleData style : styles) {
@@ -812,6 +768,7 @@ public class UndoableManager {
         @Override
         public void redo() {
             styleData.name = newName;
+            NameIndex.nameChanged();
             
             for (Array<StyleData> styles : jsonData.getClassStyleMap().values()) {
                 for (StyleData style : styles) {
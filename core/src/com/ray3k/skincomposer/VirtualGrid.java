@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
+import com.badlogic.gdx.scenes.scene2d.utils.Cullable;
+import com.badlogic.gdx.scenes.scene2d.utils.Layout;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+
+/**
+ * A grid of equally sized tiles that only instantiates the tiles inside the culling area of its ScrollPane plus a
+ * margin of rows. Tiles that scroll out of view are recycled and bound to the next item that comes into view. The size
+ * of a tile is measured from the first item. In fill row mode, each tile spans the entire width as a list row.
+ * @author Raymond Buckley
+ */
+public class VirtualGrid<T> extends WidgetGroup implements Cullable {
+    public static final int MARGIN_ROWS = 2;
+    private final TileAdapter<T> adapter;
+    private final Array<T> items = new Array<>();
+    private final IntMap<Actor> visibleTiles = new IntMap<>();
+    private final Array<Actor> freeTiles = new Array<>();
+    private final Rectangle cullingArea = new Rectangle();
+    private boolean culling;
+    private boolean fillRow;
+    private float space;
+    private float pad;
+    private float tileWidth;
+    private float tileHeight;
+    private int columns = 1;
+    private int firstIndex = -1;
+    private int lastIndex = -1;
+    private boolean tilesDirty = true;
+    
+    public VirtualGrid(TileAdapter<T> adapter) {
+        this.adapter = adapter;
+    }
+    
+    /**
+     * Replaces the items displayed by the grid. All visible tiles are bound again.
+     * @param items
+     */
+    public void setItems(Array<T> items) {
+        this.items.clear();
+        this.items.addAll(items);
+        releaseTiles();
+        tileWidth = 0;
+        tileHeight = 0;
+        invalidateHierarchy();
+    }
+    
+    public Array<T> getItems() {
+        return items;
+    }
+    
+    /**
+     * Discards all tiles, including recycled ones. Call this when the adapter creates tiles with a different layout.
+     */
+    public void clearTiles() {
+        releaseTiles();
+        freeTiles.clear();
+        tileWidth = 0;
+        tileHeight = 0;
+        invalidateHierarchy();
+    }
+    
+    public void setFillRow(boolean fillRow) {
+        this.fillRow = fillRow;
+        invalidateHierarchy();
+    }
+    
+    public void setSpace(float space) {
+        this.space = space;
+        invalidateHierarchy();
+    }
+    
+    public void setPad(float pad) {
+        this.pad = pad;
+        invalidateHierarchy();
+    }
+    
+    private void releaseTiles() {
+        for (var tile : visibleTiles.values()) {
+            removeActor(tile);
+            freeTiles.add(tile);
+        }
+        visibleTiles.clear();
+        firstIndex = -1;
+        lastIndex = -1;
+        tilesDirty = true;
+    }
+    
+    private Actor obtainTile(int index) {
+        var tile = freeTiles.size > 0 ? freeTiles.pop() : adapter.newTile();
+        adapter.bindTile(tile, items.get(index));
+        return tile;
+    }
+    
+    private void measureTiles() {
+        if (tileWidth > 0 || items.size == 0) return;
+        
+        //measure a prototype tile bound to the first item
+        var tile = obtainTile(0);
+        if (tile instanceof Layout) {
+            var layout = (Layout) tile;
+            layout.invalidate();
+            tileWidth = layout.getPrefWidth();
+            tileHeight = layout.getPrefHeight();
+        } else {
+            tileWidth = tile.getWidth();
+            tileHeight = tile.getHeight();
+        }
+        freeTiles.add(tile);
+    }
+    
+    private int calculateColumns(float width) {
+        if (fillRow) return 1;
+        return Math.max(1, (int) ((width - pad * 2 + space) / (tileWidth + space)));
+    }
+    
+    private int getRows() {
+        return MathUtils.ceil(items.size / (float) columns);
+    }
+    
+    @Override
+    public float getPrefWidth() {
+        measureTiles();
+        return tileWidth + pad * 2;
+    }
+    
+    @Override
+    public float getPrefHeight() {
+        measureTiles();
+        var rows = getRows();
+        return rows == 0 ? pad * 2 : rows * (tileHeight + space) - space + pad * 2;
+    }
+    
+    @Override
+    public void layout() {
+        measureTiles();
+        var newColumns = calculateColumns(getWidth());
+        if (newColumns != columns) {
+            //the preferred height depends on the number of columns
+            columns = newColumns;
+            invalidateHierarchy();
+        }
+        
+        for (var entry : visibleTiles) {
+            positionTile(entry.value, entry.key);
+        }
+        tilesDirty = true;
+    }
+    
+    private void positionTile(Actor tile, int index) {
+        var column = index % columns;
+        var row = index / columns;
+        var width = fillRow ? getWidth() - pad * 2 : tileWidth;
+        tile.setBounds(pad + column * (tileWidth + space), getHeight() - pad - (row + 1) * tileHeight - row * space,
+                width, tileHeight);
+    }
+    
+    private void updateTiles() {
+        tilesDirty = false;
+        
+        int first = 0, last = items.size - 1;
+        if (culling && items.size > 0) {
+            var rowHeight = tileHeight + space;
+            var top = getHeight() - pad;
+            var firstRow = MathUtils.floor((top - cullingArea.y - cullingArea.height) / rowHeight) - MARGIN_ROWS;
+            var lastRow = MathUtils.floor((top - cullingArea.y) / rowHeight) + MARGIN_ROWS;
+            first = Math.max(0, firstRow * columns);
+            last = Math.min(items.size - 1, (lastRow + 1) * columns - 1);
+        }
+        
+        if (first == firstIndex && last == lastIndex) return;
+        
+        //recycle tiles that left the visible range
+        for (var iter = visibleTiles.iterator(); iter.hasNext(); ) {
+            var entry = iter.next();
+            if (entry.key < first || entry.key > last) {
+                removeActor(entry.value);
+                freeTiles.add(entry.value);
+                iter.remove();
+            }
+        }
+        
+        for (int i = first; i <= last; i++) {
+            if (!visibleTiles.containsKey(i)) {
+                var tile = obtainTile(i);
+                visibleTiles.put(i, tile);
+                addActor(tile);
+                positionTile(tile, i);
+            }
+        }
+        
+        firstIndex = first;
+        lastIndex = last;
+    }
+    
+    @Override
+    public void setCullingArea(Rectangle cullingArea) {
+        if (cullingArea == null) {
+            if (culling) tilesDirty = true;
+            culling = false;
+        } else if (!culling || !this.cullingArea.equals(cullingArea)) {
+            this.cullingArea.set(cullingArea);
+            culling = true;
+            tilesDirty = true;
+        }
+    }
+    
+    @Override
+    public void act(float delta) {
+        validate();
+        if (tilesDirty) updateTiles();
+        super.act(delta);
+    }
+    
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        validate();
+        if (tilesDirty) updateTiles();
+        super.draw(batch, parentAlpha);
+    }
+    
+    /**
+     * Creates and binds the tiles of a VirtualGrid. Tiles are reused for different items, so bindTile must update
+     * every part of the tile that depends on the item.
+     * @param <T>
+     */
+    public interface TileAdapter<T> {
+        Actor newTile();
+        
+        void bindTile(Actor tile, T item);
+    }
+}
@@ -38,9 +38,13 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.OrderedMap;
 import com.ray3k.skincomposer.Main;
+import com.ray3k.skincomposer.ScheduledTenPatchDrawable;
 import com.ray3k.skincomposer.data.DrawableData.DrawableType;
+import com.ray3k.skincomposer.utils.Instrumentation;
 import com.ray3k.skincomposer.utils.Utils;
+import com.ray3k.skincomposer.utils.WorkerPool;
 import com.ray3k.tenpatch.TenPatchDrawable;
 import com.ray3k.tenpatch.TenPatchDrawable.InvalidPatchException;
 import dev.lyze.gdxtinyvg.TinyVG;
@@ -50,6 +54,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FilenameFilter;
 import java.util.Arrays;
+import java.util.concurrent.Callable;
 
 import static com.ray3k.skincomposer.Main.*;
 
@@ -58,14 +63,30 @@ public class AtlasData implements Json.Serializable {
     private Array<DrawableData> drawables;
     private Array<DrawableData> fontDrawables;
     private TextureAtlas atlas;
+    private PreviewAtlas previewAtlas;
+    private AtlasTask previewTask;
     public ObjectMap<DrawableData, Drawable> drawablePairs;
+    private final NameIndex<DrawableData> drawableIndex = new NameIndex<>(data -> data.name);
+    private final NameIndex<DrawableData> fontDrawableIndex = new NameIndex<>(data -> data.name);
     
     public AtlasData() {
-        drawables = new Array<>();
-        fontDrawables = new Array<>();
+        drawables = new IndexedArray<>();
+        fontDrawables = new IndexedArray<>();
         drawablePairs = new ObjectMap<>();
     }
     
+    /**
+     * Copies the drawables of an atlas for an autosave snapshot. The copy has no
+     * preview and is only meant to be written.
+     * @param atlasData
+     * @param snapshot
+     */
+    AtlasData(AtlasData atlasData, ProjectSnapshot snapshot) {
+        atlasCurrent = atlasData.atlasCurrent;
+        drawables = snapshot.copy(atlasData.drawables);
+        fontDrawables = snapshot.copy(atlasData.fontDrawables);
+    }
+    
     public void clear() {
         drawables.clear();
         fontDrawables.clear();
@@ -77,15 +98,7 @@ public class AtlasData implements Json.Serializable {
     }
     
     public DrawableData getDrawable(String name) {
-        DrawableData returnValue = null;
-        for (DrawableData data : drawables) {
-            if (data.name.equals(name)) {
-                returnValue = data;
-                break;
-            }
-        }
-        
-        return returnValue;
+        return drawableIndex.get(drawables, name);
     }
 
     public Array<DrawableData> getFontDrawables() {
@@ -93,15 +106,7 @@ public class AtlasData implements Json.Serializable {
     }
     
     public DrawableData getFontDrawable(String name) {
-        DrawableData returnValue = null;
-        for (DrawableData data : fontDrawables) {
-            if (data.name.equals(name)) {
-                returnValue = data;
-                break;
-            }
-        }
-        
-        return returnValue;
+        return fontDrawableIndex.get(fontDrawables, name);
     }
     
     public void readAtlas(FileHandle fileHandle) throws Exception {
@@ -116,77 +121,39 @@ public class AtlasData implements Json.Serializable {
             
             targetDirectory.mkdirs();
             
-            TextureAtlas atlas = new TextureAtlas(fileHandle);
-            Array<AtlasRegion> regions = atlas.getRegions();
-            
-            for (AtlasRegion region : regions) {
-                Texture texture = region.getTexture();
-                if (!texture.getTextureData().isPrepared()) {
-                    texture.getTextureData().prepare();
+            //only the atlas data is read, the pages are decoded once each without creating textures
+            var textureAtlasData = new TextureAtlas.TextureAtlasData(fileHandle, fileHandle.parent(), false);
+            var pixmaps = new ObjectMap<TextureAtlas.TextureAtlasData.Page, Pixmap>();
+            Array<FileHandle> outputFiles;
+            try {
+                for (var page : textureAtlasData.getPages()) {
+                    var pixmap = new Pixmap(page.textureFile);
+                    pixmap.setBlending(Pixmap.Blending.None);
+                    pixmaps.put(page, pixmap);
                 }
                 
-                Pixmap pixmap = texture.getTextureData().consumePixmap();
-                pixmap.setBlending(Pixmap.Blending.None);
-                Pixmap savePixmap;
-                String name;
+                //indexed regions share a name. Like the previous sequential writes, the last region of a file wins.
+                var regions = new OrderedMap<String, TextureAtlas.TextureAtlasData.Region>();
+                for (var region : textureAtlasData.getRegions()) {
+                    var name = getRegionFileName(region);
+                    regions.remove(name);
+                    regions.put(name, region);
+                }
                 
-                if (region.findValue("split") == null && region.findValue("pad") == null) {
-                    name = region.name + ".png";
-                    savePixmap = new Pixmap(region.getRegionWidth(), region.getRegionHeight(), Pixmap.Format.RGBA8888);
-                    savePixmap.setBlending(Pixmap.Blending.None);
-                    for (int x = 0; x < region.getRegionWidth(); x++) {
-                        for (int y = 0; y < region.getRegionHeight(); y++) {
-                            int colorInt = pixmap.getPixel(region.getRegionX() + x, region.getRegionY() + y);
-                            savePixmap.drawPixel(x, y, colorInt);
-                        }
-                    }
-                } else {
-                    name = region.name + ".9.png";
-                    savePixmap = new Pixmap(region.getRegionWidth() + 2, region.getRegionHeight() + 2, pixmap.getFormat());
-                    savePixmap.setBlending(Pixmap.Blending.None);
-                    int x;
-                    int y;
-                    
-                    //draw 9 patch lines
-                    savePixmap.setColor(Color.BLACK);
-
-                    if (region.findValue("split") != null) {
-                        int[] splits = region.findValue("split");
-                        
-                        x = 0;
-                        for (y = splits[2] + 1; y < savePixmap.getHeight() - splits[3] - 1; y++) {
-                            savePixmap.drawPixel(x, y);
-                        }
-                        
-                        y = 0;
-                        for (x = splits[0] + 1; x < savePixmap.getWidth() - splits[1] - 1; x++) {
-                            savePixmap.drawPixel(x, y);
-                        }
-                    }
-                    
-                    if (region.findValue("pad") != null) {
-                        int[] pads = region.findValue("pad");
-                        
-                        x = savePixmap.getWidth() - 1;
-                        for (y = pads[2] + 1; y < savePixmap.getHeight() - pads[3] - 1; y++) {
-                            savePixmap.drawPixel(x, y);
-                        }
-                        
-                        y = savePixmap.getHeight() - 1;
-                        for (x = pads[0] + 1; x < savePixmap.getWidth() - pads[1] - 1; x++) {
-                            savePixmap.drawPixel(x, y);
-                        }
-                    }
-
-                    for (x = 0; x < region.getRegionWidth(); x++) {
-                        for (y = 0; y < region.getRegionHeight(); y++) {
-                            int colorInt = pixmap.getPixel(region.getRegionX() + x, region.getRegionY() + y);
-                            savePixmap.drawPixel(x + 1, y + 1, colorInt);
-                        }
-                    }
+                //regions are copied and encoded in parallel, the page pixmaps are only read from
+                var callables = new Array<Callable<FileHandle>>();
+                for (var region : regions.values()) {
+                    var pixmap = pixmaps.get(region.page);
+                    callables.add(() -> writeRegion(region, pixmap, targetDirectory));
                 }
-                FileHandle outputFile = targetDirectory.child(name);
-                PixmapIO.writePNG(outputFile, savePixmap);
+                outputFiles = WorkerPool.invokeAll(callables);
+            } finally {
+                for (var pixmap : pixmaps.values()) {
+                    pixmap.dispose();
+                }
+            }
+            
+            for (var outputFile : outputFiles) {
                 DrawableData drawable = new DrawableData(outputFile);
                 if (Utils.isNinePatch(outputFile.name())) {
                     drawable.type = DrawableType.NINE_PATCH;
@@ -210,27 +177,132 @@ public class AtlasData implements Json.Serializable {
         }
     }
     
-    public Array<String> writeAtlas(FileHandle settingsFile) throws Exception {
-        return writeAtlas(Main.appFolder.child("temp/" + projectData.getId() + ".atlas"), settingsFile);
+    private static String getRegionFileName(TextureAtlas.TextureAtlasData.Region region) {
+        if (region.findValue("split") == null && region.findValue("pad") == null) return region.name + ".png";
+        else return region.name + ".9.png";
+    }
+    
+    /**
+     * Copies the region out of the page and writes it as a PNG. Regions with
+     * splits or pads are written as nine patches.
+     * @param region
+     * @param pixmap the page of the region. Not modified.
+     * @param targetDirectory
+     * @return the written file.
+     */
+    private static FileHandle writeRegion(TextureAtlas.TextureAtlasData.Region region, Pixmap pixmap, FileHandle targetDirectory) {
+        int regionWidth = region.rotate ? region.height : region.width;
+        int regionHeight = region.rotate ? region.width : region.height;
+        Pixmap savePixmap;
+        String name = getRegionFileName(region);
+        
+        if (region.findValue("split") == null && region.findValue("pad") == null) {
+            savePixmap = new Pixmap(regionWidth, regionHeight, Pixmap.Format.RGBA8888);
+            savePixmap.setBlending(Pixmap.Blending.None);
+            savePixmap.drawPixmap(pixmap, 0, 0, region.left, region.top, regionWidth, regionHeight);
+        } else {
+            savePixmap = new Pixmap(regionWidth + 2, regionHeight + 2, pixmap.getFormat());
+            savePixmap.setBlending(Pixmap.Blending.None);
+            int width = savePixmap.getWidth();
+            int height = savePixmap.getHeight();
+            
+            //draw 9 patch lines
+            savePixmap.setColor(Color.BLACK);
+            
+            int[] splits = region.findValue("split");
+            if (splits != null) {
+                fillLine(savePixmap, 0, splits[2] + 1, 1, height - splits[3] - splits[2] - 2);
+                fillLine(savePixmap, splits[0] + 1, 0, width - splits[1] - splits[0] - 2, 1);
+            }
+            
+            int[] pads = region.findValue("pad");
+            if (pads != null) {
+                fillLine(savePixmap, width - 1, pads[2] + 1, 1, height - pads[3] - pads[2] - 2);
+                fillLine(savePixmap, pads[0] + 1, height - 1, width - pads[1] - pads[0] - 2, 1);
+            }
+            
+            savePixmap.drawPixmap(pixmap, 1, 1, region.left, region.top, regionWidth, regionHeight);
+        }
+        
+        FileHandle outputFile = targetDirectory.child(name);
+        try {
+            PixmapIO.writePNG(outputFile, savePixmap);
+        } finally {
+            savePixmap.dispose();
+        }
+        return outputFile;
+    }
+    
+    private static void fillLine(Pixmap pixmap, int x, int y, int width, int height) {
+        if (width > 0 && height > 0) pixmap.fillRectangle(x, y, width, height);
     }
     
-    public Array<String> writeAtlas(FileHandle targetFile, FileHandle settingsFile) throws Exception {
+    /**
+     * Packs the drawables into a texture atlas. Packing is skipped if the
+     * manifest shows that the atlas was already produced from the same images
+     * and settings and its files are unmodified. May be called from a
+     * background thread as long as the project is not modified meanwhile, but
+     * not from a thread of the {@link WorkerPool}.
+     * @param targetFile
+     * @param settingsFile
+     * @param manifest The manifest of the export.
+     * @param task Receives the progress of TexturePacker. May be null.
+     * @return
+     * @throws Exception 
+     */
+    public Array<String> writeAtlas(FileHandle targetFile, FileHandle settingsFile, ExportManifest manifest, AtlasTask task) throws Exception {
         Array<String> warnings = new Array<>();
-        targetFile.parent().mkdirs();
-        FileHandle[] oldFiles = targetFile.parent().list(new FilenameFilter() {
+        Array<FileHandle> files = new Array<>();
+        collectAtlasFiles(files, warnings);
+        
+        packAtlas(files, projectData.getSaveFile(), targetFile, settingsFile, manifest, task);
+        return warnings;
+    }
+    
+    private void packAtlas(Array<FileHandle> files, FileHandle saveFile, FileHandle targetFile, FileHandle settingsFile, ExportManifest manifest, AtlasTask task) throws Exception {
+        var artifact = "atlas:" + targetFile.name();
+        var values = new Array<String>();
+        values.add(targetFile.name());
+        values.add(manifest.hash(settingsFile));
+        for (var file : files) {
+            values.add(file.name());
+            values.add(manifest.hash(file));
+        }
+        var inputHash = ExportManifest.hash(values.toArray(String.class));
+        if (manifest.isCurrent(artifact, inputHash)) return;
+        
+        //a failed pack must not leave the previous record behind
+        manifest.invalidate(artifact);
+        deleteAtlasFiles(targetFile);
+        if (task == null) {
+            desktopWorker.texturePack(files, saveFile, targetFile, settingsFile);
+        } else {
+            desktopWorker.texturePack(files, saveFile, targetFile, settingsFile, task);
+        }
+        manifest.setCurrent(artifact, inputHash, listAtlasFiles(targetFile));
+    }
+    
+    private Array<FileHandle> listAtlasFiles(FileHandle targetFile) {
+        var files = new Array<FileHandle>();
+        files.addAll(targetFile.parent().list(new FilenameFilter() {
             @Override
             public boolean accept(File file, String string) {
                 return string.matches(targetFile.nameWithoutExtension() + "\\d*\\.(?i)png");
             }
-        });
-        for (FileHandle fileHandle : oldFiles) {
+        }));
+        var atlasFile = targetFile.sibling(targetFile.nameWithoutExtension() + ".atlas");
+        if (atlasFile.exists()) files.add(atlasFile);
+        return files;
+    }
+    
+    private void deleteAtlasFiles(FileHandle targetFile) {
+        targetFile.parent().mkdirs();
+        for (FileHandle fileHandle : listAtlasFiles(targetFile)) {
             fileHandle.delete();
         }
-        targetFile.sibling(targetFile.nameWithoutExtension() + ".atlas").delete();
-        
-        Array<FileHandle> files = new Array<>();
-        
-        
+    }
+    
+    private void collectAtlasFiles(Array<FileHandle> files, Array<String> warnings) {
         for (DrawableData drawable : fontDrawables) {
             if (!files.contains(drawable.file, false)) {
                 files.add(drawable.file);
@@ -259,23 +331,154 @@ public class AtlasData implements Json.Serializable {
             var fileHandle = appFolder.child("texturepacker/white-pixel.png");
             files.add(fileHandle);
         }
+    }
+    
+    /**
+     * Updates the in-memory atlas used for previews. Only drawables that were
+     * added, removed, or had their image files modified since the last call
+     * are read and uploaded.
+     * @see PreviewAtlas
+     */
+    public void writePreviewAtlas() {
+        //an in-flight background update would be outdated by this one
+        if (previewTask != null) {
+            previewTask.cancel();
+            previewTask = null;
+        }
         
-        desktopWorker.texturePack(files, projectData.getSaveFile(), targetFile, settingsFile);
-        return warnings;
+        getPreviewAtlas().update(collectPreviewSources());
     }
     
-    public TextureAtlas getAtlas() {
-        TextureAtlas atlas = null;
-        FileHandle atlasFile = Main.appFolder.child("temp/" + projectData.getId() + ".atlas");
-        if (atlasFile.exists()) {
-            atlas = new TextureAtlas(atlasFile);
+    /**
+     * Updates the in-memory atlas like {@link #produceAtlas()}, but the
+     * modified images are decoded on the worker pool. Only packing and
+     * uploading happen on the render thread. A previous task that is still
+     * running is cancelled. Must be called on the render thread.
+     * @return the task. It fails if {@link #produceAtlas()} fails.
+     */
+    public AtlasTask produceAtlasAsync() {
+        if (previewTask != null) previewTask.cancel();
+        var task = new AtlasTask();
+        
+        if (atlasCurrent) {
+            previewTask = null;
+            task.finish(!produceAtlas());
+            return task;
+        }
+        
+        previewTask = task;
+        var previewAtlas = getPreviewAtlas();
+        var sources = collectPreviewSources();
+        var names = previewAtlas.plan(sources);
+        task.setTotal(AtlasTask.Stage.DECODE, names.size);
+        
+        WorkerPool.runInBackground("atlas-decode", () -> {
+            var callables = new Array<Callable<PreviewAtlas.LoadedRegion>>();
+            for (var name : names) {
+                var file = sources.get(name);
+                callables.add(() -> {
+                    if (task.isCancelled()) return null;
+                    var loadedRegion = previewAtlas.load(name, file);
+                    task.advance(AtlasTask.Stage.DECODE);
+                    return loadedRegion;
+                });
+            }
+            
+            var loadedRegions = new Array<PreviewAtlas.LoadedRegion>();
+            try {
+                for (var loadedRegion : WorkerPool.invokeAll(callables)) {
+                    if (loadedRegion != null) loadedRegions.add(loadedRegion);
+                }
+            } catch (Exception e) {
+                Gdx.app.error(getClass().getName(), "Error while decoding drawables for the texture atlas", e);
+                task.cancel();
+            }
+            
+            Gdx.app.postRunnable(() -> {
+                if (task.isCancelled() || previewTask != task) {
+                    for (var loadedRegion : loadedRegions) {
+                        loadedRegion.dispose();
+                    }
+                    task.finish(previewTask == task);
+                    if (previewTask == task) previewTask = null;
+                    return;
+                }
+                
+                previewTask = null;
+                previewAtlas.apply(sources, loadedRegions, task);
+                //drawables may have changed while decoding, produceAtlas() only processes the difference
+                task.finish(!produceAtlas());
+            });
+        });
+        
+        return task;
+    }
+    
+    private PreviewAtlas getPreviewAtlas() {
+        if (previewAtlas == null) {
+            previewAtlas = new PreviewAtlas(Main.appFolder.child("texturepacker/atlas-internal-settings.json"));
+        }
+        return previewAtlas;
+    }
+    
+    private ObjectMap<String, FileHandle> collectPreviewSources() {
+        var sources = new ObjectMap<String, FileHandle>();
+        for (DrawableData drawable : fontDrawables) {
+            addPreviewSource(sources, drawable.file);
+        }
+        
+        boolean addWhite = false;
+        for (DrawableData drawable : drawables) {
+            if (drawable.type == DrawableType.PIXEL) addWhite = true;
+            if (drawable.type != DrawableType.CUSTOM && drawable.type != DrawableType.PIXEL && drawable.type != DrawableType.TVG) {
+                addPreviewSource(sources, drawable.file);
+            }
         }
-        return atlas;
+        
+        if (addWhite) {
+            addPreviewSource(sources, appFolder.child("texturepacker/white-pixel.png"));
+        }
+        
+        return sources;
+    }
+    
+    private void addPreviewSource(ObjectMap<String, FileHandle> sources, FileHandle file) {
+        if (file == null) return;
+        
+        var handle = file;
+        if (!handle.exists()) {
+            var saveFile = projectData.getSaveFile();
+            if (saveFile != null) handle = saveFile.sibling(saveFile.nameWithoutExtension() + "_data/" + file.name());
+        }
+        
+        if (handle.exists()) {
+            sources.put(DrawableData.proper(handle.name()), handle);
+        } else {
+            Gdx.app.error(getClass().getName(), "File does not exist error while creating texture atlas: " + file.path());
+        }
+    }
+    
+    /**
+     * Returns the atlas used for previews. It is shared by every dialog and must
+     * not be disposed.
+     * @return null if the atlas has not been produced yet.
+     */
+    public TextureAtlas getAtlas() {
+        return previewAtlas == null ? null : previewAtlas.getAtlas();
     }
     
     public void clearTempData() {
         FileHandle tempFolder = Main.appFolder.child("temp/");
-        tempFolder.deleteDirectory();
+        for (var child : tempFolder.list()) {
+            //the autosave of a crashed session is kept so it can be recovered
+            if (child.name().equals(Autosave.FOLDER_NAME)) continue;
+            
+            if (child.isDirectory()) {
+                child.deleteDirectory();
+            } else {
+                child.delete();
+            }
+        }
     }
     
     public void set(AtlasData atlasData) {
@@ -296,8 +499,8 @@ public class AtlasData implements Json.Serializable {
     @Override
     public void read(Json json, JsonValue jsonData) {
         atlasCurrent = json.readValue("atlasCurrent", Boolean.TYPE, jsonData);
-        drawables = json.readValue("drawables", Array.class, DrawableData.class, jsonData);
-        fontDrawables = json.readValue("fontDrawables", Array.class, DrawableData.class, new Array<DrawableData>(),jsonData);
+        drawables = new IndexedArray<>(json.readValue("drawables", Array.class, DrawableData.class, jsonData));
+        fontDrawables = new IndexedArray<>(json.readValue("fontDrawables", Array.class, DrawableData.class, new Array<DrawableData>(),jsonData));
         assignDrawableTypes();
     }
     
@@ -340,7 +543,14 @@ public class AtlasData implements Json.Serializable {
      * @return
      */
     public boolean checkIfDrawableNameExists(String name, DrawableData... exclusions) {
-        var exclusionArray = exclusions != null ? new Array<>(exclusions) : new Array<DrawableData>();
+        if (exclusions == null || exclusions.length == 0) return drawableIndex.contains(drawables, name);
+        
+        var exclusionArray = new Array<>(exclusions);
+        var match = drawableIndex.get(drawables, name);
+        if (match == null) return false;
+        if (!exclusionArray.contains(match, true)) return true;
+        
+        //the indexed drawable is excluded, look for another drawable with the same name
         boolean returnValue = false;
         
         for (DrawableData drawable : getDrawables()) {
@@ -390,16 +600,7 @@ public class AtlasData implements Json.Serializable {
      * @return
      */
     public boolean checkIfFontDrawableNameExists(String name) {
-        boolean returnValue = false;
-        
-        for (DrawableData drawable : getFontDrawables()) {
-            if (drawable.name.equals(name)) {
-                returnValue = true;
-                break;
-            }
-        }
-        
-        return returnValue;
+        return fontDrawableIndex.contains(fontDrawables, name);
     }
     
     /**
@@ -408,16 +609,12 @@ public class AtlasData implements Json.Serializable {
      * @return
      */
     public boolean produceAtlas() {
+        var start = Instrumentation.start();
         try {
             drawablePairs.clear();
             
             if (!atlasData.atlasCurrent) {
-                if (atlas != null) {
-                    atlas.dispose();
-                    atlas = null;
-                }
-                FileHandle defaultsFile = Main.appFolder.child("texturepacker/atlas-internal-settings.json");
-                atlasData.writeAtlas(defaultsFile);
+                atlasData.writePreviewAtlas();
                 atlasData.atlasCurrent = true;
                 
                 //clear all regions in any tenPatchData
@@ -445,8 +642,8 @@ public class AtlasData implements Json.Serializable {
                     var tinyVGDrawable = new TinyVGDrawable(tvg, shapeDrawer);
                     drawable = tinyVGDrawable;
                 } else if (data.type == DrawableType.TENPATCH) {
-                    var region = atlas.findRegion(DrawableData.proper(data.file.name()));
-                    var tenPatchDrawable = new TenPatchDrawable(data.tenPatchData.horizontalStretchAreas.toArray(),
+                    var region = atlas.findRegion(data.getProperFileName());
+                    var tenPatchDrawable = new ScheduledTenPatchDrawable(data.tenPatchData.horizontalStretchAreas.toArray(),
                             data.tenPatchData.verticalStretchAreas.toArray(), data.tenPatchData.tile, region);
                     
                     drawable = tenPatchDrawable;
@@ -513,15 +710,13 @@ public class AtlasData implements Json.Serializable {
                     }
                     ((TenPatchDrawable) drawable).setRegions(data.tenPatchData.regions);
                 } else if (data.type == DrawableType.TILED) {
-                    String name = data.file.name();
-                    name = DrawableData.proper(name);
+                    String name = data.getProperFileName();
                     drawable = new TiledDrawable(atlas.findRegion(name));
                     drawable.setMinWidth(data.minWidth);
                     drawable.setMinHeight(data.minHeight);
                     ((TiledDrawable) drawable).getColor().set(jsonData.getColorByName(data.tintName).color);
                 } else if (data.type == DrawableType.NINE_PATCH) {
-                    String name = data.file.name();
-                    name = DrawableData.proper(name);
+                    String name = data.getProperFileName();
                     drawable = new NinePatchDrawable(atlas.createPatch(name));
                     if (data.tint != null) {
                         drawable = ((NinePatchDrawable) drawable).tint(data.tint);
@@ -531,7 +726,7 @@ public class AtlasData implements Json.Serializable {
                     if (!MathUtils.isEqual(data.minWidth, -1)) drawable.setMinWidth(data.minWidth);
                     if (!MathUtils.isEqual(data.minHeight, -1)) drawable.setMinHeight(data.minHeight);
                 } else if (data.type == DrawableType.TINTED) {
-                    String name = DrawableData.proper(data.file.name());
+                    String name = data.getProperFileName();
                     if (Utils.isNinePatch(data.file.name())) {
                         NinePatchDrawable ninePatchDrawable = new NinePatchDrawable(atlas.createPatch(name));
                         drawable = ninePatchDrawable.tint(data.tint);
@@ -543,7 +738,7 @@ public class AtlasData implements Json.Serializable {
                     if (!MathUtils.isEqual(data.minWidth, -1)) drawable.setMinWidth(data.minWidth);
                     if (!MathUtils.isEqual(data.minHeight, -1)) drawable.setMinHeight(data.minHeight);
                 } else if (data.type == DrawableType.TINTED_FROM_COLOR_DATA) {
-                    String name = DrawableData.proper(data.file.name());
+                    String name = data.getProperFileName();
                     if (Utils.isNinePatch(data.file.name())) {
                         NinePatchDrawable ninePatchDrawable = new NinePatchDrawable(atlas.createPatch(name));
                         drawable = ninePatchDrawable.tint(jsonData.getColorByName(data.tintName).color);
@@ -555,8 +750,7 @@ public class AtlasData implements Json.Serializable {
                     if (!MathUtils.isEqual(data.minWidth, -1)) drawable.setMinWidth(data.minWidth);
                     if (!MathUtils.isEqual(data.minHeight, -1)) drawable.setMinHeight(data.minHeight);
                 } else {
-                    String name = data.file.name();
-                    name = DrawableData.proper(name);
+                    String name = data.getProperFileName();
                     drawable = new SpriteDrawable(atlas.createSprite(name));
                     if (!MathUtils.isEqual(data.minWidth, -1)) drawable.setMinWidth(data.minWidth);
                     if (!MathUtils.isEqual(data.minHeight, -1)) drawable.setMinHeight(data.minHeight);
@@ -569,6 +763,8 @@ public class AtlasData implements Json.Serializable {
             Gdx.app.error(getClass().getName(), "Error while attempting to generate drawables.", e);
             dialogFactory.showDialogError("Atlas Error...","Error while attempting to generate drawables.\n\nOpen log?");
             return false;
+        } finally {
+            Instrumentation.record("AtlasData.produceAtlas", start);
         }
     }
     
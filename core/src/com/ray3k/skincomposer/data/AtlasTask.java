@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.ray3k.skincomposer.data;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Tracks the progress of an atlas that is produced in the background. Counts
+ * are updated from worker threads and read by the UI every frame. Listeners
+ * are always notified on the render thread.
+ * @author Raymond Buckley
+ */
+public class AtlasTask {
+    public enum Stage {
+        DECODE("Decoding"), PACK("Packing"), ENCODE("Encoding"), UPLOAD("Uploading");
+        
+        public final String text;
+        
+        Stage(String text) {
+            this.text = text;
+        }
+    }
+    
+    private final AtomicIntegerArray completed = new AtomicIntegerArray(Stage.values().length);
+    private final AtomicIntegerArray totals = new AtomicIntegerArray(Stage.values().length);
+    private final Array<Runnable> finishedListeners = new Array<>();
+    private final Array<String> warnings = new Array<>();
+    private volatile Stage stage = Stage.DECODE;
+    private volatile boolean cancelled;
+    private volatile boolean finished;
+    private volatile boolean failed;
+    
+    public Stage getStage() {
+        return stage;
+    }
+    
+    public void setStage(Stage stage) {
+        this.stage = stage;
+        progressChanged();
+    }
+    
+    public int getCompleted(Stage stage) {
+        return completed.get(stage.ordinal());
+    }
+    
+    public int getTotal(Stage stage) {
+        return totals.get(stage.ordinal());
+    }
+    
+    public void setTotal(Stage stage, int total) {
+        this.stage = stage;
+        totals.set(stage.ordinal(), total);
+        completed.set(stage.ordinal(), 0);
+        progressChanged();
+    }
+    
+    public void advance(Stage stage) {
+        completed.incrementAndGet(stage.ordinal());
+        progressChanged();
+    }
+    
+    public void setProgress(Stage stage, int count, int total) {
+        this.stage = stage;
+        totals.set(stage.ordinal(), total);
+        completed.set(stage.ordinal(), count);
+        progressChanged();
+    }
+    
+    /**
+     * Requests a new frame so the progress is displayed even when the editor is
+     * rendering on demand. May be called from any thread.
+     */
+    protected void progressChanged() {
+        Gdx.graphics.requestRendering();
+    }
+    
+    /**
+     * Requests the task to stop. Work that is already running completes its
+     * current item and discards its results.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    public boolean isFinished() {
+        return finished;
+    }
+    
+    /**
+     * @return true if the task finished with an error. Cancelled tasks are not
+     * considered failed.
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+    
+    public Array<String> getWarnings() {
+        return warnings;
+    }
+    
+    public String getProgressText() {
+        var stage = this.stage;
+        int total = getTotal(stage);
+        if (total <= 0) return stage.text + "...";
+        return stage.text + " " + Math.min(getCompleted(stage), total) + "/" + total;
+    }
+    
+    /**
+     * Adds a listener that is called on the render thread when the task is
+     * finished, failed, or cancelled. Called immediately if the task is already
+     * finished. Must be called from the render thread.
+     * @param runnable
+     */
+    public void addFinishedListener(Runnable runnable) {
+        if (finished) {
+            runnable.run();
+        } else {
+            finishedListeners.add(runnable);
+        }
+    }
+    
+    /**
+     * Marks the task as finished and notifies the listeners on the render
+     * thread.
+     * @param failed
+     */
+    public void finish(boolean failed) {
+        Gdx.app.postRunnable(() -> {
+            if (finished) return;
+            this.failed = failed;
+            finished = true;
+            for (var listener : finishedListeners) {
+                listener.run();
+            }
+            finishedListeners.clear();
+        });
+    }
+    
+    /**
+     * Creates a listener that reports the progress of TexturePacker to this
+     * task and stops TexturePacker when this task is cancelled.
+     * @return
+     */
+    public TexturePacker.ProgressListener createProgressListener() {
+        return new TexturePacker.ProgressListener() {
+            @Override
+            public void progress(float percent) {
+                if (cancelled) {
+                    cancel();
+                }
+                
+                //TexturePacker spends 35% reading images, 35% packing, and the rest writing
+                Stage stage;
+                if (percent < .35f) stage = Stage.DECODE;
+                else if (percent < .7f) stage = Stage.PACK;
+                else stage = Stage.ENCODE;
+                
+                if (getTotal() > 0) {
+                    setProgress(stage, getCount(), getTotal());
+                } else {
+                    setStage(stage);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,269 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.data;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.ray3k.skincomposer.data.ProjectData.SaveFormat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.ray3k.skincomposer.Main.projectData;
+
+/**
+ * Keeps unsaved changes recoverable after a crash. The first unsaved change
+ * starts a journal in the temp folder and writes a snapshot right away. After
+ * that the project is snapshot again once the user pauses or after many
+ * operations. Each snapshot is a copy of the project that is serialized and
+ * written compressed in the background, and the journal records when it was
+ * taken. The journal and snapshot are deleted once the project is saved,
+ * opened, cleared, or the app closes normally, so their presence at startup
+ * means the previous session did not end cleanly.
+ * @author Raymond Buckley
+ */
+public class Autosave {
+    /**
+     * Name of the autosave folder inside the temp folder.
+     */
+    public static final String FOLDER_NAME = "autosave";
+    /**
+     * Milliseconds without a new operation before a snapshot is written.
+     */
+    public static final long SNAPSHOT_DELAY = 5000;
+    /**
+     * Number of operations that force a snapshot even if the user keeps working.
+     */
+    public static final int SNAPSHOT_OPERATIONS = 100;
+    private final FileHandle folder;
+    private final FileHandle journalFile;
+    private final FileHandle snapshotFile;
+    private final ExecutorService executor;
+    private final Json json;
+    private boolean journalStarted;
+    private int pendingOperations;
+    private int totalOperations;
+    private long lastOperationTime;
+    private final Recovery recovery;
+    
+    /**
+     * Creates the autosave and reads the journal of the previous session before
+     * it can be overwritten.
+     * @param folder
+     */
+    public Autosave(FileHandle folder) {
+        this.folder = folder;
+        journalFile = folder.child("journal.txt");
+        snapshotFile = folder.child("snapshot.scmp");
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        json = ProjectData.createJson();
+        recovery = readRecovery();
+    }
+    
+    /**
+     * Counts an operation towards the next snapshot. Must be called on the
+     * render thread after the operation has been applied to the project.
+     */
+    public void record() {
+        pendingOperations++;
+        totalOperations++;
+        lastOperationTime = TimeUtils.millis();
+        
+        if (!journalStarted) startJournal();
+        else if (pendingOperations >= SNAPSHOT_OPERATIONS) snapshot();
+    }
+    
+    /**
+     * Schedules a snapshot for changes that are not committed as undoables, such
+     * as edits in the drawables and colors dialogs. Called whenever the project
+     * is marked as unsaved.
+     */
+    public void changed() {
+        pendingOperations = Math.max(pendingOperations, 1);
+        lastOperationTime = TimeUtils.millis();
+        
+        if (!journalStarted) startJournal();
+    }
+    
+    /**
+     * Starts the journal with the first unsaved change and snapshots the
+     * project right away, so a session that crashes before the first idle
+     * snapshot still has something to recover.
+     */
+    private void startJournal() {
+        journalStarted = true;
+        var saveFile = projectData.getSaveFile();
+        var header = "project\t" + (saveFile == null ? "" : saveFile.path()) + "\n";
+        executor.execute(() -> {
+            folder.mkdirs();
+            journalFile.writeString(header, false, "UTF-8");
+        });
+        snapshot();
+    }
+    
+    /**
+     * @return true if there are operations that have not been snapshot yet.
+     */
+    public boolean hasPendingOperations() {
+        return pendingOperations > 0;
+    }
+    
+    /**
+     * Writes a snapshot once the user has stopped making changes. Called every
+     * frame.
+     */
+    public void update() {
+        if (pendingOperations > 0 && TimeUtils.timeSinceMillis(lastOperationTime) >= SNAPSHOT_DELAY) {
+            snapshot();
+        }
+    }
+    
+    /**
+     * Copies the project and serializes the copy to the snapshot file in the
+     * background. Must be called on the render thread.
+     */
+    public void snapshot() {
+        if (!journalStarted) return;
+        
+        pendingOperations = 0;
+        ProjectSnapshot snapshot;
+        try {
+            snapshot = projectData.snapshot();
+        } catch (Exception e) {
+            Gdx.app.error(getClass().getName(), "Error while copying autosave snapshot", e);
+            return;
+        }
+        
+        var line = "snapshot\t" + TimeUtils.millis() + "\t" + totalOperations;
+        executor.execute(() -> {
+            try {
+                var buffer = ProjectData.serialize(json, snapshot, false);
+                ProjectData.writeProjectFile(snapshotFile, buffer, SaveFormat.COMPRESSED);
+                append(line);
+            } catch (Exception e) {
+                Gdx.app.error(getClass().getName(), "Error while writing autosave snapshot", e);
+            }
+        });
+    }
+    
+    /**
+     * Deletes the journal and snapshot. Called when the project no longer has
+     * unsaved changes.
+     */
+    public void clear() {
+        journalStarted = false;
+        pendingOperations = 0;
+        totalOperations = 0;
+        executor.execute(folder::deleteDirectory);
+    }
+    
+    /**
+     * Clears the autosave and waits for the background writes to finish.
+     */
+    public void dispose() {
+        clear();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Gdx.app.error(getClass().getName(), "Interrupted while waiting for autosave to finish", e);
+        }
+    }
+    
+    /**
+     * Returns the autosave left behind by a previous session that did not close
+     * normally.
+     * @return The recovery or null if there is nothing to recover.
+     */
+    public Recovery findRecovery() {
+        return recovery;
+    }
+    
+    private Recovery readRecovery() {
+        if (!journalFile.exists() || !snapshotFile.exists()) return null;
+        
+        var recovery = new Recovery();
+        try {
+            for (var line : journalFile.readString("UTF-8").split("\n")) {
+                var fields = line.split("\t", -1);
+                switch (fields[0]) {
+                    case "project":
+                        if (fields.length > 1 && !fields[1].isEmpty()) recovery.originalFile = Gdx.files.absolute(fields[1]);
+                        break;
+                    case "snapshot":
+                        if (fields.length > 2) {
+                            recovery.time = Long.parseLong(fields[1]);
+                            recovery.recoveredOperations = Integer.parseInt(fields[2]);
+                        }
+                        break;
+                }
+            }
+        } catch (Exception e) {
+            Gdx.app.error(getClass().getName(), "Error while reading autosave journal", e);
+            return null;
+        }
+        
+        return recovery.time > 0 ? recovery : null;
+    }
+    
+    /**
+     * Loads the snapshot of the recovery into the project.
+     * @param recovery
+     */
+    public void recover(Recovery recovery) {
+        var snapshot = folder.sibling(folder.name() + "-recovered.scmp");
+        snapshotFile.copyTo(snapshot);
+        projectData.recover(snapshot, recovery.originalFile);
+        snapshot.delete();
+    }
+    
+    private void append(String line) {
+        var bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        executor.execute(() -> {
+            try {
+                Files.write(journalFile.file().toPath(), bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                Gdx.app.error(getClass().getName(), "Error while writing autosave journal", e);
+            }
+        });
+    }
+    
+    public static class Recovery {
+        public FileHandle originalFile;
+        public long time;
+        public int recoveredOperations;
+    }
+}
@@ -47,6 +47,7 @@ public class ColorData {
             throw new NameFormatException();
         } else {
             this.name = name;
+            NameIndex.nameChanged();
         }
     }
     
@@ -35,6 +35,7 @@ public class CustomProperty implements Json.Serializable {
     private Object value;
     private CustomStyle parentStyle;
     private PropertyType type;
+    private transient boolean valueChecked;
     
     public static enum PropertyType {
         NONE("None"), NUMBER("Number"), TEXT("Text"), RAW_TEXT("Raw Text (JSON)"), DRAWABLE("Drawable"), FONT("Font"), COLOR("Color"), BOOL("Boolean"), STYLE("Style");
@@ -123,51 +124,69 @@ public class CustomProperty implements Json.Serializable {
         json.writeValue("type", type);
         
         //only write value if it is valid
-        boolean writeValue = false;
+        if (valueChecked || isValueValid()) {
+            json.writeValue("value", value);
+        } else {
+            json.writeValue("value", (Object) null);
+        }
+    }
+    
+    /**
+     * @return true if the value matches the type and refers to a resource that
+     * exists in the project.
+     */
+    public boolean isValueValid() {
+        boolean valid = false;
 
         if (value instanceof Float && type == PropertyType.NUMBER
                 || value instanceof Double && type == PropertyType.NUMBER
                 || value instanceof Boolean && type == PropertyType.BOOL) {
-            writeValue = true;
+            valid = true;
         } else if (value instanceof String) {
             if (type == PropertyType.TEXT || type == PropertyType.RAW_TEXT || type == PropertyType.STYLE) {
-                writeValue = true;
+                valid = true;
             } else if (type == PropertyType.COLOR) {
                 for (ColorData data : jsonData.getColors()) {
                     if (data.getName().equals(value)) {
-                        writeValue = true;
+                        valid = true;
                         break;
                     }
                 }
             } else if (type == PropertyType.DRAWABLE) {
                 for (DrawableData data : atlasData.getDrawables()) {
                     if (data.name.equals(value)) {
-                        writeValue = true;
+                        valid = true;
                         break;
                     }
                 }
             } else if (type == PropertyType.FONT) {
                 for (FontData data : jsonData.getFonts()) {
                     if (data.getName().equals(value)) {
-                        writeValue = true;
+                        valid = true;
                         break;
                     }
                 }
                 
                 for (var data : jsonData.getFreeTypeFonts()) {
                     if (data.name.equals(value)) {
-                        writeValue = true;
+                        valid = true;
                         break;
                     }
                 }
             }
         }
         
-        if (writeValue) {
-            json.writeValue("value", value);
-        } else {
-            json.writeValue("value", (Object) null);
-        }
+        return valid;
+    }
+    
+    /**
+     * Drops the value if it is not valid so the property can be written without
+     * looking at the rest of the project. Used for autosave snapshot copies,
+     * which are written on another thread.
+     */
+    void checkValue() {
+        if (!isValueValid()) value = null;
+        valueChecked = true;
     }
 
     @Override
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.ray3k.skincomposer.data;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.ray3k.skincomposer.utils.Utils;
+
+import java.io.InputStream;
+import java.security.MessageDigest;
+
+/**
+ * Persistent cache of image metadata stored in the app folder. Images are
+ * identified by the hash of their contents, so copies of the same image in
+ * the project's data folder share an entry. A file is only hashed again when
+ * its modification time or length changes, and only decoded if its contents
+ * have never been seen before.
+ * @author Raymond Buckley
+ */
+public class DrawableCache {
+    private final FileHandle indexFile;
+    private Index index;
+    private boolean dirty;
+    
+    public static class Metadata {
+        public String hash;
+        public Color edgeColor;
+        /**
+         * The split and padding values of nine patches as {left, right, top,
+         * bottom}. Null if the image is not a nine patch or if the values are
+         * not defined.
+         */
+        public int[] splits;
+        public int[] pads;
+    }
+    
+    private static class FileRecord {
+        private String hash;
+        private long lastModified;
+        private long length;
+    }
+    
+    private static class Index {
+        private ObjectMap<String, FileRecord> files = new ObjectMap<>();
+        private ObjectMap<String, Metadata> metadata = new ObjectMap<>();
+    }
+    
+    public DrawableCache(FileHandle folder) {
+        indexFile = folder.child("drawables.json");
+        index = new Index();
+        if (indexFile.exists()) {
+            try {
+                var json = new Json();
+                json.setIgnoreUnknownFields(true);
+                index = json.fromJson(Index.class, indexFile);
+            } catch (Exception e) {
+                Gdx.app.error(getClass().getName(), "Unable to read drawable cache, starting with an empty cache", e);
+                index = new Index();
+            }
+        }
+    }
+    
+    /**
+     * Returns the metadata of the image, decoding it only if its contents are
+     * not in the cache. Safe to call from any thread.
+     * @param file
+     * @return
+     */
+    public synchronized Metadata get(FileHandle file) {
+        var path = file.file().getAbsolutePath();
+        var record = index.files.get(path);
+        long lastModified = file.lastModified();
+        long length = file.length();
+        
+        if (record == null || record.lastModified != lastModified || record.length != length) {
+            record = new FileRecord();
+            record.hash = hash(file);
+            record.lastModified = lastModified;
+            record.length = length;
+            index.files.put(path, record);
+            dirty = true;
+        }
+        
+        var metadata = index.metadata.get(record.hash);
+        if (metadata == null) {
+            metadata = createMetadata(file, record.hash);
+            index.metadata.put(record.hash, metadata);
+            dirty = true;
+        }
+        
+        return metadata;
+    }
+    
+    private Metadata createMetadata(FileHandle file, String hash) {
+        var ninePatch = Utils.isNinePatch(file.name());
+        var pixmap = new Pixmap(file);
+        try {
+            var metadata = new Metadata();
+            metadata.hash = hash;
+            metadata.edgeColor = Utils.averageEdgeColor(pixmap, ninePatch);
+            if (ninePatch) {
+                metadata.splits = PreviewAtlas.getSplits(pixmap);
+                metadata.pads = PreviewAtlas.getPads(pixmap, metadata.splits);
+            }
+            return metadata;
+        } finally {
+            pixmap.dispose();
+        }
+    }
+    
+    private static String hash(FileHandle file) {
+        InputStream input = null;
+        try {
+            var digest = MessageDigest.getInstance("SHA-1");
+            input = file.read();
+            var buffer = new byte[8192];
+            int length;
+            while ((length = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, length);
+            }
+            
+            var builder = new StringBuilder();
+            for (var b : digest.digest()) {
+                builder.append(String.format("%02x", b));
+            }
+            return builder.toString();
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to hash file: " + file.path(), e);
+        } finally {
+            StreamUtils.closeQuietly(input);
+        }
+    }
+    
+    /**
+     * Writes the cache to disk if it was modified.
+     */
+    public synchronized void save() {
+        if (!dirty) return;
+        
+        try {
+            var json = new Json(JsonWriter.OutputType.minimal);
+            indexFile.writeString(json.toJson(index, Index.class), false, "UTF-8");
+            dirty = false;
+        } catch (Exception e) {
+            Gdx.app.error(getClass().getName(), "Unable to write drawable cache", e);
+        }
+    }
+}
@@ -25,11 +25,14 @@ package com.ray3k.skincomposer.data;
 
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
+import com.ray3k.skincomposer.Main;
 import com.ray3k.skincomposer.dialog.DialogTVG;
 import com.ray3k.skincomposer.dialog.DialogTVG.TvgData;
 import com.ray3k.skincomposer.dialog.tenpatch.DialogTenPatch;
 import com.ray3k.skincomposer.utils.Utils;
 
+import java.util.regex.Pattern;
+
 public class DrawableData {
     public enum DrawableType {
         TINTED("Tinted", "button-colorwheel"), TINTED_FROM_COLOR_DATA("Tinted", "button-swatches"),
@@ -64,11 +67,14 @@ public class DrawableData {
     public DialogTVG.TvgData tvgData;
     public DrawableType type;
     public boolean hidden;
+    private transient FileHandle properFile;
+    private transient String properName;
+    private static final Pattern EXTENSION_PATTERN = Pattern.compile("(\\.9)?\\.[a-zA-Z0-9]*$");
 
     public DrawableData(FileHandle file) {
         this.file = file;
         if (Utils.isBitmap(file.name())) {
-            Color temp = Utils.averageEdgeColor(file);
+            Color temp = Main.drawableCache.get(file).edgeColor;
             if (Utils.brightness(temp) > .5f) {
                 bgColor = Color.BLACK;
             } else {
@@ -108,6 +114,7 @@ public class DrawableData {
         this.tint = drawableData.tint;
         this.tintName = drawableData.tintName;
         this.name = drawableData.name;
+        NameIndex.nameChanged();
         this.tiled = drawableData.tiled;
         this.minWidth = drawableData.minWidth;
         this.minHeight = drawableData.minHeight;
@@ -145,7 +152,20 @@ public class DrawableData {
     }
     
     public static String proper(String name) {
-        return name.replaceFirst("(\\.9)?\\.[a-zA-Z0-9]*$", "");
+        return EXTENSION_PATTERN.matcher(name).replaceFirst("");
+    }
+    
+    /**
+     * Returns the name of the file without the extension. The result is cached
+     * until the file is changed.
+     * @return The proper name or null if there is no file.
+     */
+    public String getProperFileName() {
+        if (file != properFile) {
+            properName = file == null ? null : proper(file.name());
+            properFile = file;
+        }
+        return properName;
     }
     
     public static boolean validate(String name) {
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.data;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.InputStream;
+import java.security.MessageDigest;
+
+/**
+ * Records the state of an export so the next export of the same skin can skip unchanged work. The manifest is stored
+ * next to the exported JSON file. It caches the content hash of every file it has seen by path, length, and modified
+ * time, and it stores the hash of the inputs of each artifact along with the hashes of the files it produced. All
+ * methods are safe to call from the background threads of an export.
+ * @author Raymond Buckley
+ */
+public class ExportManifest {
+    public static final String EXTENSION = ".manifest";
+    private transient FileHandle file;
+    private transient boolean changed;
+    private ObjectMap<String, FileState> files = new ObjectMap<>();
+    private ObjectMap<String, Artifact> artifacts = new ObjectMap<>();
+    
+    /**
+     * Reads the manifest of the specified export. A missing or unreadable manifest results in an empty one, which
+     * causes every artifact to be written.
+     * @param exportFile The exported skin JSON file.
+     * @return
+     */
+    public static ExportManifest load(FileHandle exportFile) {
+        var file = exportFile.sibling(exportFile.nameWithoutExtension() + EXTENSION);
+        ExportManifest manifest = null;
+        if (file.exists()) {
+            try {
+                manifest = new Json().fromJson(ExportManifest.class, file);
+            } catch (Exception e) {
+                Gdx.app.error(ExportManifest.class.getName(), "Unable to read export manifest: " + file.path(), e);
+            }
+        }
+        if (manifest == null) manifest = new ExportManifest();
+        if (manifest.files == null) manifest.files = new ObjectMap<>();
+        if (manifest.artifacts == null) manifest.artifacts = new ObjectMap<>();
+        manifest.file = file;
+        return manifest;
+    }
+    
+    /**
+     * Writes the manifest if anything has changed since it was loaded.
+     */
+    public synchronized void save() {
+        if (!changed) return;
+        
+        //forget files that were removed since the last export
+        var iter = files.entries().iterator();
+        while (iter.hasNext()) {
+            if (!Gdx.files.absolute(iter.next().key).exists()) iter.remove();
+        }
+        
+        try {
+            var json = new Json(OutputType.minimal);
+            file.writeString(json.toJson(this), false, "UTF-8");
+            changed = false;
+        } catch (Exception e) {
+            Gdx.app.error(getClass().getName(), "Unable to write export manifest: " + file.path(), e);
+        }
+    }
+    
+    /**
+     * Returns the SHA-1 hash of the contents of the file. The file is only read if its length or modified time has
+     * changed since it was last hashed. Files are read outside of the lock so several files can be hashed
+     * concurrently.
+     * @param fileHandle
+     * @return The hash or null if the file does not exist.
+     */
+    public String hash(FileHandle fileHandle) {
+        var file = fileHandle.file().getAbsoluteFile();
+        if (!file.exists()) return null;
+        
+        var path = file.getPath();
+        var length = file.length();
+        var lastModified = file.lastModified();
+        synchronized (this) {
+            var state = files.get(path);
+            if (state != null && state.length == length && state.lastModified == lastModified) return state.hash;
+        }
+        
+        var state = new FileState();
+        state.length = length;
+        state.lastModified = lastModified;
+        state.hash = hashFile(fileHandle);
+        synchronized (this) {
+            files.put(path, state);
+            changed = true;
+        }
+        return state.hash;
+    }
+    
+    /**
+     * Writes the bytes to the target file unless it already has the same contents.
+     * @param target
+     * @param bytes
+     * @return true if the file was written.
+     */
+    public boolean writeIfChanged(FileHandle target, byte[] bytes) {
+        if (hash(bytes).equals(hash(target))) return false;
+        
+        target.writeBytes(bytes, false);
+        hash(target);
+        return true;
+    }
+    
+    /**
+     * Copies the source file into the target directory unless a file with the same name and contents already exists
+     * there.
+     * @param source
+     * @param targetDirectory
+     * @return true if the file was copied.
+     */
+    public boolean copyIfChanged(FileHandle source, FileHandle targetDirectory) {
+        var target = targetDirectory.child(source.name());
+        var sourceHash = hash(source);
+        if (sourceHash != null && sourceHash.equals(hash(target))) return false;
+        
+        source.copyTo(targetDirectory);
+        hash(target);
+        return true;
+    }
+    
+    /**
+     * Checks if the artifact was last produced from the same inputs and its output files have not been modified or
+     * deleted since.
+     * @param name The name of the artifact.
+     * @param inputHash A hash of every input and setting that affects the artifact.
+     * @return
+     */
+    public synchronized boolean isCurrent(String name, String inputHash) {
+        var artifact = artifacts.get(name);
+        if (artifact == null || !inputHash.equals(artifact.inputHash)) return false;
+        
+        for (var output : artifact.outputs) {
+            if (!output.value.equals(hash(Gdx.files.absolute(output.key)))) return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Records that the artifact was produced from the specified inputs.
+     * @param name The name of the artifact.
+     * @param inputHash A hash of every input and setting that affects the artifact.
+     * @param outputs The files that were written for the artifact.
+     */
+    public synchronized void setCurrent(String name, String inputHash, Array<FileHandle> outputs) {
+        var artifact = new Artifact();
+        artifact.inputHash = inputHash;
+        for (var output : outputs) {
+            var hash = hash(output);
+            if (hash != null) artifact.outputs.put(output.file().getAbsolutePath(), hash);
+        }
+        artifacts.put(name, artifact);
+        changed = true;
+    }
+    
+    /**
+     * Removes the record of the artifact so it is produced again by the next export.
+     * @param name
+     */
+    public synchronized void invalidate(String name) {
+        if (artifacts.remove(name) != null) changed = true;
+    }
+    
+    /**
+     * Combines several values into a single SHA-1 hash.
+     * @param values
+     * @return
+     */
+    public static String hash(String... values) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-1");
+            for (var value : values) {
+                digest.update(String.valueOf(value).getBytes("UTF-8"));
+                digest.update((byte) 0);
+            }
+            return toHex(digest.digest());
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to hash values", e);
+        }
+    }
+    
+    public static String hash(byte[] bytes) {
+        try {
+            return toHex(MessageDigest.getInstance("SHA-1").digest(bytes));
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to hash bytes", e);
+        }
+    }
+    
+    private static String hashFile(FileHandle file) {
+        InputStream input = null;
+        try {
+            var digest = MessageDigest.getInstance("SHA-1");
+            input = file.read();
+            var buffer = new byte[8192];
+            int length;
+            while ((length = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, length);
+            }
+            return toHex(digest.digest());
+        } catch (Exception e) {
+            throw new RuntimeException("Unable to hash file: " + file.path(), e);
+        } finally {
+            StreamUtils.closeQuietly(input);
+        }
+    }
+    
+    private static String toHex(byte[] bytes) {
+        var builder = new StringBuilder();
+        for (var b : bytes) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+    
+    public static class FileState {
+        public long length;
+        public long lastModified;
+        public String hash;
+    }
+    
+    public static class Artifact {
+        public String inputHash;
+        public ObjectMap<String, String> outputs = new ObjectMap<>();
+    }
+}
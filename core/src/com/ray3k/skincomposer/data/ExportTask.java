@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.data;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Tracks the progress of an export whose steps run concurrently. The texture
+ * atlas reports its progress through the inherited {@link AtlasTask} stages.
+ * Warnings are kept per step and combined in step order when the export
+ * completes, so they appear in the same order regardless of which step
+ * finishes first.
+ * @author Raymond Buckley
+ */
+public class ExportTask extends AtlasTask {
+    public enum Step {
+        JSON("Skin JSON"), ATLAS("Texture atlas"), FONTS("Fonts"), TVG("TinyVG files");
+        
+        public final String text;
+        
+        Step(String text) {
+            this.text = text;
+        }
+    }
+    
+    private final AtomicIntegerArray stepCompleted = new AtomicIntegerArray(Step.values().length);
+    private final AtomicIntegerArray stepTotals = new AtomicIntegerArray(Step.values().length);
+    private final Array<Array<String>> stepWarnings = new Array<>();
+    
+    public ExportTask() {
+        for (int i = 0; i < Step.values().length; i++) {
+            stepTotals.set(i, -1);
+            stepWarnings.add(new Array<>());
+        }
+    }
+    
+    /**
+     * Includes the step in the export. Steps that are never added are not
+     * displayed.
+     * @param step
+     * @param total The number of items processed by the step.
+     */
+    public void addStep(Step step, int total) {
+        stepTotals.set(step.ordinal(), total);
+        stepCompleted.set(step.ordinal(), 0);
+    }
+    
+    public void advance(Step step) {
+        stepCompleted.incrementAndGet(step.ordinal());
+        progressChanged();
+    }
+    
+    public boolean isComplete(Step step) {
+        var total = stepTotals.get(step.ordinal());
+        return total >= 0 && stepCompleted.get(step.ordinal()) >= total;
+    }
+    
+    public void addWarnings(Step step, Array<String> warnings) {
+        var array = stepWarnings.get(step.ordinal());
+        synchronized (array) {
+            array.addAll(warnings);
+        }
+    }
+    
+    /**
+     * Moves the warnings of every step into {@link #getWarnings()} in step
+     * order. Must be called once all steps are complete.
+     */
+    public void collectWarnings() {
+        for (var array : stepWarnings) {
+            synchronized (array) {
+                getWarnings().addAll(array);
+                array.clear();
+            }
+        }
+    }
+    
+    @Override
+    public String getProgressText() {
+        var builder = new StringBuilder();
+        for (var step : Step.values()) {
+            var total = stepTotals.get(step.ordinal());
+            if (total < 0) continue;
+            
+            if (builder.length() > 0) builder.append("\n");
+            builder.append(step.text).append(": ");
+            if (isComplete(step)) {
+                builder.append("Done");
+            } else if (step == Step.ATLAS) {
+                builder.append(super.getProgressText());
+            } else {
+                builder.append(stepCompleted.get(step.ordinal())).append("/").append(total);
+            }
+        }
+        return builder.toString();
+    }
+}
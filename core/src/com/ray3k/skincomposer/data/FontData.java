@@ -49,6 +49,7 @@ public class FontData implements Json.Serializable {
             throw new NameFormatException();
         } else {
             this.name = name;
+            NameIndex.nameChanged();
         }
     }
 
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.ray3k.skincomposer.data;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeBitmapFontData;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates preview fonts for the font dialogs without blocking the render
+ * thread. Requests are debounced so that only the settings that are current
+ * after the user stops changing them are rasterized. Glyphs are generated on a
+ * single background thread that keeps one FreeTypeFontGenerator open per TTF
+ * file. Only creating the textures happens on the render thread, and only for
+ * the newest request.
+ * @author Raymond Buckley
+ */
+public class FontPreviewGenerator implements Disposable {
+    public static final long DEBOUNCE_MILLIS = 150;
+    private final ScheduledExecutorService executor;
+    private final ObjectMap<String, GeneratorEntry> generators = new ObjectMap<>();
+    private ScheduledFuture<?> pending;
+    private volatile int requestId;
+    private boolean disposed;
+    
+    public interface FontPreviewListener {
+        /**
+         * Called on the render thread with the generated font. The listener
+         * owns the font and must dispose it.
+         * @param font null if the font could not be generated.
+         */
+        void generated(BitmapFont font);
+    }
+    
+    private static class GeneratorEntry {
+        private FreeTypeFontGenerator generator;
+        private long lastModified;
+    }
+    
+    public FontPreviewGenerator() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "font-preview");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Requests a preview font for the current settings of the data. Replaces
+     * any request that has not completed yet. Must be called on the render
+     * thread.
+     * @param data
+     * @param listener
+     */
+    public void request(FreeTypeFontData data, FontPreviewListener listener) {
+        if (disposed) return;
+        int id = ++requestId;
+        if (pending != null) pending.cancel(false);
+        
+        var file = data.getGeneratorFile();
+        if (file == null) {
+            listener.generated(null);
+            return;
+        }
+        var parameter = data.createParameter();
+        
+        pending = executor.schedule(() -> {
+            if (id != requestId) return;
+            
+            FreeTypeBitmapFontData fontData = null;
+            try {
+                var generator = obtainGenerator(file);
+                parameter.packer = createPacker(parameter);
+                fontData = new FreeTypeBitmapFontData();
+                fontData.regions = new Array<>();
+                generator.generateData(parameter, fontData);
+            } catch (Exception e) {
+                Gdx.app.error(getClass().getName(), "Unable to generate preview font: " + file.path(), e);
+                if (parameter.packer != null) {
+                    parameter.packer.dispose();
+                    parameter.packer = null;
+                }
+                fontData = null;
+            }
+            
+            var result = fontData;
+            Gdx.app.postRunnable(() -> {
+                if (disposed || id != requestId) {
+                    if (parameter.packer != null) parameter.packer.dispose();
+                    return;
+                }
+                
+                listener.generated(result == null ? null : createFont(result, parameter));
+            });
+        }, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Cancels the request that has not completed yet.
+     */
+    public void cancel() {
+        requestId++;
+        if (pending != null) pending.cancel(false);
+    }
+    
+    private FreeTypeFontGenerator obtainGenerator(FileHandle file) {
+        var key = file.file().getAbsolutePath();
+        var entry = generators.get(key);
+        if (entry != null && entry.lastModified != file.lastModified()) {
+            entry.generator.dispose();
+            entry = null;
+        }
+        
+        if (entry == null) {
+            entry = new GeneratorEntry();
+            entry.generator = new FreeTypeFontGenerator(file);
+            entry.lastModified = file.lastModified();
+            generators.put(key, entry);
+        }
+        return entry.generator;
+    }
+    
+    /**
+     * Creates a packer large enough for the characters so the generator does
+     * not create textures on this thread.
+     */
+    private static PixmapPacker createPacker(FreeTypeFontParameter parameter) {
+        int glyphSize = MathUtils.ceil(parameter.size * 1.5f + parameter.borderWidth * 2) + Math.abs(parameter.shadowOffsetX) + Math.abs(parameter.shadowOffsetY) + 2;
+        int pageSize = MathUtils.nextPowerOfTwo((int) Math.sqrt((double) glyphSize * glyphSize * parameter.characters.length()));
+        pageSize = MathUtils.clamp(pageSize, 64, 4096);
+        
+        var packer = new PixmapPacker(pageSize, pageSize, Pixmap.Format.RGBA8888, 1, false, new PixmapPacker.SkylineStrategy());
+        packer.setTransparentColor(parameter.borderWidth > 0 && parameter.borderColor != null ? parameter.borderColor : parameter.color);
+        packer.getTransparentColor().a = 0;
+        return packer;
+    }
+    
+    private static BitmapFont createFont(FreeTypeBitmapFontData fontData, FreeTypeFontParameter parameter) {
+        try {
+            parameter.packer.updateTextureRegions(fontData.regions, parameter.minFilter, parameter.magFilter, parameter.genMipMaps);
+            var font = new BitmapFont(fontData, fontData.regions, true);
+            font.setOwnsTexture(true);
+            return font;
+        } catch (Exception e) {
+            Gdx.app.error(FontPreviewGenerator.class.getName(), "Unable to create preview font", e);
+            return null;
+        } finally {
+            parameter.packer.dispose();
+        }
+    }
+    
+    /**
+     * Cancels pending requests and disposes the generators on the background
+     * thread.
+     */
+    @Override
+    public void dispose() {
+        if (disposed) return;
+        disposed = true;
+        cancel();
+        executor.execute(() -> {
+            for (var entry : generators.values()) {
+                entry.generator.dispose();
+            }
+            generators.clear();
+        });
+        executor.shutdown();
+    }
+}
@@ -38,6 +38,7 @@ import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.JsonValue;
 import com.ray3k.skincomposer.Main;
+import com.ray3k.skincomposer.utils.Instrumentation;
 
 import static com.ray3k.skincomposer.Main.*;
 
@@ -109,69 +110,90 @@ public class FreeTypeFontData implements Json.Serializable {
             bitmapFont = null;
         }
         
+        var generatorFile = getGeneratorFile();
+        if (generatorFile == null) return;
+        
+        var start = Instrumentation.start();
+        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(generatorFile);
+        generator.setMaxTextureSize(FreeTypeFontGenerator.NO_MAXIMUM);
+        try {
+            bitmapFont = generator.generateFont(createParameter());
+        } catch (GdxRuntimeException e) {
+            if (!useCustomSerializer) throw e;
+            bitmapFont = null;
+        } finally {
+            generator.dispose();
+            Instrumentation.record("FreeTypeFontData.createBitmapFont", start);
+        }
+    }
+    
+    /**
+     * Returns the TTF file that the BitmapFont is generated from. This is the
+     * selected preview font if a custom serializer is not used.
+     * @return null if the file does not exist.
+     */
+    public FileHandle getGeneratorFile() {
         if (!useCustomSerializer) {
-            if (previewTTF == null) return;
-            FreeTypeFontParameter parameter = new FreeTypeFontParameter();
-            parameter.color = Color.BLACK;
-            
+            if (previewTTF == null) return null;
             FileHandle previewFontPath = appFolder.child("preview fonts/" + previewTTF + ".ttf");
-            if (previewFontPath.exists()) {
-                FreeTypeFontGenerator generator = new FreeTypeFontGenerator(previewFontPath);
-                generator.setMaxTextureSize(FreeTypeFontGenerator.NO_MAXIMUM);
-                bitmapFont = generator.generateFont(parameter);
-                generator.dispose();
-            }
+            return previewFontPath.exists() ? previewFontPath : null;
         } else {
-            if (file == null || !file.exists()) return;
-            FreeTypeFontGenerator generator = new FreeTypeFontGenerator(file);
-            generator.setMaxTextureSize(FreeTypeFontGenerator.NO_MAXIMUM);
-            FreeTypeFontParameter parameter = new FreeTypeFontParameter();
-
-            if (borderColor != null) for (ColorData colorData : jsonData.getColors()) {
-                if (colorData.getName().equals(borderColor)) {
-                    parameter.borderColor = colorData.color;
-                    break;
-                }
-            }
-            parameter.borderGamma = borderGamma;
-            parameter.borderStraight = borderStraight;
-            parameter.borderWidth = borderWidth;
-            parameter.characters = characters.equals("") ? DEFAULT_CHARS : characters;
-            if (color != null) for (ColorData colorData : jsonData.getColors()) {
-                if (colorData.getName().equals(color)) {
-                    parameter.color = colorData.color;
-                    break;
-                }
+            if (file == null || !file.exists()) return null;
+            return file;
+        }
+    }
+    
+    /**
+     * Creates the generator parameters from the settings of this font. Colors
+     * are looked up in the project's colors, so this must be called on the
+     * render thread. The returned colors are copies.
+     * @return
+     */
+    public FreeTypeFontParameter createParameter() {
+        FreeTypeFontParameter parameter = new FreeTypeFontParameter();
+        if (!useCustomSerializer) {
+            parameter.color = new Color(Color.BLACK);
+            return parameter;
+        }
+        
+        if (borderColor != null) for (ColorData colorData : jsonData.getColors()) {
+            if (colorData.getName().equals(borderColor)) {
+                parameter.borderColor = new Color(colorData.color);
+                break;
             }
-            parameter.flip = flip;
-            parameter.gamma = gamma;
-            parameter.genMipMaps = genMipMaps;
-            parameter.hinting = hinting == null ? Hinting.AutoMedium : Hinting.valueOf(hinting);
-            parameter.incremental = false;
-            parameter.kerning = kerning;
-            parameter.magFilter = magFilter == null ? TextureFilter.Nearest : TextureFilter.valueOf(magFilter);
-            parameter.minFilter = minFilter == null ? TextureFilter.Nearest : TextureFilter.valueOf(minFilter);
-            parameter.mono = mono;
-            parameter.renderCount = renderCount;
-            if (shadowColor != null) for (ColorData colorData : jsonData.getColors()) {
-                if (colorData.getName().equals(shadowColor)) {
-                    parameter.shadowColor = colorData.color;
-                    break;
-                }
+        }
+        parameter.borderGamma = borderGamma;
+        parameter.borderStraight = borderStraight;
+        parameter.borderWidth = borderWidth;
+        parameter.characters = characters.equals("") ? DEFAULT_CHARS : characters;
+        if (color != null) for (ColorData colorData : jsonData.getColors()) {
+            if (colorData.getName().equals(color)) {
+                parameter.color = new Color(colorData.color);
+                break;
             }
-            parameter.shadowOffsetX = shadowOffsetX;
-            parameter.shadowOffsetY = shadowOffsetY;
-            parameter.size = size;
-            parameter.spaceX = spaceX;
-            parameter.spaceY = spaceY;
-            
-            try {
-                bitmapFont = generator.generateFont(parameter);
-            } catch (GdxRuntimeException e) {
-                bitmapFont = null;
+        }
+        parameter.flip = flip;
+        parameter.gamma = gamma;
+        parameter.genMipMaps = genMipMaps;
+        parameter.hinting = hinting == null ? Hinting.AutoMedium : Hinting.valueOf(hinting);
+        parameter.incremental = false;
+        parameter.kerning = kerning;
+        parameter.magFilter = magFilter == null ? TextureFilter.Nearest : TextureFilter.valueOf(magFilter);
+        parameter.minFilter = minFilter == null ? TextureFilter.Nearest : TextureFilter.valueOf(minFilter);
+        parameter.mono = mono;
+        parameter.renderCount = renderCount;
+        if (shadowColor != null) for (ColorData colorData : jsonData.getColors()) {
+            if (colorData.getName().equals(shadowColor)) {
+                parameter.shadowColor = new Color(colorData.color);
+                break;
             }
-            generator.dispose();
         }
+        parameter.shadowOffsetX = shadowOffsetX;
+        parameter.shadowOffsetY = shadowOffsetY;
+        parameter.size = size;
+        parameter.spaceX = spaceX;
+        parameter.spaceY = spaceY;
+        return parameter;
     }
     
     public void writeFontToFile(Main main, FileHandle target) {
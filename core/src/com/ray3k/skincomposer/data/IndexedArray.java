@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.data;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Comparator;
+
+/**
+ * An Array that counts its structural modifications, so a {@link NameIndex}
+ * can tell that it is out of date without comparing the items. Writing to
+ * {@link #items} directly is not counted.
+ * @author Raymond Buckley
+ * @param <T> The type of the items.
+ */
+public class IndexedArray<T> extends Array<T> {
+    int modCount;
+    
+    public IndexedArray() {
+    }
+    
+    public IndexedArray(Array<? extends T> array) {
+        super(array);
+    }
+    
+    @Override
+    public void add(T value) {
+        modCount++;
+        super.add(value);
+    }
+    
+    @Override
+    public void add(T value1, T value2) {
+        modCount++;
+        super.add(value1, value2);
+    }
+    
+    @Override
+    public void add(T value1, T value2, T value3) {
+        modCount++;
+        super.add(value1, value2, value3);
+    }
+    
+    @Override
+    public void add(T value1, T value2, T value3, T value4) {
+        modCount++;
+        super.add(value1, value2, value3, value4);
+    }
+    
+    @Override
+    public void addAll(T[] array, int start, int count) {
+        modCount++;
+        super.addAll(array, start, count);
+    }
+    
+    @Override
+    public void set(int index, T value) {
+        modCount++;
+        super.set(index, value);
+    }
+    
+    @Override
+    public void insert(int index, T value) {
+        modCount++;
+        super.insert(index, value);
+    }
+    
+    @Override
+    public void insertRange(int index, int count) {
+        modCount++;
+        super.insertRange(index, count);
+    }
+    
+    @Override
+    public void swap(int first, int second) {
+        modCount++;
+        super.swap(first, second);
+    }
+    
+    @Override
+    public T removeIndex(int index) {
+        modCount++;
+        return super.removeIndex(index);
+    }
+    
+    @Override
+    public void removeRange(int start, int end) {
+        modCount++;
+        super.removeRange(start, end);
+    }
+    
+    @Override
+    public boolean removeAll(Array<? extends T> array, boolean identity) {
+        modCount++;
+        return super.removeAll(array, identity);
+    }
+    
+    @Override
+    public T pop() {
+        modCount++;
+        return super.pop();
+    }
+    
+    @Override
+    public void clear() {
+        modCount++;
+        super.clear();
+    }
+    
+    @Override
+    public T[] setSize(int newSize) {
+        modCount++;
+        return super.setSize(newSize);
+    }
+    
+    @Override
+    public void sort() {
+        modCount++;
+        super.sort();
+    }
+    
+    @Override
+    public void sort(Comparator<? super T> comparator) {
+        modCount++;
+        super.sort(comparator);
+    }
+    
+    @Override
+    public T selectRanked(Comparator<T> comparator, int kthLowest) {
+        //selection reorders the items
+        modCount++;
+        return super.selectRanked(comparator, kthLowest);
+    }
+    
+    @Override
+    public int selectRankedIndex(Comparator<T> comparator, int kthLowest) {
+        modCount++;
+        return super.selectRankedIndex(comparator, kthLowest);
+    }
+    
+    @Override
+    public void reverse() {
+        modCount++;
+        super.reverse();
+    }
+    
+    @Override
+    public void shuffle() {
+        modCount++;
+        super.shuffle();
+    }
+    
+    @Override
+    public void truncate(int newSize) {
+        modCount++;
+        super.truncate(newSize);
+    }
+}
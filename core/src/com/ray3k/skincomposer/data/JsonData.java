@@ -55,6 +55,7 @@ import static com.ray3k.skincomposer.Main.*;
 import static com.ray3k.skincomposer.data.DrawableData.DrawableType.*;
 
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 
 public class JsonData implements Json.Serializable {
     private Array<ColorData> colors;
@@ -62,6 +63,10 @@ public class JsonData implements Json.Serializable {
     private Array<FreeTypeFontData> freeTypeFonts;
     private OrderedMap<Class, Array<StyleData>> classStyleMap;
     private Array<CustomClass> customClasses;
+    private final NameIndex<ColorData> colorIndex = new NameIndex<>(ColorData::getName);
+    private final NameIndex<FontData> fontIndex = new NameIndex<>(FontData::getName);
+    private final NameIndex<FreeTypeFontData> freeTypeFontIndex = new NameIndex<>(font -> font.name);
+    private final ObjectMap<Class, NameIndex<StyleData>> styleIndices = new ObjectMap<>();
     
     public static enum ExportFormat {
         MINIMAL("Minimal", JsonWriter.OutputType.minimal), JAVASCRIPT("JavaScript", JsonWriter.OutputType.javascript), JSON("JSON", JsonWriter.OutputType.json);
@@ -85,13 +90,27 @@ public class JsonData implements Json.Serializable {
     }
 
     public JsonData() {
-        colors = new Array<>();
-        fonts = new Array<>();
-        freeTypeFonts = new Array<>();
+        colors = new IndexedArray<>();
+        fonts = new IndexedArray<>();
+        freeTypeFonts = new IndexedArray<>();
 
         initializeClassStyleMap();
         customClasses = new Array<>();
     }
+    
+    /**
+     * Copies the resources and styles for an autosave snapshot. The copy is
+     * only meant to be written.
+     * @param jsonData
+     * @param snapshot
+     */
+    JsonData(JsonData jsonData, ProjectSnapshot snapshot) {
+        colors = snapshot.copy(jsonData.colors);
+        fonts = snapshot.copy(jsonData.fonts);
+        freeTypeFonts = snapshot.copy(jsonData.freeTypeFonts);
+        classStyleMap = snapshot.copy(jsonData.classStyleMap);
+        customClasses = snapshot.copy(jsonData.customClasses);
+    }
 
     public void clear() {
         colors.clear();
@@ -529,32 +548,11 @@ public class JsonData implements Json.Serializable {
                     if (property.value != null) {
                         boolean keep = false;
                         if (property.type == Color.class) {
-                            for (ColorData color : colors) {
-                                if (property.value.equals(color.getName())) {
-                                    keep = true;
-                                    break;
-                                }
-                            }
+                            keep = getColorByName((String) property.value) != null;
                         } else if (property.type == BitmapFont.class) {
-                            for (FontData font : fonts) {
-                                if (property.value.equals(font.getName())) {
-                                    keep = true;
-                                    break;
-                                }
-                            }
-                            for (FreeTypeFontData font : freeTypeFonts) {
-                                if (property.value.equals(font.name)) {
-                                    keep = true;
-                                    break;
-                                }
-                            }
+                            keep = getFont((String) property.value) != null || getFreeTypeFont((String) property.value) != null;
                         } else if (property.type == Drawable.class) {
-                            for (DrawableData drawable : atlasData.getDrawables()) {
-                                if (property.value.equals(drawable.name)) {
-                                    keep = true;
-                                    break;
-                                }
-                            }
+                            keep = atlasData.checkIfDrawableNameExists((String) property.value);
                             
                             if (!keep) {
                                 keep = true;
@@ -583,26 +581,14 @@ public class JsonData implements Json.Serializable {
                             keep = true;
                         } else switch (customProperty.getType()) {
                             case COLOR:
-                                for (ColorData color : colors) {
-                                    if (customProperty.getValue().equals(color.getName())) {
-                                        keep = true;
-                                        break;
-                                    }
-                                }   break;
+                                keep = customProperty.getValue() instanceof String && getColorByName((String) customProperty.getValue()) != null;
+                                break;
                             case DRAWABLE:
-                                for (DrawableData drawable : atlasData.getDrawables()) {
-                                    if (customProperty.getValue().equals(drawable.name)) {
-                                        keep = true;
-                                        break;
-                                    }
-                                }   break;
+                                keep = customProperty.getValue() instanceof String && atlasData.checkIfDrawableNameExists((String) customProperty.getValue());
+                                break;
                             case FONT:
-                                for (FontData font : fonts) {
-                                    if (customProperty.getValue().equals(font.getName())) {
-                                        keep = true;
-                                        break;
-                                    }
-                                }   break;
+                                keep = customProperty.getValue() instanceof String && getFont((String) customProperty.getValue()) != null;
+                                break;
                             default:
                                 keep = true;
                                 break;
@@ -646,11 +632,46 @@ public class JsonData implements Json.Serializable {
     }
 
     /**
-     * Exports skin data to a JSON file to be loaded by libGDX.
+     * Returns the widths of a nine patch like NinePatchDrawable computes them
+     * from the atlas, where the padding replaces the splits if it is defined.
+     * Read from the image instead of the preview, so it also works when the
+     * preview atlas was not produced.
+     * @param file
+     * @return {left, right, top, bottom}
+     */
+    private static int[] getNinePatchWidths(FileHandle file) {
+        var metadata = Main.drawableCache.get(file);
+        var widths = metadata.splits == null ? new int[4] : metadata.splits.clone();
+        
+        //NinePatch moves the patches of an axis without a middle to the center, leaving no sides
+        var dimensions = Utils.imageDimensions(file);
+        if (widths[0] == 0 && widths[1] == (int) dimensions.x) {
+            widths[0] = 0;
+            widths[1] = 0;
+        }
+        if (widths[2] == 0 && widths[3] == (int) dimensions.y) {
+            widths[2] = 0;
+            widths[3] = 0;
+        }
+        
+        if (metadata.pads != null) {
+            for (int i = 0; i < widths.length; i++) {
+                if (metadata.pads[i] != -1) widths[i] = metadata.pads[i];
+            }
+        }
+        return widths;
+    }
+    
+    /**
+     * Exports skin data to a JSON file to be loaded by libGDX. The file is
+     * left untouched if its contents would not change. Does not read the
+     * preview atlas or drawables, so it may run on a worker thread while the
+     * render thread rebuilds them.
      * @param fileHandle
+     * @param manifest The manifest of the export.
      * @return 
      */
-    public Array<String> writeFile(FileHandle fileHandle) {
+    public Array<String> writeFile(FileHandle fileHandle, ExportManifest manifest) {
         Array<String> warnings = new Array<>();
         
         StringWriter stringWriter = new StringWriter();
@@ -818,11 +839,11 @@ public class JsonData implements Json.Serializable {
                     json.writeObjectEnd();
                 }
                 
-                var atlasDrawable = atlasData.getDrawablePairs().get(drawable);
-                json.writeValue("leftWidth", atlasDrawable.getLeftWidth());
-                json.writeValue("rightWidth", atlasDrawable.getRightWidth());
-                json.writeValue("topHeight", atlasDrawable.getTopHeight());
-                json.writeValue("bottomHeight", atlasDrawable.getBottomHeight());
+                var widths = getNinePatchWidths(drawable.file);
+                json.writeValue("leftWidth", widths[0]);
+                json.writeValue("rightWidth", widths[1]);
+                json.writeValue("topHeight", widths[2]);
+                json.writeValue("bottomHeight", widths[3]);
                 json.writeObjectEnd();
             }
             json.writeObjectEnd();
@@ -837,7 +858,7 @@ public class JsonData implements Json.Serializable {
             for (DrawableData drawable : drawables) {
                 json.writeObjectStart(drawable.name);
     
-                json.writeValue("name", drawable.type == PIXEL ? "white-pixel" : DrawableData.proper(drawable.file.name()));
+                json.writeValue("name", drawable.type == PIXEL ? "white-pixel" : drawable.getProperFileName());
                 if (drawable.type == TINTED) {
                     json.writeObjectStart("color");
                     if (projectData.isExportingHex()) {
@@ -871,7 +892,7 @@ public class JsonData implements Json.Serializable {
             json.writeObjectStart(className);
             for (DrawableData drawable : tiledDrawables) {
                 json.writeObjectStart(drawable.name);
-                json.writeValue("region", DrawableData.proper(drawable.file.name()));
+                json.writeValue("region", drawable.getProperFileName());
                 json.writeValue("color", drawable.tintName);
                 json.writeValue("minWidth", drawable.minWidth);
                 json.writeValue("minHeight", drawable.minHeight);
@@ -886,7 +907,7 @@ public class JsonData implements Json.Serializable {
             json.writeObjectStart(className);
             for (DrawableData drawable : tenPatchDrawables) {
                 json.writeObjectStart(drawable.name);
-                json.writeValue("region", DrawableData.proper(drawable.file.name()));
+                json.writeValue("region", drawable.getProperFileName());
                 if (drawable.tenPatchData.colorName != null) {
                     json.writeValue("color", drawable.tenPatchData.colorName);
                 }
@@ -894,15 +915,15 @@ public class JsonData implements Json.Serializable {
                 if (drawable.tenPatchData.horizontalStretchAreas.size > 0) {
                     json.writeValue("horizontalStretchAreas", drawable.tenPatchData.horizontalStretchAreas.toArray());
                 } else {
-                    var region = atlasData.getAtlas().findRegion(drawable.file.nameWithoutExtension());
-                    json.writeValue("horizontalStretchAreas", new int[]{0, region.getRegionWidth() - 1});
+                    var dimensions = Utils.imageDimensions(drawable.file);
+                    json.writeValue("horizontalStretchAreas", new int[]{0, (int) dimensions.x - 1});
                 }
                 
                 if (drawable.tenPatchData.verticalStretchAreas.size > 0) {
                     json.writeValue("verticalStretchAreas", drawable.tenPatchData.verticalStretchAreas.toArray());
                 } else {
-                    var region = atlasData.getAtlas().findRegion(drawable.file.nameWithoutExtension());
-                    json.writeValue("verticalStretchAreas", new int[]{0, region.getRegionHeight() - 1});
+                    var dimensions = Utils.imageDimensions(drawable.file);
+                    json.writeValue("verticalStretchAreas", new int[]{0, (int) dimensions.y - 1});
                 }
                 
                 json.writeValue("tiling", drawable.tenPatchData.tile);
@@ -1072,7 +1093,7 @@ public class JsonData implements Json.Serializable {
         }
 
         json.writeObjectEnd();
-        fileHandle.writeString(json.prettyPrint(stringWriter.toString()), false, "UTF-8");
+        manifest.writeIfChanged(fileHandle, json.prettyPrint(stringWriter.toString()).getBytes(StandardCharsets.UTF_8));
         
         return warnings;
     }
@@ -1165,14 +1186,7 @@ public class JsonData implements Json.Serializable {
     }
     
     public ColorData getColorByName(String tintName, ColorData defaultValue) {
-        ColorData returnValue = null;
-    
-        for (ColorData color : colors) {
-            if (color.getName().equals(tintName)) {
-                returnValue = color;
-                break;
-            }
-        }
+        ColorData returnValue = colorIndex.get(colors, tintName);
     
         return returnValue != null ? returnValue : defaultValue;
     }
@@ -1180,10 +1194,18 @@ public class JsonData implements Json.Serializable {
     public Array<FontData> getFonts() {
         return fonts;
     }
+    
+    public FontData getFont(String name) {
+        return fontIndex.get(fonts, name);
+    }
 
     public Array<FreeTypeFontData> getFreeTypeFonts() {
         return freeTypeFonts;
     }
+    
+    public FreeTypeFontData getFreeTypeFont(String name) {
+        return freeTypeFontIndex.get(freeTypeFonts, name);
+    }
 
     public OrderedMap<Class, Array<StyleData>> getClassStyleMap() {
         return classStyleMap;
@@ -1192,7 +1214,7 @@ public class JsonData implements Json.Serializable {
     private void initializeClassStyleMap() {
         classStyleMap = new OrderedMap();
         for (Class clazz : Main.BASIC_CLASSES) {
-            Array<StyleData> array = new Array<>();
+            Array<StyleData> array = new IndexedArray<>();
             classStyleMap.put(clazz, array);
             if (clazz.equals(Slider.class) || clazz.equals(ProgressBar.class) || clazz.equals(SplitPane.class)) {
                 StyleData data = new StyleData(clazz, "default-horizontal", main);
@@ -1233,10 +1255,10 @@ public class JsonData implements Json.Serializable {
     @Override
     public void read(Json json, JsonValue jsonData) {
         try {
-            colors = json.readValue("colors", Array.class, jsonData);
-            fonts = json.readValue("fonts", Array.class, jsonData);
+            colors = new IndexedArray<>(json.readValue("colors", Array.class, jsonData));
+            fonts = new IndexedArray<>(json.readValue("fonts", Array.class, jsonData));
             
-            freeTypeFonts = json.readValue("freeTypeFonts", Array.class, new Array<FreeTypeFontData>(),jsonData);
+            freeTypeFonts = new IndexedArray<>(json.readValue("freeTypeFonts", Array.class, new Array<FreeTypeFontData>(),jsonData));
             FileHandle previewFontsPath = Main.appFolder.child("preview fonts");
             var fontsList = previewFontsPath.list();
             
@@ -1259,7 +1281,7 @@ public class JsonData implements Json.Serializable {
             
             classStyleMap = new OrderedMap<>();
             for (JsonValue data : jsonData.get("classStyleMap").iterator()) {
-                classStyleMap.put(ClassReflection.forName(data.name), json.readValue(Array.class, data));
+                classStyleMap.put(ClassReflection.forName(data.name), new IndexedArray<StyleData>(json.readValue(Array.class, data)));
             }
             
             for (Array<StyleData> styleDatas : classStyleMap.values()) {
@@ -1308,16 +1330,11 @@ public class JsonData implements Json.Serializable {
     public StyleData newStyle(Class className, String styleName) {
         Array<StyleData> styles = getClassStyleMap().get(className);
         
-        StyleData data = null;
+        StyleData data = findStyle(className, styleName);
         
-        for (StyleData tempStyle : styles) {
-            if (tempStyle.name.equals(styleName)) {
-                data = tempStyle;
-                data.resetProperties();
-            }
-        }
-        
-        if (data == null) {
+        if (data != null) {
+            data.resetProperties();
+        } else {
             data = new StyleData(className, styleName, main);
             data.jsonData = this;
             styles.add(data);
@@ -1328,12 +1345,14 @@ public class JsonData implements Json.Serializable {
     
     public StyleData findStyle(Class clazz, String styleName) {
         var styles = getClassStyleMap().get(clazz);
-        for (var style : styles) {
-            if (style.name.equals(styleName)) {
-                return style;
-            }
+        if (styles == null) return null;
+        
+        var index = styleIndices.get(clazz);
+        if (index == null) {
+            index = new NameIndex<>(style -> style.name);
+            styleIndices.put(clazz, index);
         }
-        return null;
+        return index.get(styles, styleName);
     }
     
     public StyleData copyStyle(StyleData original, String styleName) {
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.data;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.function.Function;
+
+/**
+ * Maps names to the items of an Array for constant time lookups. The index is
+ * rebuilt on the next lookup after the mutation paths report a change. Adding,
+ * removing, or moving items is counted by {@link IndexedArray}. Renaming an
+ * item must be reported with {@link #nameChanged()}. Arrays that are not
+ * IndexedArrays are searched linearly.
+ * @author Raymond Buckley
+ * @param <T> The type of the indexed items.
+ */
+public class NameIndex<T> {
+    private static volatile int renameCount;
+    private final Function<T, String> nameFunction;
+    private final ObjectIntMap<String> positions = new ObjectIntMap<>();
+    private IndexedArray<T> source;
+    private int modCount;
+    private int renames;
+    
+    public NameIndex(Function<T, String> nameFunction) {
+        this.nameFunction = nameFunction;
+    }
+    
+    /**
+     * Must be called after an item that may be in an indexed array is renamed.
+     * Every index is rebuilt on its next lookup.
+     */
+    public static void nameChanged() {
+        renameCount++;
+    }
+    
+    /**
+     * Returns the first item of the array with the given name.
+     * @param array The array that is indexed. Passing a different array than
+     * the previous call rebuilds the index.
+     * @param name
+     * @return The item or null if no item has the name.
+     */
+    public synchronized T get(Array<T> array, String name) {
+        if (name == null) return null;
+        
+        if (!(array instanceof IndexedArray)) {
+            for (var item : array) {
+                if (name.equals(nameFunction.apply(item))) return item;
+            }
+            return null;
+        }
+        
+        var indexed = (IndexedArray<T>) array;
+        if (indexed != source || indexed.modCount != modCount || renameCount != renames) rebuild(indexed);
+        int index = positions.get(name, -1);
+        return index == -1 ? null : array.get(index);
+    }
+    
+    /**
+     * Returns true if any item of the array has the given name.
+     * @param array
+     * @param name
+     * @return
+     */
+    public boolean contains(Array<T> array, String name) {
+        return get(array, name) != null;
+    }
+    
+    private void rebuild(IndexedArray<T> array) {
+        source = array;
+        modCount = array.modCount;
+        renames = renameCount;
+        positions.clear(array.size);
+        for (int i = 0; i < array.size; i++) {
+            var name = nameFunction.apply(array.get(i));
+            if (name != null && !positions.containsKey(name)) positions.put(name, i);
+        }
+    }
+}
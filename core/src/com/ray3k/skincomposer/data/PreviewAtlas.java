@@ -0,0 +1,564 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.ray3k.skincomposer.data;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.ray3k.skincomposer.Main;
+import com.ray3k.skincomposer.utils.ImageProbe;
+import com.ray3k.skincomposer.utils.Utils;
+
+/**
+ * An in-memory replacement for the TexturePacker output that was previously
+ * written to the temp folder for previews. Pages are kept as Pixmaps and
+ * Textures. Only the regions whose source files were added, removed, or
+ * modified since the last update are drawn and uploaded. A page is only
+ * repacked when a new region does not fit in it anymore. TexturePacker is still
+ * used for export through {@link AtlasData#writeAtlas(FileHandle, FileHandle, ExportManifest, AtlasTask)}.
+ * Images can be decoded on worker threads with {@link #load(String, FileHandle)}
+ * while only packing and uploading happen on the render thread.
+ * @author Raymond Buckley
+ */
+public class PreviewAtlas implements Disposable {
+    private final TextureAtlas atlas;
+    private final Array<Page> pages;
+    private final ObjectMap<String, Entry> entries;
+    private final int pageWidth;
+    private final int pageHeight;
+    private final int paddingX;
+    private final int paddingY;
+    private final boolean duplicatePadding;
+    private final Texture.TextureFilter filterMin;
+    private final Texture.TextureFilter filterMag;
+    
+    public PreviewAtlas(FileHandle settingsFile) {
+        var settings = new Json().fromJson(TexturePacker.Settings.class, settingsFile);
+        pageWidth = settings.maxWidth;
+        pageHeight = settings.maxHeight;
+        paddingX = settings.paddingX;
+        paddingY = settings.paddingY;
+        duplicatePadding = settings.duplicatePadding;
+        filterMin = settings.filterMin;
+        filterMag = settings.filterMag;
+        
+        atlas = new TextureAtlas();
+        pages = new Array<>();
+        entries = new ObjectMap<>();
+    }
+    
+    public TextureAtlas getAtlas() {
+        return atlas;
+    }
+    
+    /**
+     * Synchronizes the atlas with the given region names and their source
+     * files. Unchanged regions are left untouched.
+     * @param sources the region name mapped to the image file it is read from.
+     * @return the number of regions that had to be read and uploaded.
+     */
+    public int update(ObjectMap<String, FileHandle> sources) {
+        var loadedRegions = new Array<LoadedRegion>();
+        for (var name : plan(sources)) {
+            var loadedRegion = load(name, sources.get(name));
+            if (loadedRegion != null) loadedRegions.add(loadedRegion);
+        }
+        
+        apply(sources, loadedRegions, null);
+        return loadedRegions.size;
+    }
+    
+    /**
+     * Returns the names of the regions that have to be read with
+     * {@link #load(String, FileHandle)} before the atlas can be synchronized
+     * with the given sources. Must be called on the render thread.
+     * @param sources
+     * @return
+     */
+    public Array<String> plan(ObjectMap<String, FileHandle> sources) {
+        var names = new Array<String>();
+        for (var source : sources) {
+            var entry = entries.get(source.key);
+            if (entry == null || !entry.isCurrent(source.value)) names.add(source.key);
+        }
+        return names;
+    }
+    
+    /**
+     * Decodes the image and prepares its padded cell. Does not modify the atlas
+     * and is safe to call from any thread.
+     * @param name
+     * @param file
+     * @return null if the image could not be read.
+     */
+    public LoadedRegion load(String name, FileHandle file) {
+        Pixmap pixmap;
+        try {
+            pixmap = new Pixmap(file);
+        } catch (Exception e) {
+            Gdx.app.error(getClass().getName(), "Unable to read image while creating preview atlas: " + file.path(), e);
+            return null;
+        }
+        
+        var loadedRegion = new LoadedRegion();
+        loadedRegion.name = name;
+        loadedRegion.file = file;
+        loadedRegion.lastModified = file.lastModified();
+        loadedRegion.length = file.length();
+        
+        if (Utils.isNinePatch(file.name())) {
+            var metadata = Main.drawableCache.get(file);
+            loadedRegion.splits = metadata.splits;
+            loadedRegion.pads = metadata.pads;
+            var trimmed = new Pixmap(Math.max(pixmap.getWidth() - 2, 1), Math.max(pixmap.getHeight() - 2, 1), Pixmap.Format.RGBA8888);
+            trimmed.setBlending(Pixmap.Blending.None);
+            trimmed.drawPixmap(pixmap, 0, 0, 1, 1, trimmed.getWidth(), trimmed.getHeight());
+            pixmap.dispose();
+            pixmap = trimmed;
+        }
+        
+        loadedRegion.width = pixmap.getWidth();
+        loadedRegion.height = pixmap.getHeight();
+        loadedRegion.cell = createCell(pixmap);
+        pixmap.dispose();
+        
+        return loadedRegion;
+    }
+    
+    /**
+     * Removes the regions that are not in the sources, packs the loaded regions,
+     * and uploads the modified pages. Must be called on the render thread. The
+     * loaded regions are disposed.
+     * @param sources
+     * @param loadedRegions
+     * @param task reports packing and upload progress. May be null.
+     */
+    public void apply(ObjectMap<String, FileHandle> sources, Array<LoadedRegion> loadedRegions, AtlasTask task) {
+        //remove regions that are no longer required
+        for (var name : entries.keys().toArray()) {
+            if (!sources.containsKey(name)) {
+                var entry = entries.remove(name);
+                entry.page.free(entry);
+                atlas.getRegions().removeValue(entry.region, true);
+            }
+        }
+        
+        if (task != null) task.setTotal(AtlasTask.Stage.PACK, loadedRegions.size);
+        for (var loadedRegion : loadedRegions) {
+            if (sources.containsKey(loadedRegion.name)) {
+                var entry = entries.get(loadedRegion.name);
+                if (entry == null) {
+                    entry = new Entry();
+                    entry.name = loadedRegion.name;
+                    entries.put(loadedRegion.name, entry);
+                }
+                entry.file = loadedRegion.file;
+                entry.lastModified = loadedRegion.lastModified;
+                entry.length = loadedRegion.length;
+                entry.width = loadedRegion.width;
+                entry.height = loadedRegion.height;
+                
+                var cell = loadedRegion.cell;
+                //replace in place if the new image fits in the old cell, otherwise pack it again
+                if (entry.page == null || entry.cell.width < cell.getWidth() || entry.cell.height < cell.getHeight()) {
+                    if (entry.page != null) entry.page.free(entry);
+                    insert(entry, cell);
+                } else {
+                    entry.page.draw(entry, cell);
+                }
+                
+                updateRegion(entry, loadedRegion.splits, loadedRegion.pads);
+            }
+            loadedRegion.dispose();
+            if (task != null) task.advance(AtlasTask.Stage.PACK);
+        }
+        
+        //dispose pages that no longer hold any regions
+        for (int i = pages.size - 1; i >= 0; i--) {
+            var page = pages.get(i);
+            if (page.entries.size == 0) {
+                atlas.getTextures().remove(page.texture);
+                page.dispose();
+                pages.removeIndex(i);
+            }
+        }
+        
+        if (task != null) task.setTotal(AtlasTask.Stage.UPLOAD, pages.size);
+        for (var page : pages) {
+            page.upload();
+            if (task != null) task.advance(AtlasTask.Stage.UPLOAD);
+        }
+    }
+    
+    /**
+     * Creates a Pixmap of the image surrounded by padding. The outer pixels
+     * are duplicated into the padding to prevent bleeding with linear
+     * filtering.
+     * @param pixmap
+     * @return
+     */
+    private Pixmap createCell(Pixmap pixmap) {
+        var cell = new Pixmap(pixmap.getWidth() + paddingX, pixmap.getHeight() + paddingY, Pixmap.Format.RGBA8888);
+        cell.setBlending(Pixmap.Blending.None);
+        int x = paddingX / 2;
+        int y = paddingY / 2;
+        if (duplicatePadding) {
+            for (int offsetX = -1; offsetX <= 1; offsetX++) {
+                for (int offsetY = -1; offsetY <= 1; offsetY++) {
+                    if (offsetX != 0 || offsetY != 0) cell.drawPixmap(pixmap, x + offsetX, y + offsetY);
+                }
+            }
+        }
+        cell.drawPixmap(pixmap, x, y);
+        return cell;
+    }
+    
+    private void insert(Entry entry, Pixmap cell) {
+        for (int i = 0; i < pages.size; i++) {
+            var page = pages.get(i);
+            if (page.pack(entry, cell.getWidth(), cell.getHeight())) {
+                page.draw(entry, cell);
+                return;
+            }
+        }
+        
+        //repack pages with free space before resorting to a new page. Repacking may add pages.
+        for (int i = 0; i < pages.size; i++) {
+            var page = pages.get(i);
+            if (page.freeCells.size > 0) {
+                page.repack();
+                if (page.pack(entry, cell.getWidth(), cell.getHeight())) {
+                    page.draw(entry, cell);
+                    return;
+                }
+            }
+        }
+        
+        insertNewPage(entry, cell);
+    }
+    
+    private void insertNewPage(Entry entry, Pixmap cell) {
+        var page = new Page(Math.max(pageWidth, cell.getWidth()), Math.max(pageHeight, cell.getHeight()));
+        pages.add(page);
+        page.pack(entry, cell.getWidth(), cell.getHeight());
+        page.draw(entry, cell);
+    }
+    
+    private void updateRegion(Entry entry, int[] splits, int[] pads) {
+        int x = (int) entry.cell.x + paddingX / 2;
+        int y = (int) entry.cell.y + paddingY / 2;
+        if (entry.region == null) {
+            entry.region = new AtlasRegion(entry.page.texture, x, y, entry.width, entry.height);
+            entry.region.name = entry.name;
+            atlas.getRegions().add(entry.region);
+        } else {
+            entry.region.setTexture(entry.page.texture);
+            entry.region.setRegion(x, y, entry.width, entry.height);
+            entry.region.originalWidth = entry.width;
+            entry.region.originalHeight = entry.height;
+            entry.region.packedWidth = entry.width;
+            entry.region.packedHeight = entry.height;
+        }
+        
+        if (splits == null && pads == null) {
+            entry.region.names = null;
+            entry.region.values = null;
+        } else if (pads == null) {
+            entry.region.names = new String[] {"split"};
+            entry.region.values = new int[][] {splits};
+        } else {
+            //TexturePacker writes empty splits if only the padding is defined
+            if (splits == null) splits = new int[] {0, 0, 0, 0};
+            entry.region.names = new String[] {"split", "pad"};
+            entry.region.values = new int[][] {splits, pads};
+        }
+    }
+    
+    /**
+     * Returns the split values of a nine patch image that still has its 1 pixel
+     * border. Mirrors the behavior of TexturePacker's ImageProcessor.
+     * @param pixmap
+     * @return {left, right, top, bottom} or null if there are no splits.
+     */
+    static int[] getSplits(Pixmap pixmap) {
+        return ImageProbe.getSplits(getRow(pixmap, 0), getColumn(pixmap, 0));
+    }
+    
+    /**
+     * Returns the padding values of a nine patch image that still has its 1
+     * pixel border. Mirrors the behavior of TexturePacker's ImageProcessor.
+     * @param pixmap
+     * @param splits
+     * @return {left, right, top, bottom} or null if the padding is not
+     * defined or equal to the splits.
+     */
+    static int[] getPads(Pixmap pixmap, int[] splits) {
+        return ImageProbe.getPads(getRow(pixmap, pixmap.getHeight() - 1), getColumn(pixmap, pixmap.getWidth() - 1), splits);
+    }
+    
+    private static int[] getRow(Pixmap pixmap, int y) {
+        var alpha = new int[pixmap.getWidth()];
+        for (int x = 0; x < alpha.length; x++) {
+            alpha[x] = pixmap.getPixel(x, y) & 0xff;
+        }
+        return alpha;
+    }
+    
+    private static int[] getColumn(Pixmap pixmap, int x) {
+        var alpha = new int[pixmap.getHeight()];
+        for (int y = 0; y < alpha.length; y++) {
+            alpha[y] = pixmap.getPixel(x, y) & 0xff;
+        }
+        return alpha;
+    }
+    
+    @Override
+    public void dispose() {
+        for (var page : pages) {
+            page.dispose();
+        }
+        pages.clear();
+        entries.clear();
+        atlas.getRegions().clear();
+        atlas.getTextures().clear();
+    }
+    
+    /**
+     * A decoded image that is ready to be packed into the atlas.
+     */
+    public static class LoadedRegion implements Disposable {
+        private String name;
+        private FileHandle file;
+        private long lastModified;
+        private long length;
+        private int width;
+        private int height;
+        private int[] splits;
+        private int[] pads;
+        private Pixmap cell;
+        
+        @Override
+        public void dispose() {
+            if (cell != null) {
+                cell.dispose();
+                cell = null;
+            }
+        }
+    }
+    
+    private static class Entry {
+        private String name;
+        private FileHandle file;
+        private long lastModified;
+        private long length;
+        private int width;
+        private int height;
+        private Page page;
+        private final Rectangle cell = new Rectangle();
+        private AtlasRegion region;
+        
+        private boolean isCurrent(FileHandle file) {
+            return page != null && file.equals(this.file) && file.lastModified() == lastModified && file.length() == length;
+        }
+    }
+    
+    /**
+     * A single texture page packed with shelves. Cells of removed regions are
+     * kept as free cells and are reused by regions of the same size or
+     * smaller.
+     */
+    private class Page implements Disposable {
+        private final Pixmap pixmap;
+        private final Texture texture;
+        private final Array<Entry> entries = new Array<>();
+        private final Array<Rectangle> shelves = new Array<>();
+        private final Array<Rectangle> freeCells = new Array<>();
+        private final Array<Rectangle> dirtyCells = new Array<>();
+        private final Array<Pixmap> dirtyPixmaps = new Array<>();
+        private boolean dirty;
+        
+        private Page(int width, int height) {
+            pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+            pixmap.setBlending(Pixmap.Blending.None);
+            texture = new Texture(pixmap);
+            texture.setFilter(filterMin, filterMag);
+            atlas.getTextures().add(texture);
+            dirty = true;
+        }
+        
+        /**
+         * Finds a place for the entry's cell. Sets the entry's page and cell if
+         * successful.
+         * @return false if the page is full.
+         */
+        private boolean pack(Entry entry, int width, int height) {
+            Rectangle best = null;
+            for (var freeCell : freeCells) {
+                if (freeCell.width >= width && freeCell.height >= height && (best == null || freeCell.area() < best.area())) {
+                    best = freeCell;
+                }
+            }
+            
+            if (best != null) {
+                freeCells.removeValue(best, true);
+                entry.cell.set(best);
+            } else {
+                //shelves are stored as x cursor, y, remaining width, height
+                Rectangle bestShelf = null;
+                for (var shelf : shelves) {
+                    if (shelf.width >= width && shelf.height >= height && (bestShelf == null || shelf.height < bestShelf.height)) {
+                        bestShelf = shelf;
+                    }
+                }
+                
+                if (bestShelf == null) {
+                    float top = 0;
+                    for (var shelf : shelves) {
+                        top = Math.max(top, shelf.y + shelf.height);
+                    }
+                    if (top + height > pixmap.getHeight() || width > pixmap.getWidth()) return false;
+                    bestShelf = new Rectangle(0, top, pixmap.getWidth(), height);
+                    shelves.add(bestShelf);
+                }
+                
+                entry.cell.set(bestShelf.x, bestShelf.y, width, bestShelf.height);
+                bestShelf.x += width;
+                bestShelf.width -= width;
+            }
+            
+            entry.page = this;
+            entries.add(entry);
+            return true;
+        }
+        
+        private void draw(Entry entry, Pixmap cell) {
+            int x = (int) entry.cell.x;
+            int y = (int) entry.cell.y;
+            int width = (int) entry.cell.width;
+            int height = (int) entry.cell.height;
+            
+            //clear pixels left over from a larger image that previously used the cell
+            if (width > cell.getWidth() || height > cell.getHeight()) {
+                pixmap.setColor(0, 0, 0, 0);
+                pixmap.fillRectangle(x, y, width, height);
+            }
+            pixmap.drawPixmap(cell, x, y);
+            if (!dirty) {
+                //keep a copy so only this cell is uploaded instead of the whole page
+                var copy = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+                copy.setBlending(Pixmap.Blending.None);
+                copy.drawPixmap(cell, 0, 0);
+                dirtyPixmaps.add(copy);
+                dirtyCells.add(new Rectangle(x, y, width, height));
+            }
+        }
+        
+        private void free(Entry entry) {
+            entries.removeValue(entry, true);
+            freeCells.add(new Rectangle(entry.cell));
+            entry.page = null;
+        }
+        
+        /**
+         * Packs all remaining regions of the page from scratch to recover the
+         * space of freed cells. Existing AtlasRegions are moved in place.
+         * Regions that no longer fit are moved to a new page.
+         */
+        private void repack() {
+            var live = new Array<>(entries);
+            live.sort((o1, o2) -> Float.compare(o2.cell.height, o1.cell.height));
+            
+            var copies = new Array<Pixmap>();
+            for (var entry : live) {
+                var copy = new Pixmap((int) entry.cell.width, (int) entry.cell.height, Pixmap.Format.RGBA8888);
+                copy.setBlending(Pixmap.Blending.None);
+                copy.drawPixmap(pixmap, 0, 0, (int) entry.cell.x, (int) entry.cell.y, copy.getWidth(), copy.getHeight());
+                copies.add(copy);
+            }
+            
+            entries.clear();
+            shelves.clear();
+            freeCells.clear();
+            clearDirtyCells();
+            pixmap.setColor(0, 0, 0, 0);
+            pixmap.fill();
+            dirty = true;
+            
+            for (int i = 0; i < live.size; i++) {
+                var entry = live.get(i);
+                var copy = copies.get(i);
+                if (pack(entry, copy.getWidth(), copy.getHeight())) {
+                    draw(entry, copy);
+                } else {
+                    insertNewPage(entry, copy);
+                }
+                copy.dispose();
+                
+                if (entry.region != null) {
+                    int x = (int) entry.cell.x + paddingX / 2;
+                    int y = (int) entry.cell.y + paddingY / 2;
+                    entry.region.setTexture(entry.page.texture);
+                    entry.region.setRegion(x, y, entry.width, entry.height);
+                }
+            }
+        }
+        
+        private void upload() {
+            if (dirty) {
+                texture.draw(pixmap, 0, 0);
+            } else {
+                for (int i = 0; i < dirtyCells.size; i++) {
+                    var cell = dirtyCells.get(i);
+                    texture.draw(dirtyPixmaps.get(i), (int) cell.x, (int) cell.y);
+                }
+            }
+            dirty = false;
+            clearDirtyCells();
+        }
+        
+        private void clearDirtyCells() {
+            for (var dirtyPixmap : dirtyPixmaps) {
+                dirtyPixmap.dispose();
+            }
+            dirtyPixmaps.clear();
+            dirtyCells.clear();
+        }
+        
+        @Override
+        public void dispose() {
+            clearDirtyCells();
+            pixmap.dispose();
+            texture.dispose();
+        }
+    }
+}
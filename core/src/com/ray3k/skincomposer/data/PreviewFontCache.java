@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.ray3k.skincomposer.data;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Reference counted cache of the BitmapFonts used by the preview. Fonts are
+ * reused until the .fnt file or one of its page images is modified. Fonts that
+ * are no longer referenced are kept for reuse and disposed in least recently
+ * used order once there are more than {@link #maxUnused} of them. FreeType
+ * fonts are not cached here because their BitmapFont is owned by
+ * {@link FreeTypeFontData}.
+ * @author Raymond Buckley
+ */
+public class PreviewFontCache implements Disposable {
+    private final int maxUnused;
+    private final ObjectMap<String, Entry> entries = new ObjectMap<>();
+    private final IdentityMap<BitmapFont, Entry> fontEntries = new IdentityMap<>();
+    private long useCount;
+    
+    private static class Entry {
+        private String key;
+        private BitmapFont font;
+        private Array<FileHandle> files;
+        private long[] lastModified;
+        private int references;
+        private long lastUsed;
+        
+        private boolean isCurrent() {
+            for (int i = 0; i < files.size; i++) {
+                if (files.get(i).lastModified() != lastModified[i]) return false;
+            }
+            return true;
+        }
+    }
+    
+    public PreviewFontCache(int maxUnused) {
+        this.maxUnused = maxUnused;
+    }
+    
+    /**
+     * Returns the font for the given font data, loading it only if it is not
+     * cached or its files were modified. Must be released with
+     * {@link #release(BitmapFont)} instead of being disposed.
+     * @param fontData
+     * @return
+     */
+    public BitmapFont obtain(FontData fontData) {
+        var key = fontData.file.file().getAbsolutePath();
+        var entry = entries.get(key);
+        if (entry != null && !entry.isCurrent()) {
+            entries.remove(key);
+            entry.key = null;
+            if (entry.references == 0) disposeEntry(entry);
+            entry = null;
+        }
+        
+        if (entry == null) {
+            entry = new Entry();
+            entry.key = key;
+            entry.font = new BitmapFont(fontData.file);
+            entry.files = new Array<>();
+            entry.files.add(fontData.file);
+            for (var imagePath : entry.font.getData().imagePaths) {
+                entry.files.add(Gdx.files.getFileHandle(imagePath, fontData.file.type()));
+            }
+            entry.lastModified = new long[entry.files.size];
+            for (int i = 0; i < entry.files.size; i++) {
+                entry.lastModified[i] = entry.files.get(i).lastModified();
+            }
+            entries.put(key, entry);
+            fontEntries.put(entry.font, entry);
+        }
+        
+        entry.references++;
+        entry.lastUsed = ++useCount;
+        evict();
+        return entry.font;
+    }
+    
+    /**
+     * Releases a font obtained from {@link #obtain(FontData)}. Outdated fonts
+     * are disposed when they are no longer referenced.
+     * @param font
+     */
+    public void release(BitmapFont font) {
+        var entry = fontEntries.get(font);
+        if (entry == null || entry.references == 0) return;
+        
+        entry.references--;
+        if (entry.references == 0 && entry.key == null) disposeEntry(entry);
+    }
+    
+    private void evict() {
+        int unused = 0;
+        for (var entry : entries.values()) {
+            if (entry.references == 0) unused++;
+        }
+        
+        while (unused > maxUnused) {
+            Entry oldest = null;
+            for (var entry : entries.values()) {
+                if (entry.references == 0 && (oldest == null || entry.lastUsed < oldest.lastUsed)) oldest = entry;
+            }
+            entries.remove(oldest.key);
+            disposeEntry(oldest);
+            unused--;
+        }
+    }
+    
+    private void disposeEntry(Entry entry) {
+        fontEntries.remove(entry.font);
+        entry.font.dispose();
+    }
+    
+    @Override
+    public void dispose() {
+        for (var entry : fontEntries.values()) {
+            entry.font.dispose();
+        }
+        fontEntries.clear();
+        entries.clear();
+    }
+}
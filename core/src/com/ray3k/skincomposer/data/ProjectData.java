@@ -23,6 +23,7 @@
  ******************************************************************************/
 package com.ray3k.skincomposer.data;
 
+import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.Files.FileType;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Preferences;
@@ -33,13 +34,33 @@ import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.*;
 import com.ray3k.skincomposer.Main;
 import com.ray3k.skincomposer.data.DrawableData.DrawableType;
+import com.ray3k.skincomposer.data.ExportTask.Step;
 import com.ray3k.skincomposer.data.JsonData.ExportFormat;
 import com.ray3k.skincomposer.dialog.scenecomposer.DialogSceneComposerModel;
 import com.ray3k.skincomposer.dialog.scenecomposer.DialogSceneComposerModel.SimRootGroup;
+import com.ray3k.skincomposer.utils.JsonIndentWriter;
+import com.ray3k.skincomposer.utils.JsonSectionReader;
 import com.ray3k.skincomposer.utils.Utils;
+import com.ray3k.skincomposer.utils.WorkerPool;
 
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import static com.ray3k.skincomposer.Main.dialogFactory;
 import static com.ray3k.skincomposer.Main.projectData;
 import static com.ray3k.skincomposer.Main.rootTable;
 
@@ -54,9 +75,48 @@ public class ProjectData implements Json.Serializable {
     private final AtlasData atlasData;
     private String loadedVersion;
     private Json json;
+    private static final ExecutorService saveExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "project-save");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    public static enum SaveFormat {
+        STANDARD("Standard"), COMPACT("Compact"), COMPRESSED("Compressed");
+        
+        private final String name;
+        
+        SaveFormat(String name) {
+            this.name = name;
+        }
+        
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
     
     public ProjectData() {
-        json = new Json(JsonWriter.OutputType.minimal);
+        json = createJson();
+        
+        jsonData = new JsonData();
+        atlasData = new AtlasData();
+        
+        changesSaved = false;
+        newProject = true;
+        loadedVersion = Main.VERSION;
+        preferences = new ObjectMap<>();
+        generalPref = Gdx.app.getPreferences("com.ray3k.skincomposer");
+        clear();
+    }
+    
+    /**
+     * Creates a Json configured to read and write project files. Json instances
+     * are not thread safe, so each thread that serializes needs its own.
+     * @return
+     */
+    static Json createJson() {
+        var json = new Json(JsonWriter.OutputType.minimal);
         json.setSerializer(FileHandle.class, new Json.Serializer<>() {
             @Override
             public void write(Json json, FileHandle object, Class knownType) {
@@ -102,16 +162,7 @@ public class ProjectData implements Json.Serializable {
         
         json.setIgnoreUnknownFields(true);
         json.setUsePrototypes(false);
-        
-        jsonData = new JsonData();
-        atlasData = new AtlasData();
-        
-        changesSaved = false;
-        newProject = true;
-        loadedVersion = Main.VERSION;
-        preferences = new ObjectMap<>();
-        generalPref = Gdx.app.getPreferences("com.ray3k.skincomposer");
-        clear();
+        return json;
     }
     
     public int getId() {
@@ -186,7 +237,7 @@ public class ProjectData implements Json.Serializable {
             }
             generalPref.flush();
     
-            rootTable.updateRecentFiles();
+            if (rootTable != null) rootTable.updateRecentFiles();
         }
     }
     
@@ -198,6 +249,26 @@ public class ProjectData implements Json.Serializable {
         return (int) preferences.get("maxUndos", 30);
     }
     
+    public void setMaxUndoMemory(int megabytes) {
+        preferences.put("maxUndoMemory", megabytes);
+    }
+    
+    public int getMaxUndoMemory() {
+        return (int) preferences.get("maxUndoMemory", 64);
+    }
+    
+    public void setSaveFormat(SaveFormat saveFormat) {
+        preferences.put("saveFormat", saveFormat.name());
+    }
+    
+    public SaveFormat getSaveFormat() {
+        try {
+            return SaveFormat.valueOf((String) preferences.get("saveFormat", SaveFormat.STANDARD.name()));
+        } catch (IllegalArgumentException e) {
+            return SaveFormat.STANDARD;
+        }
+    }
+    
     public void setAllowingWelcome(boolean allow) {
         generalPref.putBoolean("allowingWelcome", allow);
         generalPref.flush();
@@ -235,6 +306,24 @@ public class ProjectData implements Json.Serializable {
         return generalPref.getBoolean("exportWarnings", true);
     }
     
+    public void setShowingPerformanceOverlay(boolean show) {
+        generalPref.putBoolean("performanceOverlay", show);
+        generalPref.flush();
+    }
+    
+    public boolean isShowingPerformanceOverlay() {
+        return generalPref.getBoolean("performanceOverlay", false);
+    }
+    
+    public void setRenderingOnDemand(boolean onDemand) {
+        generalPref.putBoolean("renderOnDemand", onDemand);
+        generalPref.flush();
+    }
+    
+    public boolean isRenderingOnDemand() {
+        return generalPref.getBoolean("renderOnDemand", true);
+    }
+    
     public int getPreviewCustomWidth() {
         return generalPref.getInteger("previewCustomWidth", 100);
     }
@@ -325,6 +414,8 @@ public class ProjectData implements Json.Serializable {
     public void setChangesSaved(boolean changesSaved) {
         this.changesSaved = changesSaved;
         newProject = false;
+        //the instance read while loading a file is not the open project
+        if (!changesSaved && Main.autosave != null && projectData == this) Main.autosave.changed();
         String title = "Skin Composer";
         if (saveFile != null && saveFile.exists()) {
             title += " - " + (isFullPathInRecentFiles() ? saveFile.path() : saveFile.nameWithoutExtension());
@@ -465,8 +556,102 @@ public class ProjectData implements Json.Serializable {
         
         saveFile = file;
         putRecentFile(file.path());
-        file.writeString(json.prettyPrint(this), false, "UTF8");
+        
+        //the project is copied here so it may be edited while the copy is serialized and written in the background
+        var format = getSaveFormat();
+        var snapshot = snapshot();
         setChangesSaved(true);
+        
+        saveExecutor.execute(() -> {
+            try {
+                var buffer = serialize(createJson(), snapshot, format == SaveFormat.STANDARD);
+                writeProjectFile(file, buffer, format);
+                
+                //the autosave is kept until the file is on disk. Changes made during the write are still unsaved.
+                Gdx.app.postRunnable(() -> {
+                    if (changesSaved && Main.autosave != null) Main.autosave.clear();
+                });
+            } catch (Exception e) {
+                Gdx.app.error(ProjectData.class.getName(), "Error while saving project file: " + file.path(), e);
+                Gdx.app.postRunnable(() -> {
+                    setChangesSaved(false);
+                    dialogFactory.showDialogError("Save Error...", "Error while saving project file.\n\nOpen log?");
+                });
+            }
+        });
+    }
+    
+    /**
+     * Serializes a project or a snapshot of one in the format of a project
+     * file.
+     * @param json A Json from {@link #createJson()} that is only used by the
+     * calling thread.
+     * @param project
+     * @param indent
+     * @return
+     */
+    static ByteArrayOutputStream serialize(Json json, Json.Serializable project, boolean indent) {
+        var buffer = new ByteArrayOutputStream(64 * 1024);
+        Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+        if (indent) writer = new JsonIndentWriter(writer);
+        json.toJson(project, project.getClass(), writer);
+        return buffer;
+    }
+    
+    /**
+     * Copies the parts of the project that are written to a project file so
+     * they can be serialized on another thread. Must be called on the render
+     * thread.
+     * @return
+     */
+    ProjectSnapshot snapshot() {
+        return new ProjectSnapshot(atlasData, jsonData, preferences, saveFile);
+    }
+    
+    /**
+     * Writes the serialized project to a temporary file next to the target and
+     * replaces the target once the data is on disk, so an interrupted save
+     * never leaves a partial project file behind.
+     * @param file
+     * @param buffer
+     * @param format
+     * @throws IOException
+     */
+    static void writeProjectFile(FileHandle file, ByteArrayOutputStream buffer, SaveFormat format) throws IOException {
+        var target = file.file().toPath().toAbsolutePath();
+        var temp = target.resolveSibling(target.getFileName() + ".tmp");
+        
+        try (var channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            var output = Channels.newOutputStream(channel);
+            if (format == SaveFormat.COMPRESSED) {
+                var gzip = new GZIPOutputStream(output, 64 * 1024);
+                buffer.writeTo(gzip);
+                gzip.finish();
+            } else {
+                var buffered = new BufferedOutputStream(output, 64 * 1024);
+                buffer.writeTo(buffered);
+                buffered.flush();
+            }
+            channel.force(true);
+        }
+        
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+    
+    /**
+     * Blocks until every project file that is being saved in the background has
+     * been written.
+     */
+    public static void finishSaving() {
+        try {
+            saveExecutor.submit(() -> {}).get();
+        } catch (InterruptedException | ExecutionException e) {
+            Gdx.app.error(ProjectData.class.getName(), "Interrupted while waiting for project file to save", e);
+        }
     }
     
     public void save() {
@@ -474,29 +659,193 @@ public class ProjectData implements Json.Serializable {
     }
     
     public void load(FileHandle file) {
-        ProjectData instance = json.fromJson(ProjectData.class, file.reader("UTF8"));
+        load(file, file);
+        setChangesSaved(true);
+    }
+    
+    /**
+     * Loads a project that was autosaved after a crash. The project keeps the
+     * location of the original project file and is marked as unsaved.
+     * @param snapshot
+     * @param originalFile The file the project was last saved to or null if it
+     * was never saved.
+     */
+    public void recover(FileHandle snapshot, FileHandle originalFile) {
+        load(snapshot, originalFile);
+        newProject = false;
+        setChangesSaved(false);
+    }
+    
+    private void load(FileHandle file, FileHandle targetFile) {
+        finishSaving();
+        if (Main.autosave != null) Main.autosave.clear();
+        
+        var instance = new ProjectData();
+        try (var reader = openProjectReader(file)) {
+            instance.read(json, new JsonSectionReader(reader));
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error reading project file: " + file.path(), e);
+        }
         newProject = instance.newProject;
         jsonData.set(instance.jsonData);
-        for (FreeTypeFontData font : jsonData.getFreeTypeFonts()) {
-            font.createBitmapFont();
+        
+        //previews need a GL context and are skipped by the command line exporter
+        var headless = Gdx.app.getType() == ApplicationType.HeadlessDesktop;
+        if (!headless) {
+            for (FreeTypeFontData font : jsonData.getFreeTypeFonts()) {
+                font.createBitmapFont();
+            }
         }
         atlasData.set(instance.atlasData);
         preferences.clear();
         preferences.putAll(instance.preferences);
         
-        saveFile = file;
-        putRecentFile(file.path());
-        setLastOpenSavePath(file.parent().path() + "/");
+        saveFile = targetFile;
+        if (!headless && targetFile != null) {
+            putRecentFile(targetFile.path());
+            setLastOpenSavePath(targetFile.parent().path() + "/");
+        }
         atlasData.atlasCurrent = false;
         loadedVersion = instance.loadedVersion;
         
         correctFilePaths();
         
-        if (verifyDrawablePaths().size == 0 && verifyFontPaths().size == 0) {
+        if (!headless && verifyDrawablePaths().size == 0 && verifyFontPaths().size == 0) {
             atlasData.produceAtlas();
             rootTable.populate();
         }
-        setChangesSaved(true);
+    }
+    
+    /**
+     * Exports the skin JSON, texture atlas, fonts, and TVG files concurrently
+     * on background threads. The project must not be modified until the task
+     * is finished. Must be called on the render thread.
+     * @param fileHandle The exported skin JSON file.
+     * @return the task. Its warnings are complete once it is finished.
+     */
+    public ExportTask exportAsync(FileHandle fileHandle) {
+        var task = new ExportTask();
+        var export = prepareExport(fileHandle, task);
+        WorkerPool.runInBackground("export", () -> {
+            try {
+                export.call();
+                task.finish(false);
+            } catch (Exception e) {
+                Gdx.app.error(getClass().getName(), "Error while exporting skin", e);
+                task.finish(true);
+            }
+        });
+        return task;
+    }
+    
+    /**
+     * Exports like {@link #exportAsync(FileHandle)}, but blocks until every
+     * step is complete.
+     * @param fileHandle The exported skin JSON file.
+     * @return The warnings of the export.
+     * @throws Exception the first exception thrown by a step.
+     */
+    public Array<String> export(FileHandle fileHandle) throws Exception {
+        var task = new ExportTask();
+        prepareExport(fileHandle, task).call();
+        return task.getWarnings();
+    }
+    
+    /**
+     * Gathers the files of every export step. The returned callable runs the
+     * JSON and each file copy on the {@link WorkerPool} while it packs the
+     * atlas on the calling thread, then waits for all of them. None of the
+     * steps use the preview atlas, so the render thread may keep producing it
+     * during the export.
+     * @param fileHandle
+     * @param task
+     * @return 
+     */
+    private Callable<Void> prepareExport(FileHandle fileHandle, ExportTask task) {
+        var manifest = ExportManifest.load(fileHandle);
+        var targetFolder = fileHandle.parent();
+        
+        Array<FileHandle> fonts = new Array<>();
+        if (isExportingFonts()) {
+            for (FontData font : jsonData.getFonts()) {
+                if (!font.file.parent().equals(targetFolder) && !fonts.contains(font.file, false)) {
+                    fonts.add(font.file);
+                }
+            }
+
+            for (FreeTypeFontData font : jsonData.getFreeTypeFonts()) {
+                if (font.useCustomSerializer && !font.file.parent().equals(targetFolder) && !fonts.contains(font.file, false)) {
+                    fonts.add(font.file);
+                }
+            }
+        }
+        
+        Array<FileHandle> tvgs = new Array<>();
+        if (isExportingTVG()) {
+            for (DrawableData drawableData : atlasData.getDrawables()) {
+                if (drawableData.type == DrawableType.TVG && !drawableData.file.parent().equals(targetFolder) && !tvgs.contains(drawableData.file, false)) {
+                    tvgs.add(drawableData.file);
+                }
+            }
+        }
+        
+        var exportingAtlas = isExportingAtlas();
+        task.addStep(Step.JSON, 1);
+        if (exportingAtlas) task.addStep(Step.ATLAS, 1);
+        if (fonts.size > 0) task.addStep(Step.FONTS, fonts.size);
+        if (tvgs.size > 0) task.addStep(Step.TVG, tvgs.size);
+        
+        return () -> {
+            Array<Callable<Void>> steps = new Array<>();
+            steps.add(() -> {
+                task.addWarnings(Step.JSON, jsonData.writeFile(fileHandle, manifest));
+                task.advance(Step.JSON);
+                return null;
+            });
+            for (var font : fonts) {
+                steps.add(() -> {
+                    manifest.copyIfChanged(font, targetFolder);
+                    task.advance(Step.FONTS);
+                    return null;
+                });
+            }
+            for (var tvg : tvgs) {
+                steps.add(() -> {
+                    manifest.copyIfChanged(tvg, targetFolder);
+                    task.advance(Step.TVG);
+                    return null;
+                });
+            }
+            
+            Array<Future<Void>> futures = new Array<>();
+            for (var step : steps) {
+                futures.add(WorkerPool.getExecutor().submit(step));
+            }
+            
+            //TexturePacker waits on the pool, so the atlas is packed on this thread
+            Exception exception = null;
+            if (exportingAtlas) {
+                try {
+                    task.addWarnings(Step.ATLAS, atlasData.writeAtlas(fileHandle.sibling(fileHandle.nameWithoutExtension() + ".atlas"), Main.appFolder.child("texturepacker/atlas-export-settings.json"), manifest, task));
+                    task.advance(Step.ATLAS);
+                } catch (Exception e) {
+                    exception = e;
+                }
+            }
+            
+            for (var future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (exception == null) exception = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+            
+            manifest.save();
+            task.collectWarnings();
+            if (exception != null) throw exception;
+            return null;
+        };
     }
     
     /**
@@ -605,6 +954,7 @@ public class ProjectData implements Json.Serializable {
     }
     
     private void correctFilePaths() {
+        if (saveFile == null) return;
         FileHandle targetFolder = saveFile.sibling(saveFile.nameWithoutExtension() + "_data/");
         
         boolean resourcesRelative = projectData.areResourcesRelative();
@@ -643,6 +993,23 @@ public class ProjectData implements Json.Serializable {
         load(saveFile);
     }
     
+    /**
+     * Opens a project file for reading. Compressed files are detected by their
+     * header regardless of the current save format.
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    private static Reader openProjectReader(FileHandle file) throws IOException {
+        var input = new BufferedInputStream(file.read(), 64 * 1024);
+        input.mark(2);
+        int header = input.read() | input.read() << 8;
+        input.reset();
+        
+        InputStream stream = header == GZIPInputStream.GZIP_MAGIC ? new GZIPInputStream(input, 64 * 1024) : input;
+        return new InputStreamReader(stream, StandardCharsets.UTF_8);
+    }
+    
     public void clear() {
         preferences.clear();
 
@@ -659,6 +1026,9 @@ public class ProjectData implements Json.Serializable {
         if (rootTable != null) rootTable.populate();
         setChangesSaved(false);
         newProject = true;
+        
+        //a blank project has nothing to recover
+        if (Main.autosave != null) Main.autosave.clear();
     }
 
     @Override
@@ -677,17 +1047,52 @@ public class ProjectData implements Json.Serializable {
 
     @Override
     public void read(Json json, JsonValue jsonValue) {
-        preferences = json.readValue("preferences", ObjectMap.class, jsonValue);
-        jsonData.set(json.readValue("jsonData", JsonData.class, jsonValue));
-        atlasData.set(json.readValue("atlasData", AtlasData.class, jsonValue));
+        loadedVersion = "none";
+        DialogSceneComposerModel.rootActor = null;
+        for (var section = jsonValue.child; section != null; section = section.next) {
+            readSection(json, section);
+        }
         jsonData.translateFontDrawables(atlasData);
-        
-        if (!jsonValue.get("saveFile").isNull()) {
-            saveFile = new FileHandle(jsonValue.getString("saveFile"));
+    }
+    
+    /**
+     * Reads a project file one top level section at a time, so only the text
+     * and tree of the current section are held in memory.
+     * @param json
+     * @param sections
+     * @throws IOException
+     */
+    private void read(Json json, JsonSectionReader sections) throws IOException {
+        loadedVersion = "none";
+        DialogSceneComposerModel.rootActor = null;
+        JsonValue section;
+        while ((section = sections.next()) != null) {
+            readSection(json, section);
         }
+        jsonData.translateFontDrawables(atlasData);
+    }
     
-        loadedVersion = jsonValue.getString("version", "none");
-        DialogSceneComposerModel.rootActor = json.readValue("sceneComposer", SimRootGroup.class, jsonValue);
+    private void readSection(Json json, JsonValue section) {
+        switch (section.name) {
+            case "atlasData":
+                atlasData.set(json.readValue(AtlasData.class, section));
+                break;
+            case "jsonData":
+                jsonData.set(json.readValue(JsonData.class, section));
+                break;
+            case "preferences":
+                preferences = json.readValue(ObjectMap.class, section);
+                break;
+            case "saveFile":
+                if (!section.isNull()) saveFile = new FileHandle(section.asString());
+                break;
+            case "version":
+                loadedVersion = section.asString();
+                break;
+            case "sceneComposer":
+                DialogSceneComposerModel.rootActor = json.readValue(SimRootGroup.class, section);
+                break;
+        }
     }
 
     public JsonData getJsonData() {
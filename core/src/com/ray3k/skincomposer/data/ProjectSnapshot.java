@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.data;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.*;
+import com.badlogic.gdx.utils.reflect.ArrayReflection;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Constructor;
+import com.badlogic.gdx.utils.reflect.Field;
+import com.badlogic.gdx.utils.reflect.ReflectionException;
+import com.ray3k.skincomposer.Main;
+import com.ray3k.skincomposer.dialog.scenecomposer.DialogSceneComposerModel;
+import com.ray3k.skincomposer.dialog.scenecomposer.DialogSceneComposerModel.SimRootGroup;
+
+/**
+ * A detached copy of the parts of a project that are written to a project file.
+ * The copy is made on the render thread and can then be serialized on another
+ * thread while the project keeps changing. Objects are copied field by field
+ * with the same rules Json uses, so static and transient fields are skipped.
+ * Snapshots are written in the project file format and read back as
+ * {@link ProjectData}.
+ * @author Raymond Buckley
+ */
+class ProjectSnapshot implements Json.Serializable {
+    private static final ObjectMap<Class, Array<Field>> fieldsByClass = new ObjectMap<>();
+    private final IdentityMap<Object, Object> copies = new IdentityMap<>();
+    private final AtlasData atlasData;
+    private final JsonData jsonData;
+    private final ObjectMap<String, Object> preferences;
+    private final String saveFile;
+    private final SimRootGroup sceneComposer;
+    
+    ProjectSnapshot(AtlasData atlasData, JsonData jsonData, ObjectMap<String, Object> preferences, FileHandle saveFile) {
+        this.atlasData = new AtlasData(atlasData, this);
+        this.jsonData = new JsonData(jsonData, this);
+        this.preferences = copy(preferences);
+        this.saveFile = saveFile == null ? null : saveFile.path();
+        sceneComposer = copy(DialogSceneComposerModel.rootActor);
+        copies.clear();
+    }
+    
+    /**
+     * Deep copies an object. Objects referenced more than once are copied once
+     * so shared references and cycles are kept.
+     * @param object
+     * @param <T>
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    <T> T copy(T object) {
+        if (object == null || isShared(object)) return object;
+        
+        var copy = copies.get(object);
+        if (copy != null) return (T) copy;
+        
+        var type = object.getClass();
+        try {
+            if (type.isArray()) {
+                var length = ArrayReflection.getLength(object);
+                copy = ArrayReflection.newInstance(type.getComponentType(), length);
+                copies.put(object, copy);
+                if (type.getComponentType().isPrimitive()) {
+                    System.arraycopy(object, 0, copy, 0, length);
+                } else {
+                    for (int i = 0; i < length; i++) {
+                        ArrayReflection.set(copy, i, copy(ArrayReflection.get(object, i)));
+                    }
+                }
+                return (T) copy;
+            }
+            
+            copy = newInstance(type);
+            copies.put(object, copy);
+            
+            if (object instanceof Array) {
+                var array = (Array<Object>) object;
+                var arrayCopy = (Array<Object>) copy;
+                arrayCopy.clear();
+                arrayCopy.ordered = array.ordered;
+                arrayCopy.ensureCapacity(array.size);
+                for (int i = 0; i < array.size; i++) {
+                    arrayCopy.add(copy(array.get(i)));
+                }
+            } else if (object instanceof ObjectMap) {
+                //keys are hashed, so the entries are put again instead of copying the tables
+                var map = (ObjectMap<Object, Object>) object;
+                var mapCopy = (ObjectMap<Object, Object>) copy;
+                mapCopy.clear();
+                var keys = map instanceof OrderedMap ? ((OrderedMap<Object, Object>) map).orderedKeys() : map.keys().toArray();
+                for (int i = 0; i < keys.size; i++) {
+                    var key = keys.get(i);
+                    mapCopy.put(copy(key), copy(map.get(key)));
+                }
+            } else {
+                var fields = getFields(type);
+                for (int i = 0; i < fields.size; i++) {
+                    var field = fields.get(i);
+                    field.set(copy, copy(field.get(object)));
+                }
+                
+                //the value is written depending on the rest of the project, which may change before the copy is written
+                if (copy instanceof CustomProperty) ((CustomProperty) copy).checkValue();
+            }
+        } catch (ReflectionException e) {
+            throw new GdxRuntimeException("Error while copying " + type.getName() + " for the autosave snapshot", e);
+        }
+        
+        return (T) copy;
+    }
+    
+    /**
+     * Immutable values and runtime resources such as fonts are not written to
+     * the project file, so they are shared with the project instead of copied.
+     * @param object
+     * @return
+     */
+    private static boolean isShared(Object object) {
+        return object instanceof String || object instanceof Number || object instanceof Boolean
+                || object instanceof Character || object instanceof Enum || object instanceof Class
+                || object instanceof FileHandle || object instanceof Disposable;
+    }
+    
+    private static Object newInstance(Class type) throws ReflectionException {
+        Constructor constructor = ClassReflection.getDeclaredConstructor(type);
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+    
+    private static Array<Field> getFields(Class type) {
+        var fields = fieldsByClass.get(type);
+        if (fields == null) {
+            fields = new Array<>();
+            for (var current = type; current != Object.class; current = current.getSuperclass()) {
+                for (var field : ClassReflection.getDeclaredFields(current)) {
+                    if (field.isStatic() || field.isTransient() || field.isSynthetic()) continue;
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+            fieldsByClass.put(type, fields);
+        }
+        return fields;
+    }
+    
+    @Override
+    public void write(Json json) {
+        //same layout as ProjectData.write
+        json.writeValue("atlasData", atlasData);
+        json.writeValue("jsonData", jsonData);
+        json.writeValue("preferences", preferences);
+        json.writeValue("saveFile", saveFile);
+        json.writeValue("version", Main.VERSION);
+        json.writeValue("sceneComposer", sceneComposer);
+    }
+    
+    @Override
+    public void read(Json json, JsonValue jsonValue) {
+        throw new UnsupportedOperationException("Snapshots are read as ProjectData");
+    }
+}
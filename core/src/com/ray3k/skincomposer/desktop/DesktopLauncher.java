@@ -37,23 +37,29 @@ import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.tools.bmfont.BitmapFontWriter;
 import com.badlogic.gdx.tools.texturepacker.TexturePacker;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.Json;
 import com.ray3k.skincomposer.*;
+import com.ray3k.skincomposer.data.AtlasTask;
 import com.ray3k.skincomposer.utils.Utils;
+import com.ray3k.skincomposer.utils.WorkerPool;
 import org.lwjgl.PointerBuffer;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.util.nfd.NFDPathSet;
 import org.lwjgl.util.nfd.NativeFileDialog;
 
+import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.filechooser.FileFilter;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
+import java.awt.image.BufferedImage;
 import java.io.*;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import static com.ray3k.skincomposer.Main.desktopWorker;
 import static org.lwjgl.system.MemoryStack.stackPush;
@@ -86,23 +92,62 @@ public class DesktopLauncher implements DesktopWorker, Lwjgl3WindowListener {
         
         var p = new TexturePacker(settings);
         for (var handle : handles) {
-            if (handle.exists()) {
-                p.addImage(handle.file());
-            } else {
-                if (localFile != null) {
-                    var localHandle = localFile.sibling(localFile.nameWithoutExtension() + "_data/" + handle.name());
-                    if (localHandle.exists()) {
-                        p.addImage(localHandle.file());
-                    } else {
-                        Gdx.app.error(getClass().getName(), "File does not exist error while creating texture atlas: " + handle.path());
-                    }
-                } else {
-                    Gdx.app.error(getClass().getName(), "File does not exist error while creating texture atlas: " + handle.path());
-                }
+            var file = resolveTexturePackFile(handle, localFile);
+            if (file != null) p.addImage(file.file());
+        }
+        p.pack(targetFile.parent().file(), targetFile.nameWithoutExtension());
+    }
+    
+    @Override
+    public void texturePack(Array<FileHandle> handles, FileHandle localFile, FileHandle targetFile, FileHandle settingsFile, AtlasTask task) {
+        var json = new Json();
+        var settings = json.fromJson(TexturePacker.Settings.class, settingsFile);
+        
+        //decode the images in parallel, TexturePacker only processes and packs them
+        var callables = new Array<Callable<BufferedImage>>();
+        var names = new Array<String>();
+        for (var handle : handles) {
+            var file = resolveTexturePackFile(handle, localFile);
+            if (file != null) {
+                names.add(file.nameWithoutExtension());
+                callables.add(() -> {
+                    if (task.isCancelled()) return null;
+                    var image = ImageIO.read(file.file());
+                    if (image == null) throw new IOException("Unable to read image: " + file.path());
+                    task.advance(AtlasTask.Stage.DECODE);
+                    return image;
+                });
             }
         }
+        
+        task.setTotal(AtlasTask.Stage.DECODE, callables.size);
+        Array<BufferedImage> images;
+        try {
+            images = WorkerPool.invokeAll(callables);
+        } catch (Exception e) {
+            throw new GdxRuntimeException("Error decoding images for texture atlas", e);
+        }
+        if (task.isCancelled()) return;
+        
+        var p = new TexturePacker(settings);
+        p.setProgressListener(task.createProgressListener());
+        for (int i = 0; i < images.size; i++) {
+            p.addImage(images.get(i), names.get(i));
+        }
         p.pack(targetFile.parent().file(), targetFile.nameWithoutExtension());
     }
+    
+    private FileHandle resolveTexturePackFile(FileHandle handle, FileHandle localFile) {
+        if (handle.exists()) return handle;
+        
+        if (localFile != null) {
+            var localHandle = localFile.sibling(localFile.nameWithoutExtension() + "_data/" + handle.name());
+            if (localHandle.exists()) return localHandle;
+        }
+        
+        Gdx.app.error(getClass().getName(), "File does not exist error while creating texture atlas: " + handle.path());
+        return null;
+    }
 
     @Override
     public void packFontImages(Array<FileHandle> files, FileHandle saveFile) {
@@ -454,6 +499,11 @@ public class DesktopLauncher implements DesktopWorker, Lwjgl3WindowListener {
     }
     
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--export")) {
+            HeadlessExporter.main(args);
+            return;
+        }
+        
         if (restartStartOnFirstThread()) {
             return;
         }
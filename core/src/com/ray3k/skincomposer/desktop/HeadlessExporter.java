@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.desktop;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.ray3k.skincomposer.Main;
+import com.ray3k.skincomposer.TextFileApplicationLogger;
+import com.ray3k.skincomposer.data.DrawableCache;
+import com.ray3k.skincomposer.data.DrawableData;
+import com.ray3k.skincomposer.data.FontData;
+import com.ray3k.skincomposer.data.ProjectData;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.stream.Collectors;
+
+import static com.ray3k.skincomposer.Main.*;
+
+/**
+ * Exports Skin Composer projects from the command line without opening a
+ * window. Projects are exported one after another because the project data is
+ * shared through static fields in {@link Main}.
+ * <p>
+ * Usage: {@code --export [--output <directory>] <project or glob>...}
+ * <p>
+ * Exit codes are {@link #EXIT_SUCCESS}, {@link #EXIT_WARNINGS}, and
+ * {@link #EXIT_ERRORS}.
+ * @author Raymond Buckley
+ */
+public class HeadlessExporter extends ApplicationAdapter {
+    public static final int EXIT_SUCCESS = 0;
+    public static final int EXIT_WARNINGS = 1;
+    public static final int EXIT_ERRORS = 2;
+    private final Array<String> patterns = new Array<>();
+    private String outputPath;
+    private int exitCode = EXIT_SUCCESS;
+    
+    public HeadlessExporter(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            var arg = args[i];
+            if (arg.equals("--export")) continue;
+            if (arg.equals("--output") || arg.equals("-o")) {
+                if (i + 1 < args.length) outputPath = args[++i];
+            } else {
+                patterns.add(arg);
+            }
+        }
+    }
+    
+    public static void main(String[] args) {
+        var exporter = new HeadlessExporter(args);
+        if (exporter.patterns.size == 0) {
+            System.out.println("Usage: --export [--output <directory>] <project.scmp or glob>...");
+            System.exit(EXIT_ERRORS);
+        }
+        
+        var config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(exporter, config);
+    }
+    
+    @Override
+    public void create() {
+        appFolder = Gdx.files.external(".skincomposer/");
+        Gdx.app.setApplicationLogger(new TextFileApplicationLogger());
+        desktopWorker = new DesktopLauncher();
+        Main.copyDefaultFiles();
+        drawableCache = new DrawableCache(appFolder.child("cache/"));
+        
+        projectData = new ProjectData();
+        atlasData = projectData.getAtlasData();
+        jsonData = projectData.getJsonData();
+        
+        var files = findProjects();
+        if (files.size == 0) {
+            error("No project files found.");
+        }
+        
+        for (var file : files) {
+            exportProject(file);
+        }
+        
+        System.exit(exitCode);
+    }
+    
+    /**
+     * Expands the command line arguments to project files. Arguments containing
+     * wildcards are matched against the files of their parent directory.
+     * @return
+     */
+    private Array<FileHandle> findProjects() {
+        var files = new Array<FileHandle>();
+        for (var pattern : patterns) {
+            if (pattern.contains("*") || pattern.contains("?") || pattern.contains("[") || pattern.contains("{")) {
+                var path = Paths.get(pattern).toAbsolutePath();
+                var directory = path.getParent();
+                while (directory != null && directory.toString().matches(".*[*?\\[{].*")) {
+                    directory = directory.getParent();
+                }
+                if (directory == null || !Files.isDirectory(directory)) {
+                    warning("No files match " + pattern);
+                    continue;
+                }
+                
+                var matcher = FileSystems.getDefault().getPathMatcher("glob:" + path.toString().replace(File.separatorChar, '/'));
+                try (var stream = Files.walk(directory)) {
+                    var matches = stream.filter(p -> Files.isRegularFile(p) && matcher.matches(Paths.get(p.toString().replace(File.separatorChar, '/'))))
+                            .sorted().collect(Collectors.toList());
+                    if (matches.size() == 0) warning("No files match " + pattern);
+                    for (var match : matches) {
+                        files.add(Gdx.files.absolute(match.toString()));
+                    }
+                } catch (IOException e) {
+                    Gdx.app.error(getClass().getName(), "Error while searching for " + pattern, e);
+                    error("Unable to search for " + pattern + ": " + e.getMessage());
+                }
+            } else {
+                var file = Gdx.files.absolute(Paths.get(pattern).toAbsolutePath().toString());
+                if (file.exists()) {
+                    files.add(file);
+                } else {
+                    error("File does not exist: " + pattern);
+                }
+            }
+        }
+        return files;
+    }
+    
+    private void exportProject(FileHandle file) {
+        System.out.println("Exporting " + file.path());
+        try {
+            projectData.load(file);
+        } catch (Exception e) {
+            Gdx.app.error(getClass().getName(), "Error while loading project: " + file.path(), e);
+            error("Unable to load project " + file.path() + ": " + e.getMessage());
+            return;
+        }
+        
+        var missing = false;
+        for (DrawableData drawable : projectData.verifyDrawablePaths()) {
+            error("Missing drawable file: " + drawable.file.path());
+            missing = true;
+        }
+        for (FontData font : projectData.verifyFontPaths()) {
+            error("Missing font file: " + font.file.path());
+            missing = true;
+        }
+        if (missing) return;
+        
+        var outputFolder = outputPath == null ? file.parent() : Gdx.files.absolute(Paths.get(outputPath).toAbsolutePath().toString());
+        outputFolder.mkdirs();
+        var target = outputFolder.child(file.nameWithoutExtension() + ".json");
+        
+        try {
+            var warnings = projectData.export(target);
+            
+            for (var warning : warnings) {
+                warning(warning);
+            }
+            System.out.println("Exported " + target.path());
+        } catch (Exception e) {
+            Gdx.app.error(getClass().getName(), "Error while exporting project: " + file.path(), e);
+            error("Unable to export project " + file.path() + ": " + e.getMessage());
+        }
+    }
+    
+    private void warning(String message) {
+        System.out.println("WARNING: " + stripMarkup(message));
+        exitCode = Math.max(exitCode, EXIT_WARNINGS);
+    }
+    
+    private void error(String message) {
+        System.err.println("ERROR: " + stripMarkup(message));
+        exitCode = EXIT_ERRORS;
+    }
+    
+    /**
+     * Removes color markup meant for the warning dialog.
+     * @param message
+     * @return
+     */
+    private static String stripMarkup(String message) {
+        return message.replaceAll("\\[(#[0-9a-fA-F]+|[A-Z_]*)\\]", "");
+    }
+}
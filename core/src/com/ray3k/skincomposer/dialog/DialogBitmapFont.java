@@ -27,6 +27,7 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.*;
@@ -43,6 +44,7 @@ import com.ray3k.skincomposer.LeadingTruncateLabel;
 import com.ray3k.skincomposer.Main;
 import com.ray3k.skincomposer.SpineDrawable;
 import com.ray3k.skincomposer.data.ColorData;
+import com.ray3k.skincomposer.data.FontPreviewGenerator;
 import com.ray3k.skincomposer.data.FreeTypeFontData;
 import com.ray3k.skincomposer.data.StyleProperty;
 import com.ray3k.skincomposer.utils.Utils;
@@ -80,9 +82,12 @@ public class DialogBitmapFont extends Dialog {
     private Image arrowImage;
     private static Vector2 temp = new Vector2();
     private Actor previousArrowTarget;
+    private FontPreviewGenerator fontPreviewGenerator;
+    private BitmapFont previewFont;
 
     public DialogBitmapFont() {
         super("Create new Bitmap Font", skin, "bg");
+        fontPreviewGenerator = new FontPreviewGenerator();
         arrowDrawable = new SpineDrawable(skeletonRenderer, arrowSkeletonData, arrowAnimationStateData);
         arrowDrawable.getAnimationState().setAnimation(0, "animation", true);
         arrowDrawable.setCrop(-10, -10, 20, 20);
@@ -186,6 +191,11 @@ public class DialogBitmapFont extends Dialog {
     @Override
     public boolean remove() {
         desktopWorker.removeFilesDroppedListener(filesDroppedListener);
+        fontPreviewGenerator.dispose();
+        if (previewFont != null) {
+            previewFont.dispose();
+            previewFont = null;
+        }
         return super.remove();
     }
 
@@ -1090,46 +1100,41 @@ public class DialogBitmapFont extends Dialog {
         }
 
         if (notValid) {
-            TextField textField = findActor("previewField");
-            Cell cell = ((Table) textField.getParent()).getCell(textField);
-            previewStyle.font = skin.get("free-type-preview", TextFieldStyle.class).font;
-            textField = new TextField(previewText, previewStyle);
-            textField.setName("previewField");
-            textField.setAlignment(Align.center);
-            cell.setActor(textField);
-
-            textField.addListener(ibeamListener);
-            textField.addListener(new ChangeListener() {
-                @Override
-                public void changed(ChangeListener.ChangeEvent event, Actor actor) {
-                    previewText = ((TextField) actor).getText();
+            fontPreviewGenerator.cancel();
+            setPreviewFont(skin.get("free-type-preview", TextFieldStyle.class).font);
+        } else {
+            //generated in the background after the settings stop changing
+            fontPreviewGenerator.request(data, font -> {
+                if (font != null) {
+                    setPreviewFont(font);
+                    if (previewFont != null) previewFont.dispose();
+                    previewFont = font;
                 }
             });
-        } else {
-            data.createBitmapFont();
-            if (data.bitmapFont != null) {
-                TextField textField = findActor("previewField");
-                Cell cell = ((Table) textField.getParent()).getCell(textField);
-                previewStyle.font = data.bitmapFont;
-                textField = new TextField(previewText, previewStyle);
-                textField.setName("previewField");
-                textField.setAlignment(Align.center);
-                cell.setActor(textField);
-
-                textField.addListener(ibeamListener);
-                textField.addListener(new ChangeListener() {
-                    @Override
-                    public void changed(ChangeListener.ChangeEvent event, Actor actor) {
-                        previewText = ((TextField) actor).getText();
-                    }
-                });
-            }
         }
 
         TextButton textButton = findActor("okButton");
         textButton.setDisabled(notValid);
     }
 
+    private void setPreviewFont(BitmapFont font) {
+        TextField textField = findActor("previewField");
+        Cell cell = ((Table) textField.getParent()).getCell(textField);
+        previewStyle.font = font;
+        textField = new TextField(previewText, previewStyle);
+        textField.setName("previewField");
+        textField.setAlignment(Align.center);
+        cell.setActor(textField);
+        
+        textField.addListener(ibeamListener);
+        textField.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeListener.ChangeEvent event, Actor actor) {
+                previewText = ((TextField) actor).getText();
+            }
+        });
+    }
+
     public static interface DialogBitmapFontListener {
         public void fontAdded(FileHandle file);
     }
@@ -51,6 +51,8 @@ import com.ray3k.skincomposer.Undoable;
 import com.ray3k.skincomposer.UndoableManager;
 import com.ray3k.skincomposer.UndoableManager.CustomDrawableUndoable;
 import com.ray3k.skincomposer.UndoableManager.DrawableUndoable;
+import com.ray3k.skincomposer.VirtualGrid;
+import com.ray3k.skincomposer.VirtualGrid.TileAdapter;
 import com.ray3k.skincomposer.data.*;
 import com.ray3k.skincomposer.data.DrawableData.DrawableType;
 import com.ray3k.skincomposer.dialog.DialogTVG.TvgData;
@@ -81,6 +83,10 @@ public class DialogDrawables extends Dialog {
     private CustomProperty customProperty;
     private Array<DrawableData> drawables;
     private Table contentTable;
+    private VirtualGrid<DrawableData> drawableGrid;
+    private DrawableData selectedDrawable;
+    private int tileZoom = -1;
+    private final DrawableSearch drawableSearch = new DrawableSearch();
     private FilesDroppedListener filesDroppedListener;
     private DialogDrawablesListener listener;
     private Main main;
@@ -281,10 +287,26 @@ public class DialogDrawables extends Dialog {
         
         getContentTable().row();
         contentTable = new Table();
+        drawableGrid = new VirtualGrid<>(new TileAdapter<>() {
+            @Override
+            public Actor newTile() {
+                return new DrawableTile(tileZoom);
+            }
+    
+            @Override
+            public void bindTile(Actor tile, DrawableData drawable) {
+                ((DrawableTile) tile).bind(drawable);
+            }
+        });
+        drawableGrid.setPad(5);
         scrollPane = new ScrollPane(contentTable, getSkin());
+        scrollPane.setScrollingDisabled(true, false);
         scrollPane.setFadeScrollBars(false);
         scrollPane.setFlickScroll(false);
         getContentTable().add(scrollPane).grow();
+        //snapshot the file modified times once each time the dialog is populated
+        gatherDrawables();
+        drawableSearch.index(drawables, true);
         sortBySelectedMode();
         scrollPane.addListener(new InputListener() {
             @Override
@@ -318,20 +340,55 @@ public class DialogDrawables extends Dialog {
     }
     
     private void reloadAtlas() {
-        dialogFactory.showDialogLoading(() -> Gdx.app.postRunnable(() -> {
-            try {
-                FileHandle defaultsFile = Main.appFolder.child("texturepacker/atlas-internal-settings.json");
-                projectData.getAtlasData().writeAtlas(defaultsFile);
-                projectData.getAtlasData().atlasCurrent = true;
-                atlasData.produceAtlas();
-                sortBySelectedMode();
-            } catch (Exception e) {
-                dialogFactory.showDialogError("Error", "Unable to write texture atlas to temporary storage!", null);
-                Gdx.app.error(getClass().getName(), "Unable to write texture atlas to temporary storage!", e);
+        atlasData.atlasCurrent = false;
+        var task = atlasData.produceAtlasAsync();
+        dialogFactory.showDialogLoading(task);
+        task.addFinishedListener(() -> {
+            if (task.isFailed()) {
+                Gdx.app.error(getClass().getName(), "Unable to write texture atlas to temporary storage!");
                 dialogFactory.showDialogError("Atlas Error...",
                         "Unable to write texture atlas to temporary storage.\n\nOpen log?");
+            } else if (!task.isCancelled()) {
+                sortBySelectedMode();
             }
-        }));
+        });
+    }
+    
+    /**
+     * Produces the atlas in the background while the progress is shown. If
+     * there is a failure, the drawable list is rolled back to the provided
+     * backup.
+     * @param backup
+     */
+    private void produceAtlasWithProgress(Array<DrawableData> backup) {
+        var task = atlasData.produceAtlasAsync();
+        dialogFactory.showDialogLoading(task);
+        task.addFinishedListener(() -> {
+            //a newer request replaced this one and handles the result
+            if (task.isCancelled() && !task.isFailed()) return;
+            
+            if (task.isFailed()) {
+                showDrawableError();
+                Gdx.app.log(getClass().getName(), "Attempting to reload drawables backup...");
+                atlasData.getDrawables().clear();
+                atlasData.getDrawables().addAll(backup);
+                gatherDrawables();
+                if (atlasData.produceAtlas()) {
+                    Gdx.app.log(getClass().getName(), "Successfully rolled back changes to drawables");
+                } else {
+                    Gdx.app.error(getClass().getName(), "Critical failure, could not roll back changes to drawables");
+                }
+            } else {
+                if (projectData.areResourcesRelative()) {
+                    projectData.makeResourcesRelative();
+                }
+                
+                projectData.setChangesSaved(false);
+                rootTable.refreshPreview();
+            }
+            
+            sortBySelectedMode();
+        });
     }
     
     public class AddClickListener extends PopTableClickListener {
@@ -436,20 +493,32 @@ public class DialogDrawables extends Dialog {
     }
     
     private void refreshDrawableDisplay() {
-        contentTable.clear();
-        
         if (drawables.size == 0) {
+            contentTable.clear();
             Label label = new Label("No drawables have been added!", getSkin());
             if (atlasData.getDrawables().size > 0) {
                 label.setText("No drawables match filter!");
             }
             contentTable.add(label);
+            scrollPane.setActor(contentTable);
         } else {
-            if (MathUtils.isZero(zoomSlider.getValue())) {
-                refreshDrawableDisplayDetail();
-            } else {
-                refreshDrawableDisplayNormal();
+            selectedDrawable = null;
+            if (property != null) {
+                selectedDrawable = atlasData.getDrawable((String) property.value);
+            } else if (customProperty != null) {
+                selectedDrawable = atlasData.getDrawable((String) customProperty.getValue());
             }
+            
+            //tiles are rebuilt only when the zoom level changes their layout
+            var zoom = MathUtils.floor(zoomSlider.getValue());
+            if (zoom != tileZoom) {
+                tileZoom = zoom;
+                drawableGrid.clearTiles();
+                drawableGrid.setFillRow(zoom == 0);
+                drawableGrid.setSpace(zoom == 0 ? 3 : 5);
+            }
+            drawableGrid.setItems(drawables);
+            scrollPane.setActor(drawableGrid);
         }
         if (showTipTVG) {
             dialogFactory.showTipTVG();
@@ -457,184 +526,134 @@ public class DialogDrawables extends Dialog {
         }
     }
     
-    private void refreshDrawableDisplayDetail() {
-        contentTable.pad(5);
-        contentTable.defaults().space(3);
-        
-        DrawableData selectedDrawable = null;
-        if (property != null) {
-            selectedDrawable = atlasData.getDrawable((String) property.value);
-        } else if (customProperty != null) {
-            selectedDrawable = atlasData.getDrawable((String) customProperty.getValue());
-        }
-        
-        for (var drawable: drawables) {
-            Button drawableButton;
-    
-            if ((property != null || customProperty != null) && drawable.type != DrawableType.FONT) {
-                drawableButton = new Button(getSkin(), selectedDrawable == drawable ? "color-base-selected" : "color-base");
-                drawableButton.addListener(new ChangeListener() {
-                    @Override
-                    public void changed(ChangeListener.ChangeEvent event, Actor actor) {
+    /**
+     * A recyclable button displaying a single drawable in the drawable grid. Zoom level 0 displays a detailed list row.
+     */
+    private class DrawableTile extends Button {
+        private DrawableData drawable;
+        private final Container<Image> bg;
+        private final Image preview;
+        private final Image typeImage;
+        private final Label typeLabel;
+        private final Label nameLabel;
+        private final Button moreButton;
+        private final TextTooltip toolTip;
+        private MoreClickListener moreClickListener;
+        
+        public DrawableTile(int zoom) {
+            super(DialogDrawables.this.getSkin(), "color-base-static");
+            
+            addListener(new ChangeListener() {
+                @Override
+                public void changed(ChangeListener.ChangeEvent event, Actor actor) {
+                    if (isSelectable(drawable)) {
                         result(drawable);
                         hide();
                     }
-                });
-                drawableButton.addListener(handListener);
-            } else {
-                drawableButton = new Button(getSkin(), "color-base-static");
-            }
-            contentTable.add(drawableButton).fillX();
-            contentTable.row();
-            
-            Table table = new Table();
-            drawableButton.add(table).growX();
+                }
+            });
             
-            table.defaults().space(10);
             //preview
-            Container bg = new Container();
+            bg = new Container<>();
             bg.setClip(true);
             bg.setBackground(getSkin().getDrawable("white"));
-            bg.setColor(drawable.bgColor);
             
-            Image image = new Image(atlasData.getDrawablePairs().get(drawable));
-            if (MathUtils.isEqual(zoomSlider.getValue(), 1)) {
-                image.setScaling(Scaling.fit);
+            preview = new Image();
+            if (zoom == 1) {
+                preview.setScaling(Scaling.fit);
                 bg.fill(false);
             } else {
-                image.setScaling(Scaling.stretch);
+                preview.setScaling(Scaling.stretch);
                 bg.fill();
             }
-            bg.setActor(image);
-            table.add(bg).size(sizes[MathUtils.floor(zoomSlider.getValue())]);
+            bg.setActor(preview);
             
-            //name
-            var label = new Label(drawable.name, getSkin());
-            label.setAlignment(Align.left);
-            label.setEllipsis("...");
-            label.setEllipsis(true);
-            table.add(label);
-    
-            image = new Image(getSkin(), drawable.type.iconName);
-            table.add(image).right().expandX().spaceLeft(50).spaceRight(5);
+            nameLabel = new Label("", getSkin());
+            nameLabel.setEllipsis("...");
+            nameLabel.setEllipsis(true);
             
-            label = new Label(drawable.type.formattedName, getSkin());
-            table.add(label).spaceLeft(5).width(100);
+            typeImage = new Image();
+            typeLabel = new Label("", getSkin());
             
-            if (showingOptions && drawable.type != DrawableType.FONT) {
-                //more button
-                var button = new Button(getSkin(),  "more");
-                table.add(button);
-                button.addListener(handListener);
-                button.addListener(new MoreClickListener(drawable));
-                //prevent click from activating parent button.
-                button.addListener(new ChangeListener() {
-                    @Override
-                    public void changed(ChangeEvent event, Actor actor) {
-                        event.setBubbles(false);
-                    }
-                });
+            //more button
+            moreButton = new Button(getSkin(),  "more");
+            moreButton.addListener(handListener);
+            //prevent click from activating parent button.
+            moreButton.addListener(new ChangeListener() {
+                @Override
+                public void changed(ChangeEvent event, Actor actor) {
+                    event.setBubbles(false);
+                }
+            });
+            
+            if (zoom == 0) {
+                Table table = new Table();
+                add(table).growX();
+                
+                table.defaults().space(10);
+                table.add(bg).size(sizes[0]);
+                
+                nameLabel.setAlignment(Align.left);
+                table.add(nameLabel).minWidth(0);
+                
+                table.add(typeImage).right().expandX().spaceLeft(50).spaceRight(5);
+                table.add(typeLabel).spaceLeft(5).width(100);
+                table.add(moreButton).size(22, 22);
             } else {
-                table.add().size(22, 22);
+                Table table = new Table();
+                add(table).width(sizes[zoom]).height(sizes[zoom]);
+                
+                var subTable = new Table();
+                table.add(subTable).growX();
+                
+                subTable.add(typeImage).spaceRight(5);
+                subTable.add(typeLabel);
+                subTable.add(moreButton).right().expandX();
+                
+                table.row();
+                table.add(bg).grow();
+                
+                //name
+                table.row();
+                nameLabel.setAlignment(Align.center);
+                table.add(nameLabel).colspan(6).growX().width(sizes[zoom]);
             }
             
             //Tooltip
-            var toolTip = Main.fixTooltip(new TextTooltip(drawable.name, tooltipManager, getSkin()));
-            label.addListener(toolTip);
+            toolTip = Main.fixTooltip(new TextTooltip("", tooltipManager, getSkin()));
+            nameLabel.addListener(toolTip);
         }
-    }
-    
-    private void refreshDrawableDisplayNormal() {
-        var contentGroup = new HorizontalGroup();
-        contentGroup.center().wrap(true).space(5.0f).wrapSpace(5.0f).rowAlign(Align.left);
-        contentTable.add(contentGroup).grow();
-    
-        DrawableData selectedDrawable = null;
-        if (property != null) {
-            selectedDrawable = atlasData.getDrawable((String) property.value);
-        } else if (customProperty != null) {
-            selectedDrawable = atlasData.getDrawable((String) customProperty.getValue());
-        }
-        
-        for (var drawable : drawables) {
-            Button drawableButton;
-        
-            if ((property != null || customProperty != null) && drawable.type != DrawableType.FONT) {
-                drawableButton = new Button(getSkin(), selectedDrawable == drawable ? "color-base-selected" : "color-base");
-                drawableButton.addListener(new ChangeListener() {
-                    @Override
-                    public void changed(ChangeListener.ChangeEvent event, Actor actor) {
-                        result(drawable);
-                        hide();
-                    }
-                });
-                drawableButton.addListener(handListener);
-            } else {
-                drawableButton = new Button(getSkin(), "color-base-static");
-            }
-            contentGroup.addActor(drawableButton);
-        
-            Table table = new Table();
-            drawableButton.add(table).width(sizes[MathUtils.floor(zoomSlider.getValue())]).height(sizes[MathUtils.floor(zoomSlider.getValue())]);
         
-            var subTable = new Table();
-            table.add(subTable).growX();
-        
-            var image = new Image(getSkin(), drawable.type.iconName);
-            subTable.add(image).spaceRight(5);
+        public void bind(DrawableData drawable) {
+            this.drawable = drawable;
             
-            var label = new Label(drawable.type == null ? "error" : drawable.type.formattedName, getSkin());
-            subTable.add(label);
+            var selectable = isSelectable(drawable);
+            setStyle(getSkin().get(selectable ? selectedDrawable == drawable ? "color-base-selected" : "color-base" : "color-base-static", ButtonStyle.class));
+            removeListener(handListener);
+            if (selectable) addListener(handListener);
             
-            if (showingOptions && drawable.type != DrawableType.FONT) {
-                //more button
-                var button = new Button(getSkin(),  "more");
-                subTable.add(button).right().expandX();
-                button.addListener(handListener);
-                button.addListener(new MoreClickListener(drawable));
-                //prevent click from activating parent button.
-                button.addListener(new ChangeListener() {
-                    @Override
-                    public void changed(ChangeEvent event, Actor actor) {
-                        event.setBubbles(false);
-                    }
-                });
-            } else {
-                subTable.add().expandX();
-            }
-        
-            //preview
-            table.row();
-            Container bg = new Container();
-            bg.setClip(true);
-            bg.setBackground(getSkin().getDrawable("white"));
             bg.setColor(drawable.bgColor);
-        
-            image = new Image(atlasData.getDrawablePairs().get(drawable));
-            if (MathUtils.isEqual(zoomSlider.getValue(), 1)) {
-                image.setScaling(Scaling.fit);
-                bg.fill(false);
-            } else {
-                image.setScaling(Scaling.stretch);
-                bg.fill();
+            preview.setDrawable(atlasData.getDrawablePairs().get(drawable));
+            nameLabel.setText(drawable.name);
+            toolTip.getActor().setText(drawable.name);
+            typeImage.setDrawable(drawable.type == null ? null : getSkin().getDrawable(drawable.type.iconName));
+            typeLabel.setText(drawable.type == null ? "error" : drawable.type.formattedName);
+            
+            if (moreClickListener != null) moreButton.removeListener(moreClickListener);
+            moreClickListener = null;
+            var showOptions = showingOptions && drawable.type != DrawableType.FONT;
+            moreButton.setVisible(showOptions);
+            if (showOptions) {
+                moreClickListener = new MoreClickListener(drawable);
+                moreButton.addListener(moreClickListener);
             }
-            bg.setActor(image);
-            table.add(bg).grow();
-        
-            //name
-            table.row();
-            label = new Label(drawable.name, getSkin());
-            label.setEllipsis("...");
-            label.setEllipsis(true);
-            label.setAlignment(Align.center);
-            table.add(label).colspan(6).growX().width(sizes[MathUtils.floor(zoomSlider.getValue())]);
-        
-            //Tooltip
-            Tooltip toolTip = Main.fixTooltip(new TextTooltip(drawable.name, tooltipManager, getSkin()));
-            label.addListener(toolTip);
         }
     }
     
+    private boolean isSelectable(DrawableData drawable) {
+        return (property != null || customProperty != null) && drawable.type != DrawableType.FONT;
+    }
+    
     private class MoreClickListener extends PopTableClickListener {
         public MoreClickListener(DrawableData drawable) {
             super(getSkin(), "more");
@@ -1309,6 +1328,7 @@ public class DialogDrawables extends Dialog {
     private void applyTintedDrawableSettings(DrawableData drawable, String name) {
         String oldName = drawable.name;
         drawable.name = name;
+        NameIndex.nameChanged();
 
         undoableManager.clearUndoables();
         updateStyleValuesForRename(oldName, name);
@@ -1521,6 +1541,7 @@ public class DialogDrawables extends Dialog {
     
     private void tiledDrawableSettings(DrawableData drawable, ColorData colorData, float minWidth, float minHeight, String name) {
         drawable.name = name;
+        NameIndex.nameChanged();
         drawable.tintName = colorData.getName();
         drawable.minWidth = minWidth;
         drawable.minHeight = minHeight;
@@ -1671,87 +1692,9 @@ public class DialogDrawables extends Dialog {
     }
     
     private void applyFilterOptions() {
-        var iter = drawables.iterator();
-        while (iter.hasNext()) {
-            var drawable = iter.next();
-            
-            if (!filterOptions.regularExpression) {
-                if (!filterOptions.name.equals("") && !drawable.name.contains(filterOptions.name.toLowerCase(Locale.ROOT))) {
-                    iter.remove();
-                    continue;
-                }
-            } else {
-                if (!drawable.name.matches(filterOptions.name)) {
-                    iter.remove();
-                }
-            }
-            
-            if (!filterOptions.custom) {
-                if (drawable.type == DrawableType.CUSTOM) {
-                    iter.remove();
-                    continue;
-                }
-            }
-            
-            if (!filterOptions.ninePatch) {
-                if (drawable.type == DrawableType.NINE_PATCH) {
-                    iter.remove();
-                    continue;
-                }
-            }
-            
-            if (!filterOptions.texture) {
-                if (drawable.type == DrawableType.TEXTURE) {
-                    iter.remove();
-                    continue;
-                }
-            }
-            
-            if (!filterOptions.tiled) {
-                if (drawable.type == DrawableType.TILED) {
-                    iter.remove();
-                    continue;
-                }
-            }
-            
-            if (!filterOptions.tinted) {
-                if (drawable.type == DrawableType.TINTED || drawable.type == DrawableType.TINTED_FROM_COLOR_DATA || drawable.type == DrawableType.NINE_PATCH && (drawable.tint != null || drawable.tintName != null)) {
-                    iter.remove();
-                    continue;
-                }
-            }
-            
-            if (!filterOptions.tenPatch) {
-                if (drawable.type == DrawableType.TENPATCH) {
-                    iter.remove();
-                    continue;
-                }
-            }
-            
-            if (!filterOptions.tvg) {
-                if (drawable.type == DrawableType.TVG) {
-                    iter.remove();
-                    continue;
-                }
-            }
-    
-            if (!filterOptions.pixel) {
-                if (drawable.type == DrawableType.PIXEL) {
-                    iter.remove();
-                    continue;
-                }
-            }
-            
-            if (!filterOptions.hidden) {
-                if (drawable.hidden) {
-                    iter.remove();
-                }
-            }
-            
-            if (!filterOptions.font && drawable.type == DrawableType.FONT) {
-                iter.remove();
-            }
-        }
+        drawableSearch.index(drawables, false);
+        drawables.clear();
+        drawableSearch.filter(filterOptions, drawables);
     }
     
     /**
@@ -1774,15 +1717,7 @@ public class DialogDrawables extends Dialog {
      * Sorts by modified date with oldest first.
      */
     private void sortDrawablesOldest() {
-        Sort.instance().sort(drawables, (DrawableData o1, DrawableData o2) -> {
-            if (o1.file.lastModified() < o2.file.lastModified()) {
-                return -1;
-            } else if (o1.file.lastModified() > o2.file.lastModified()) {
-                return 1;
-            } else {
-                return 0;
-            }
-        });
+        drawableSearch.sortByModified(drawables, false);
         refreshDrawableDisplay();
     }
     
@@ -1790,17 +1725,7 @@ public class DialogDrawables extends Dialog {
      * Sorts by modified date with newest first.
      */
     private void sortDrawablesNewest() {
-        Sort.instance().sort(drawables, (DrawableData o1, DrawableData o2) -> {
-            var lastModified1 = (o1.file == null ? 0 : o1.file.lastModified());
-            var lastModified2 = (o2.file == null ? 0 : o2.file.lastModified());
-            if (lastModified1 < lastModified2) {
-                return 1;
-            } else if (lastModified1 > lastModified2) {
-                return -1;
-            } else {
-                return 0;
-            }
-        });
+        drawableSearch.sortByModified(drawables, true);
         refreshDrawableDisplay();
     }
     
@@ -1816,7 +1741,7 @@ public class DialogDrawables extends Dialog {
         String name = DrawableData.proper(handle.name());
         for (int i = 0; i < atlasData.getDrawables().size; i++) {
             DrawableData data = atlasData.getDrawables().get(i);
-            if (data.file != null && name.equals(DrawableData.proper(data.file.name()))) {
+            if (data.file != null && name.equals(data.getProperFileName())) {
                 count++;
             }
         }
@@ -1869,7 +1794,7 @@ public class DialogDrawables extends Dialog {
         String name = DrawableData.proper(handle.name());
         for (int i = 0; i < atlasData.getDrawables().size; i++) {
             DrawableData data = atlasData.getDrawables().get(i);
-            if (name.equals(DrawableData.proper(data.file.name()))) {
+            if (name.equals(data.getProperFileName())) {
                 atlasData.getDrawables().removeValue(data, true);
                 
                 if (deleteStyleValues) {
@@ -1981,30 +1906,7 @@ public class DialogDrawables extends Dialog {
             drawable.type = DrawableType.CUSTOM;
             atlasData.getDrawables().add(drawable);
             gatherDrawables();
-            dialogFactory.showDialogLoading(() -> {
-                Gdx.app.postRunnable(() -> {
-                    if (!atlasData.produceAtlas()) {
-                        showDrawableError();
-                        Gdx.app.log(getClass().getName(), "Attempting to reload drawables backup...");
-                        atlasData.getDrawables().clear();
-                        atlasData.getDrawables().addAll(backup);
-                        gatherDrawables();
-                        if (atlasData.produceAtlas()) {
-                            Gdx.app.log(getClass().getName(), "Successfully rolled back changes to drawables");
-                        } else {
-                            Gdx.app.error(getClass().getName(), "Critical failure, could not roll back changes to drawables");
-                        }
-                    } else {
-                        if (projectData.areResourcesRelative()) {
-                            projectData.makeResourcesRelative();
-                        }
-                        
-                        projectData.setChangesSaved(false);
-                    }
-                    
-                    sortBySelectedMode();
-                });
-            });
+            produceAtlasWithProgress(backup);
         });
     }
     
@@ -2020,6 +1922,7 @@ public class DialogDrawables extends Dialog {
             undoableManager.clearUndoables();
             updateStyleValuesForRename(drawable.name, name);
             drawable.name = name;
+            NameIndex.nameChanged();
             drawable.tintName = colorData.getName();
             drawable.minWidth = minWidth;
             drawable.minHeight = minHeight;
@@ -2058,30 +1961,7 @@ public class DialogDrawables extends Dialog {
             
             atlasData.getDrawables().add(drawable);
             gatherDrawables();
-            dialogFactory.showDialogLoading(() -> {
-                Gdx.app.postRunnable(() -> {
-                    if (!atlasData.produceAtlas()) {
-                        showDrawableError();
-                        Gdx.app.log(getClass().getName(), "Attempting to reload drawables backup...");
-                        atlasData.getDrawables().clear();
-                        atlasData.getDrawables().addAll(backup);
-                        gatherDrawables();
-                        if (atlasData.produceAtlas()) {
-                            Gdx.app.log(getClass().getName(), "Successfully rolled back changes to drawables");
-                        } else {
-                            Gdx.app.error(getClass().getName(), "Critical failure, could not roll back changes to drawables");
-                        }
-                    } else {
-                        if (projectData.areResourcesRelative()) {
-                            projectData.makeResourcesRelative();
-                        }
-                        
-                        projectData.setChangesSaved(false);
-                    }
-                    
-                    sortBySelectedMode();
-                });
-            });
+            produceAtlasWithProgress(backup);
         });
     }
 
@@ -2145,8 +2025,6 @@ public class DialogDrawables extends Dialog {
                     }
                 }
                 finalizeDrawables(backup, filesToProcess);
-                atlasData.produceAtlas();
-                rootTable.refreshPreview();
             }
         };
         
@@ -2203,33 +2081,11 @@ public class DialogDrawables extends Dialog {
                 atlasData.getDrawables().add(data);
             }
         }
+        drawableCache.save();
         
         gatherDrawables();
 
-        dialogFactory.showDialogLoading(() -> {
-            Gdx.app.postRunnable(() -> {
-                if (!atlasData.produceAtlas()) {
-                    showDrawableError();
-                    Gdx.app.log(getClass().getName(), "Attempting to reload drawables backup...");
-                    atlasData.getDrawables().clear();
-                    atlasData.getDrawables().addAll(backup);
-                    gatherDrawables();
-                    if (atlasData.produceAtlas()) {
-                        Gdx.app.log(getClass().getName(), "Successfully rolled back changes to drawables");
-                    } else {
-                        Gdx.app.error(getClass().getName(), "Critical failure, could not roll back changes to drawables");
-                    }
-                } else {
-                    if (projectData.areResourcesRelative()) {
-                        projectData.makeResourcesRelative();
-                    }
-
-                    projectData.setChangesSaved(false);
-                }
-
-                sortBySelectedMode();
-            });
-        });
+        produceAtlasWithProgress(backup);
     }
     
     /**
@@ -2347,16 +2203,7 @@ public class DialogDrawables extends Dialog {
      * @return
      */
     private boolean checkIfDrawableNameExists(String name) {
-        boolean returnValue = false;
-        
-        for (DrawableData drawable : atlasData.getDrawables()) {
-            if (drawable.name.equals(name)) {
-                returnValue = true;
-                break;
-            }
-        }
-        
-        return returnValue;
+        return atlasData.checkIfDrawableNameExists(name);
     }
     
     /**
@@ -2365,16 +2212,7 @@ public class DialogDrawables extends Dialog {
      * @return
      */
     private boolean checkIfFontDrawableNameExists(String name) {
-        boolean returnValue = false;
-        
-        for (DrawableData drawable : atlasData.getFontDrawables()) {
-            if (drawable.name.equals(name)) {
-                returnValue = true;
-                break;
-            }
-        }
-        
-        return returnValue;
+        return atlasData.checkIfFontDrawableNameExists(name);
     }
     
     @Override
@@ -2385,8 +2223,7 @@ public class DialogDrawables extends Dialog {
 
         try {
             if (!atlasData.atlasCurrent) {
-                FileHandle defaultsFile = Main.appFolder.child("texturepacker/atlas-internal-settings.json");
-                atlasData.writeAtlas(defaultsFile);
+                atlasData.writePreviewAtlas();
                 atlasData.atlasCurrent = true;
             }
         } catch (Exception e) {
@@ -31,13 +31,10 @@ import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
-import com.badlogic.gdx.utils.Array;
 import com.ray3k.skincomposer.Main;
 import com.ray3k.skincomposer.data.DrawableData;
-import com.ray3k.skincomposer.data.DrawableData.DrawableType;
-import com.ray3k.skincomposer.data.FontData;
-import com.ray3k.skincomposer.data.FreeTypeFontData;
 import com.ray3k.skincomposer.data.JsonData.ExportFormat;
+import com.ray3k.skincomposer.utils.Instrumentation;
 import com.ray3k.skincomposer.utils.Utils;
 
 import java.nio.file.Paths;
@@ -222,49 +219,19 @@ public class DialogExport extends Dialog {
     }
     
     private void writeFile(FileHandle fileHandle) {
-        dialogFactory.showDialogLoading(() -> {
-            Gdx.app.postRunnable(() -> {
-                Array<String> warnings = new Array<>();
-
-                Array<String> newWarnings = projectData.getJsonData().writeFile(fileHandle);
-                warnings.addAll(newWarnings);
-
-                if (projectData.isExportingAtlas()) {
-                    try {
-                        newWarnings = projectData.getAtlasData().writeAtlas(fileHandle.parent().child(fileHandle.nameWithoutExtension() + ".atlas"), Main.appFolder.child("texturepacker/atlas-export-settings.json"));
-                        warnings.addAll(newWarnings);
-                    } catch (Exception ex) {
-                        Gdx.app.error(getClass().getName(), "Error while writing texture atlas", ex);
-                        dialogFactory.showDialogError("Atlas Error...", "Error while writing texture atlas.\n\nOpen log?");
-                    }
-                }
-
-                if (projectData.isExportingFonts()) {
-                    for (FontData font : projectData.getJsonData().getFonts()) {
-                        if (!font.file.parent().equals(fileHandle.parent())) {
-                            font.file.copyTo(fileHandle.parent());
-                        }
-                    }
-
-                    for (FreeTypeFontData font : projectData.getJsonData().getFreeTypeFonts()) {
-                        if (font.useCustomSerializer && !font.file.parent().equals(fileHandle.parent())) {
-                            font.file.copyTo(fileHandle.parent());
-                        }
-                    }
-                }
-    
-                if (projectData.isExportingTVG()) {
-                    for (DrawableData drawableData : projectData.getAtlasData().getDrawables()) {
-                        if (drawableData.type == DrawableType.TVG && !drawableData.file.parent().equals(fileHandle.parent())) {
-                            drawableData.file.copyTo(fileHandle.parent());
-                        }
-                    }
-                }
-
-                if (warnings.size > 0 && projectData.isShowingExportWarnings()) {
-                    dialogFactory.showWarningDialog(warnings);
-                }
-            });
+        //the export steps run in the background while their progress is shown
+        var start = Instrumentation.start();
+        var task = projectData.exportAsync(fileHandle);
+        dialogFactory.showDialogLoading(task);
+        task.addFinishedListener(() -> {
+            Instrumentation.record("DialogExport.writeFile", start);
+            if (task.isFailed()) {
+                dialogFactory.showDialogError("Export Error...", "Error while exporting skin.\n\nOpen log?");
+            }
+            
+            if (task.getWarnings().size > 0 && projectData.isShowingExportWarnings()) {
+                dialogFactory.showWarningDialog(task.getWarnings());
+            }
         });
     }
 
@@ -825,6 +825,11 @@ public class DialogFactory {
         dialog.show(stage);
     }
     
+    public void showDialogLoading(AtlasTask task) {
+        DialogLoading dialog = new DialogLoading("", task, main);
+        dialog.show(stage);
+    }
+    
     public void showSceneComposerDialog() {
         DialogSceneComposer dialog = new DialogSceneComposer();
         dialog.show(stage);
@@ -915,14 +915,8 @@ public class DialogFonts extends Dialog {
 
     private boolean produceAtlas() {
         try {
-            if (atlas != null) {
-                atlas.dispose();
-                atlas = null;
-            }
-            
             if (!atlasData.atlasCurrent) {
-                FileHandle defaultsFile = Main.appFolder.child("texturepacker/atlas-internal-settings.json");
-                atlasData.writeAtlas(defaultsFile);
+                atlasData.writePreviewAtlas();
                 atlasData.atlasCurrent = true;
             }
             atlas = atlasData.getAtlas();
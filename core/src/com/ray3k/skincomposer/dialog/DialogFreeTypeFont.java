@@ -129,9 +129,12 @@ public class DialogFreeTypeFont extends Dialog {
     private Image arrowImage;
     private static Vector2 temp = new Vector2();
     private Actor previousArrowTarget;
+    private FontPreviewGenerator fontPreviewGenerator;
+    private BitmapFont previewFont;
     
     public DialogFreeTypeFont(FreeTypeFontData freeTypeFontData) {
         super(freeTypeFontData == null ? "Create new FreeType Font" : "Edit FreeType Font", skin, "bg");
+        fontPreviewGenerator = new FontPreviewGenerator();
         arrowDrawable = new SpineDrawable(skeletonRenderer, arrowSkeletonData, arrowAnimationStateData);
         arrowDrawable.getAnimationState().setAnimation(0, "animation", true);
         arrowDrawable.setCrop(-10, -10, 20, 20);
@@ -219,6 +222,11 @@ public class DialogFreeTypeFont extends Dialog {
     @Override
     public boolean remove() {
         desktopWorker.removeFilesDroppedListener(filesDroppedListener);
+        fontPreviewGenerator.dispose();
+        if (previewFont != null) {
+            previewFont.dispose();
+            previewFont = null;
+        }
         
         return super.remove();
     }
@@ -310,6 +318,7 @@ public class DialogFreeTypeFont extends Dialog {
                 TextField textField = (TextField) actor;
                 
                 data.name = textField.getText();
+                NameIndex.nameChanged();
                 
                 updateDisabledFields();
             }
@@ -1254,41 +1263,17 @@ public class DialogFreeTypeFont extends Dialog {
         }
         
         if (notValid) {
-            TextField textField = findActor("previewField");
-            Cell cell = ((Table) textField.getParent()).getCell(textField);
-            previewStyle.font = skin.get("free-type-preview", TextFieldStyle.class).font;
-            textField = new TextField(previewText, previewStyle);
-            textField.setName("previewField");
-            textField.setAlignment(Align.center);
-            cell.setActor(textField);
-            
-            textField.addListener(ibeamListener);
-            textField.addListener(new ChangeListener() {
-                @Override
-                public void changed(ChangeListener.ChangeEvent event, Actor actor) {
-                    previewText = ((TextField) actor).getText();
+            fontPreviewGenerator.cancel();
+            setPreviewFont(skin.get("free-type-preview", TextFieldStyle.class).font);
+        } else {
+            //generated in the background after the settings stop changing
+            fontPreviewGenerator.request(data, font -> {
+                if (font != null) {
+                    setPreviewFont(font);
+                    if (previewFont != null) previewFont.dispose();
+                    previewFont = font;
                 }
             });
-        } else {
-            data.createBitmapFont();
-            if (data.bitmapFont != null) {
-                TextField textField = findActor("previewField");
-                Cell cell = ((Table) textField.getParent()).getCell(textField);
-                previewStyle.font = data.bitmapFont;
-                
-                textField = new TextField(previewText, previewStyle);
-                textField.setName("previewField");
-                textField.setAlignment(Align.center);
-                cell.setActor(textField);
-                
-                textField.addListener(ibeamListener);
-                textField.addListener(new ChangeListener() {
-                    @Override
-                    public void changed(ChangeListener.ChangeEvent event, Actor actor) {
-                        previewText = ((TextField) actor).getText();
-                    }
-                });
-            }
         }
         
         if (!StyleData.validate(((TextField)findActor("fontName")).getText())) {
@@ -1319,6 +1304,24 @@ public class DialogFreeTypeFont extends Dialog {
         TextButton textButton = findActor("okButton");
         textButton.setDisabled(notValid);
     }
+
+    private void setPreviewFont(BitmapFont font) {
+        TextField textField = findActor("previewField");
+        Cell cell = ((Table) textField.getParent()).getCell(textField);
+        previewStyle.font = font;
+        textField = new TextField(previewText, previewStyle);
+        textField.setName("previewField");
+        textField.setAlignment(Align.center);
+        cell.setActor(textField);
+        
+        textField.addListener(ibeamListener);
+        textField.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeListener.ChangeEvent event, Actor actor) {
+                previewText = ((TextField) actor).getText();
+            }
+        });
+    }
     
     private void showMoreInfoDialog() {
         Dialog dialog = new Dialog("Custom serializer for FreeType Fonts", skin, "bg");
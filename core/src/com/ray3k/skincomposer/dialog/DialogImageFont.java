@@ -47,10 +47,13 @@ import com.ray3k.skincomposer.Main;
 import com.ray3k.skincomposer.SpineDrawable;
 import com.ray3k.stripe.Spinner;
 import com.ray3k.skincomposer.data.StyleProperty;
+import com.ray3k.skincomposer.utils.KerningSolver;
 import com.ray3k.skincomposer.utils.Utils;
+import com.ray3k.skincomposer.utils.WorkerPool;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.concurrent.Callable;
 import java.util.stream.Stream;
 
 import static com.ray3k.skincomposer.Main.*;
@@ -1178,89 +1181,64 @@ public class DialogImageFont extends Dialog {
                 return t.length() == 2;
             }).toArray(String[]::new);
             
-            var charFolder = Main.appFolder.child("imagefont/characters");
-            var pixmaps = new Array<Pixmap>();
-            var testColor = new Color();
             kerningPairValues.clear();
+            
+            //characters that appear more than once in the image are ambiguous and skipped
+            var characterMap = new IntMap<BitmapCharacter>();
+            var duplicates = new IntSet();
+            for (var character : bitmapCharacters) {
+                if (characterMap.containsKey(character.character)) duplicates.add(character.character);
+                characterMap.put(character.character, character);
+            }
+            
+            var pairCharacters = new Array<BitmapCharacter>();
             for (var pair : pairs) {
-                pixmaps.clear();
-                
-                //find images for each character
-                var fileHandles = charFolder.list((File dir, String name1) -> name1.matches(".* (" + (int) pair.charAt(0) + "|" + (int) pair.charAt(1) + ").png"));
-                
-                //create pixmaps
-                if (fileHandles.length == 1 && pair.charAt(0) == pair.charAt(1) || fileHandles.length == 2) for (var imageFileHandle : fileHandles) {
-                    var testPixmap = new Pixmap(imageFileHandle);
-                    pixmaps.add(testPixmap);
-                } else {
-                    continue;
+                var first = characterMap.get(pair.charAt(0));
+                var second = characterMap.get(pair.charAt(1));
+                if (first == null || second == null || duplicates.contains(first.character) || duplicates.contains(second.character)) continue;
+                pairCharacters.add(first, second);
+            }
+            
+            try {
+                //build a mask for each character used in a pair
+                var maskCharacters = new OrderedSet<BitmapCharacter>();
+                for (var character : pairCharacters) {
+                    maskCharacters.add(character);
                 }
                 
-                Pixmap compilationPixmap;
-                if (fileHandles.length == 1) {
-                    compilationPixmap = new Pixmap(pixmaps.get(0).getWidth() + pixmaps.get(0).getWidth(), pixmaps.get(0).getHeight(), Pixmap.Format.RGBA8888);
-                } else {
-                    compilationPixmap = new Pixmap(pixmaps.get(0).getWidth() + pixmaps.get(1).getWidth(), pixmaps.get(0).getHeight(), Pixmap.Format.RGBA8888);
+                var maskTasks = new Array<Callable<KerningSolver.GlyphMask>>();
+                for (var character : maskCharacters) {
+                    maskTasks.add(() -> KerningSolver.createMask(fontPixmap, character.x, character.cropY, character.width, character.cropHeight));
                 }
+                var maskResults = WorkerPool.invokeAll(maskTasks);
                 
-                //convert each pixmap to 50% transparency on every opaque character
-                for (int i = 0; i < pixmaps.size; i++) {
-                    var testPixmap = pixmaps.get(i);
-                    var temp = new Pixmap(testPixmap.getWidth(), testPixmap.getHeight(), Pixmap.Format.RGBA8888);
-                    
-                    for (int y = 0; y < testPixmap.getHeight(); y++) {
-                        for (int x = 0; x < testPixmap.getWidth(); x++) {
-                            testColor.set(testPixmap.getPixel(x, y));
-                            
-                            if (testColor.a > 0) {
-                                testColor.set(1, 1, 1, .5f);
-                                temp.setColor(testColor);
-                                temp.drawPixel(x, y);
-                            }
-                        }
-                    }
-                    
-                    testPixmap.dispose();
-                    pixmaps.set(i, temp);
+                var masks = new ObjectMap<BitmapCharacter, KerningSolver.GlyphMask>();
+                var index = 0;
+                for (var character : maskCharacters) {
+                    masks.put(character, maskResults.get(index++));
                 }
                 
-                var testX = pixmaps.get(0).getWidth();
-                float alpha = 0.0f;
-                while (testX >= 0.0f && alpha < .6f) {
-                    //overlap pixmaps and test transparency, 100% means fail
-                    compilationPixmap.setColor(Color.CLEAR);
-                    compilationPixmap.fill();
-                    
-                    if (fileHandles.length == 1) {
-                        compilationPixmap.drawPixmap(pixmaps.get(0), 0, 0);
-                        compilationPixmap.drawPixmap(pixmaps.get(0), testX, 0);
-                    } else {
-                        compilationPixmap.drawPixmap(pixmaps.get(0), 0, 0);
-                        compilationPixmap.drawPixmap(pixmaps.get(1), testX, 0);
-                    }
-                    
-                    for (int y = 0; y < compilationPixmap.getHeight(); y++) {
-                        for (int x = 0; x < compilationPixmap.getWidth(); x++) {
-                            testColor.set(compilationPixmap.getPixel(x, y));
-
-                            if (testColor.a > alpha) {
-                                alpha = testColor.a;
-                            }
-                        }
-                    }
-                    
-                    testX--;
+                var firsts = new Array<KerningSolver.GlyphMask>();
+                var seconds = new Array<KerningSolver.GlyphMask>();
+                for (int i = 0; i < pairCharacters.size; i += 2) {
+                    firsts.add(masks.get(pairCharacters.get(i)));
+                    seconds.add(masks.get(pairCharacters.get(i + 1)));
                 }
+                var contacts = KerningSolver.findContacts(firsts, seconds);
                 
-                testX -= pixmaps.get(0).getWidth() - settings.kerningPairsOffset;
-                
-                //reset
-                for (var testPixmap : pixmaps) {
-                    testPixmap.dispose();
+                for (int i = 0; i < contacts.length; i++) {
+                    var first = pairCharacters.get(i * 2);
+                    var second = pairCharacters.get(i * 2 + 1);
+                    
+                    //stop one pixel before the glyphs would touch
+                    var testX = Math.max(contacts[i], 0) - 1;
+                    testX -= first.width - settings.kerningPairsOffset;
+                    kerningPairValues.add(new KerningPair(first.character, second.character, testX));
                 }
-                compilationPixmap.dispose();
-                
-                kerningPairValues.add(new KerningPair(pair.charAt(0), pair.charAt(1), testX));
+            } catch (Exception e) {
+                kerningPairValues.clear();
+                Gdx.app.error(getClass().getName(), "Error calculating kerning pairs", e);
+                dialogFactory.showDialogError("Kerning Error...", "Error calculating kerning pairs.\n\nOpen log?");
             }
         }
         
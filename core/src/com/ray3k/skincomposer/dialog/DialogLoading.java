@@ -34,13 +34,16 @@ import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.utils.Align;
 import com.ray3k.skincomposer.Main;
+import com.ray3k.skincomposer.data.AtlasTask;
 import com.ray3k.skincomposer.dialog.scenecomposer.DialogSceneComposer;
 import com.ray3k.skincomposer.utils.Utils;
 import static com.ray3k.skincomposer.Main.*;
 
 public class DialogLoading extends Dialog {
     private Runnable runnable;
+    private AtlasTask task;
     private Main main;
+    private Label progressLabel;
     
     public DialogLoading(String title, Runnable runnable, Main main) {
         super(title, skin, !DialogSceneComposer.isShowing() ? "dialog" : "scene");
@@ -49,10 +52,30 @@ public class DialogLoading extends Dialog {
         setFillParent(true);
         populate();
     }
+    
+    /**
+     * Shows the progress of the task and hides when the task is finished. The
+     * task is already running in the background.
+     * @param title
+     * @param task
+     * @param main
+     */
+    public DialogLoading(String title, AtlasTask task, Main main) {
+        super(title, skin, !DialogSceneComposer.isShowing() ? "dialog" : "scene");
+        this.main = main;
+        this.task = task;
+        setFillParent(true);
+        populate();
+    }
 
     @Override
     public Dialog show(Stage stage) {
         Dialog dialog = super.show(stage);
+        if (task != null) {
+            task.addFinishedListener(this::hide);
+            return dialog;
+        }
+        
         RunnableAction runnableAction = new RunnableAction();
         runnableAction.setRunnable(() -> {
             if (Utils.isMac()) {
@@ -87,5 +110,20 @@ public class DialogLoading extends Dialog {
         Table table = new Table(skin);
         table.setBackground(!DialogSceneComposer.isShowing() ? loadingAnimation : loadingAnimation2);
         t.add(table);
+        
+        if (task != null) {
+            t.row();
+            progressLabel = new Label(task.getProgressText(), skin, !DialogSceneComposer.isShowing() ? "default" : "scene-label");
+            progressLabel.setAlignment(Align.center);
+            t.add(progressLabel);
+        }
+    }
+    
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+        if (progressLabel != null) {
+            progressLabel.setText(task.getProgressText());
+        }
     }
 }
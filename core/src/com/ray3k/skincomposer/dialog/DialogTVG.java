@@ -31,6 +31,7 @@ import com.badlogic.gdx.scenes.scene2d.EventListener;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.ray3k.skincomposer.data.DrawableData;
+import com.ray3k.skincomposer.data.NameIndex;
 import com.ray3k.skincomposer.utils.Utils;
 import com.ray3k.stripe.PopTable;
 import com.ray3k.stripe.ResizeWidget;
@@ -228,6 +229,7 @@ public class DialogTVG extends PopTable {
         okButton.addListener(handListener);
         onChange(nameTextField, () -> {
             drawableData.name = nameTextField.getText();
+            NameIndex.nameChanged();
             okButton.setDisabled(!atlasData.checkIfDrawableNameIsValid(drawableData.name, drawableData));
 
             fire(new DialogTvgEvent(drawableData, true));
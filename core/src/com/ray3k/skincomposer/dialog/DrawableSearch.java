@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.dialog;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Sort;
+import com.ray3k.skincomposer.data.DrawableData;
+import com.ray3k.skincomposer.data.DrawableData.DrawableType;
+import com.ray3k.skincomposer.dialog.DialogDrawables.FilterOptions;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Filters and sorts the drawables displayed in DialogDrawables. The lowercase names, a trigram index of the names, and
+ * the modified times of the drawable files are built once per refresh so that typing in the filter does not scan the
+ * file system or recompile regular expressions.
+ * @author Raymond Buckley
+ */
+public class DrawableSearch {
+    private static final int TINTED_NINE_PATCH = 1 << DrawableType.values().length;
+    private final Array<DrawableData> drawables = new Array<>();
+    private final Array<String> names = new Array<>();
+    private final Array<String> lowerNames = new Array<>();
+    private final ObjectMap<String, IntArray> trigrams = new ObjectMap<>();
+    private final IdentityMap<DrawableData, Long> lastModified = new IdentityMap<>();
+    private String patternSource;
+    private Pattern pattern;
+    
+    /**
+     * Indexes the specified drawables. The index is only rebuilt if the drawables or their names have changed since
+     * the last call, unless force is true.
+     * @param drawables
+     * @param force Rebuild the index and snapshot the file modified times again.
+     */
+    public void index(Array<DrawableData> drawables, boolean force) {
+        if (!force && isIndexed(drawables)) return;
+        
+        this.drawables.clear();
+        names.clear();
+        lowerNames.clear();
+        trigrams.clear();
+        lastModified.clear();
+        
+        for (int i = 0; i < drawables.size; i++) {
+            var drawable = drawables.get(i);
+            var lowerName = drawable.name.toLowerCase(Locale.ROOT);
+            this.drawables.add(drawable);
+            names.add(drawable.name);
+            lowerNames.add(lowerName);
+            lastModified.put(drawable, drawable.file == null ? 0 : drawable.file.lastModified());
+            
+            for (int j = 0; j + 3 <= lowerName.length(); j++) {
+                var trigram = lowerName.substring(j, j + 3);
+                var postings = trigrams.get(trigram);
+                if (postings == null) {
+                    postings = new IntArray();
+                    trigrams.put(trigram, postings);
+                }
+                if (postings.size == 0 || postings.peek() != i) postings.add(i);
+            }
+        }
+    }
+    
+    private boolean isIndexed(Array<DrawableData> drawables) {
+        if (drawables.size != this.drawables.size) return false;
+        for (int i = 0; i < drawables.size; i++) {
+            var drawable = drawables.get(i);
+            if (drawable != this.drawables.get(i) || drawable.name != names.get(i)) return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Adds the indexed drawables that pass the filter options to the result in index order.
+     * @param filterOptions
+     * @param result
+     */
+    public void filter(FilterOptions filterOptions, Array<DrawableData> result) {
+        var allowedTypes = allowedTypes(filterOptions);
+        
+        if (filterOptions.regularExpression) {
+            var pattern = compile(filterOptions.name);
+            if (pattern == null) return;
+            var matcher = pattern.matcher("");
+            for (int i = 0; i < drawables.size; i++) {
+                var drawable = drawables.get(i);
+                if (isAllowed(drawable, allowedTypes, filterOptions) && matcher.reset(names.get(i)).matches()) result.add(drawable);
+            }
+        } else if (filterOptions.name.length() < 3) {
+            var query = filterOptions.name.toLowerCase(Locale.ROOT);
+            for (int i = 0; i < drawables.size; i++) {
+                var drawable = drawables.get(i);
+                if (isAllowed(drawable, allowedTypes, filterOptions) && lowerNames.get(i).contains(query)) result.add(drawable);
+            }
+        } else {
+            //only the names containing the rarest trigram of the query can match
+            var query = filterOptions.name.toLowerCase(Locale.ROOT);
+            IntArray candidates = null;
+            for (int j = 0; j + 3 <= query.length(); j++) {
+                var postings = trigrams.get(query.substring(j, j + 3));
+                if (postings == null) return;
+                if (candidates == null || postings.size < candidates.size) candidates = postings;
+            }
+            
+            for (int c = 0; c < candidates.size; c++) {
+                var i = candidates.get(c);
+                var drawable = drawables.get(i);
+                if (isAllowed(drawable, allowedTypes, filterOptions) && lowerNames.get(i).contains(query)) result.add(drawable);
+            }
+        }
+    }
+    
+    private Pattern compile(String regex) {
+        if (!regex.equals(patternSource)) {
+            patternSource = regex;
+            try {
+                pattern = Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                pattern = null;
+            }
+        }
+        return pattern;
+    }
+    
+    private static int typeMask(DrawableData drawable) {
+        if (drawable.type == null) return 0;
+        var mask = 1 << drawable.type.ordinal();
+        if (drawable.type == DrawableType.NINE_PATCH && (drawable.tint != null || drawable.tintName != null)) mask |= TINTED_NINE_PATCH;
+        return mask;
+    }
+    
+    private static int allowedTypes(FilterOptions filterOptions) {
+        var mask = 0;
+        if (filterOptions.texture) mask |= 1 << DrawableType.TEXTURE.ordinal();
+        if (filterOptions.ninePatch) mask |= 1 << DrawableType.NINE_PATCH.ordinal();
+        if (filterOptions.tinted) mask |= 1 << DrawableType.TINTED.ordinal() | 1 << DrawableType.TINTED_FROM_COLOR_DATA.ordinal();
+        if (filterOptions.tiled) mask |= 1 << DrawableType.TILED.ordinal();
+        if (filterOptions.custom) mask |= 1 << DrawableType.CUSTOM.ordinal();
+        if (filterOptions.tenPatch) mask |= 1 << DrawableType.TENPATCH.ordinal();
+        if (filterOptions.tvg) mask |= 1 << DrawableType.TVG.ordinal();
+        if (filterOptions.pixel) mask |= 1 << DrawableType.PIXEL.ordinal();
+        if (filterOptions.font) mask |= 1 << DrawableType.FONT.ordinal();
+        return mask;
+    }
+    
+    private static boolean isAllowed(DrawableData drawable, int allowedTypes, FilterOptions filterOptions) {
+        if (!filterOptions.hidden && drawable.hidden) return false;
+        
+        var mask = typeMask(drawable);
+        if ((mask & TINTED_NINE_PATCH) != 0 && !filterOptions.tinted) return false;
+        return drawable.type == null || (mask & allowedTypes) != 0;
+    }
+    
+    /**
+     * Sorts the drawables by the modified time of their files as it was when they were indexed.
+     * @param drawables
+     * @param newestFirst
+     */
+    public void sortByModified(Array<DrawableData> drawables, boolean newestFirst) {
+        Sort.instance().sort(drawables, (DrawableData o1, DrawableData o2) -> {
+            var result = Long.compare(lastModified.get(o1, 0L), lastModified.get(o2, 0L));
+            return newestFirst ? -result : result;
+        });
+    }
+}
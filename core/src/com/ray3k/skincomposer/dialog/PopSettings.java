@@ -2,6 +2,7 @@ package com.ray3k.skincomposer.dialog;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.scenes.scene2d.*;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
@@ -9,7 +10,9 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.scenes.scene2d.utils.FocusListener;
 import com.ray3k.skincomposer.Main;
 import com.ray3k.skincomposer.RootTable;
+import com.ray3k.skincomposer.data.ProjectData.SaveFormat;
 import com.ray3k.skincomposer.dialog.PopRevertUIscale.PopRevertEventListener;
+import com.ray3k.skincomposer.utils.Instrumentation;
 import com.ray3k.skincomposer.utils.Utils;
 import com.ray3k.stripe.PopTable;
 import com.ray3k.stripe.Spinner;
@@ -20,11 +23,15 @@ import static com.ray3k.skincomposer.Main.*;
 public class PopSettings extends PopTable {
     private int uiScale;
     private Integer maxUndos;
+    private Integer maxUndoMemory;
+    private SaveFormat saveFormat;
     private boolean resourcesRelative;
     private boolean allowingWelcome;
     private boolean exportWarnings;
     private boolean recentFullPath;
     private boolean allowingUpdates;
+    private boolean performanceOverlay;
+    private boolean renderingOnDemand;
     private boolean changedUIscale;
     private boolean resetTips;
     
@@ -37,11 +44,15 @@ public class PopSettings extends PopTable {
         
         uiScale = projectData.getUiScale();
         maxUndos = projectData.getMaxUndos();
+        maxUndoMemory = projectData.getMaxUndoMemory();
+        saveFormat = projectData.getSaveFormat();
         resourcesRelative = projectData.areResourcesRelative();
         allowingWelcome = projectData.isAllowingWelcome();
         exportWarnings = projectData.isShowingExportWarnings();
         recentFullPath = projectData.isFullPathInRecentFiles();
         allowingUpdates = projectData.isCheckingForUpdates();
+        performanceOverlay = projectData.isShowingPerformanceOverlay();
+        renderingOnDemand = projectData.isRenderingOnDemand();
         
         populate();
     }
@@ -258,6 +269,49 @@ public class PopSettings extends PopTable {
         spinner.getButtonPlus().addListener(handListener);
         table.add(spinner).minWidth(100.0f);
         
+        table.row();
+        label = new Label("Max Undo Memory (MB): ", skin);
+        table.add(label);
+        
+        var memorySpinner = new Spinner(projectData.getMaxUndoMemory(), 1.0, true, Orientation.HORIZONTAL, getSkin());
+        memorySpinner.setMinimum(1.0);
+        memorySpinner.setMaximum(1024.0);
+        memorySpinner.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeListener.ChangeEvent event, Actor actor) {
+                maxUndoMemory = (int) memorySpinner.getValue();
+            }
+        });
+        memorySpinner.addListener(new FocusListener() {
+            @Override
+            public void keyboardFocusChanged(FocusListener.FocusEvent event,
+                                             Actor actor, boolean focused) {
+                maxUndoMemory = (int) memorySpinner.getValue();
+            }
+            
+        });
+        memorySpinner.getTextField().addListener(ibeamListener);
+        memorySpinner.getButtonMinus().addListener(handListener);
+        memorySpinner.getButtonPlus().addListener(handListener);
+        table.add(memorySpinner).minWidth(100.0f);
+        
+        table.row();
+        label = new Label("Project File Format: ", skin);
+        table.add(label);
+        
+        var formatSelectBox = new SelectBox<SaveFormat>(skin);
+        formatSelectBox.setItems(SaveFormat.values());
+        formatSelectBox.setSelected(saveFormat);
+        formatSelectBox.addListener(handListener);
+        formatSelectBox.getList().addListener(handListener);
+        formatSelectBox.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeListener.ChangeEvent event, Actor actor) {
+                saveFormat = formatSelectBox.getSelected();
+            }
+        });
+        table.add(formatSelectBox).minWidth(100.0f);
+        
         row();
         table = new Table();
         add(table);
@@ -322,6 +376,41 @@ public class PopSettings extends PopTable {
         });
         table.add(updatesCheckBox);
         
+        table.row();
+        var overlayCheckBox = new ImageTextButton("Show performance overlay", getSkin(), "checkbox");
+        overlayCheckBox.setChecked(performanceOverlay);
+        overlayCheckBox.addListener(handListener);
+        overlayCheckBox.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeListener.ChangeEvent event, Actor actor) {
+                performanceOverlay = overlayCheckBox.isChecked();
+            }
+        });
+        table.add(overlayCheckBox);
+        
+        table.row();
+        var onDemandCheckBox = new ImageTextButton("Only redraw when something changes", getSkin(), "checkbox");
+        onDemandCheckBox.setChecked(renderingOnDemand);
+        onDemandCheckBox.addListener(handListener);
+        onDemandCheckBox.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeListener.ChangeEvent event, Actor actor) {
+                renderingOnDemand = onDemandCheckBox.isChecked();
+            }
+        });
+        table.add(onDemandCheckBox);
+        
+        row();
+        textButton = new TextButton("Export performance history to CSV", skin);
+        textButton.addListener(handListener);
+        add(textButton);
+        textButton.addListener(new ChangeListener() {
+            @Override
+            public void changed(ChangeEvent event, Actor actor) {
+                exportPerformanceHistory();
+            }
+        });
+        
         row();
         var buttonTable = new Table();
         buttonTable.pad(5);
@@ -356,12 +445,17 @@ public class PopSettings extends PopTable {
     private void approve() {
         projectData.setChangesSaved(false);
         projectData.setMaxUndos(maxUndos);
+        projectData.setMaxUndoMemory(maxUndoMemory);
+        projectData.setSaveFormat(saveFormat);
         projectData.setResourcesRelative(resourcesRelative);
         projectData.setAllowingWelcome(allowingWelcome);
         projectData.setUiScale(uiScale);
         projectData.setShowingExportWarnings(exportWarnings);
         projectData.setFullPathInRecentFiles(recentFullPath);
         projectData.setCheckingForUpdates(allowingUpdates);
+        projectData.setShowingPerformanceOverlay(performanceOverlay);
+        Main.instrumentationHud.setEnabled(performanceOverlay);
+        projectData.setRenderingOnDemand(renderingOnDemand);
         undoableManager.clearUndoables();
     
         if (resetTips) {
@@ -381,6 +475,30 @@ public class PopSettings extends PopTable {
         hide();
     }
     
+    private void exportPerformanceHistory() {
+        setHideOnUnfocus(false);
+        dialogFactory.showDialogLoading(() -> {
+            var defaultPath = Main.appFolder.child("temp/performance.csv").path();
+            var file = desktopWorker.saveDialog("Export performance history...", defaultPath, "csv", "CSV files");
+            Gdx.app.postRunnable(() -> {
+                setHideOnUnfocus(true);
+                if (file != null) {
+                    var fileHandle = new FileHandle(file);
+                    if (fileHandle.extension().equals("")) {
+                        fileHandle = fileHandle.sibling(fileHandle.nameWithoutExtension() + ".csv");
+                    }
+                    
+                    try {
+                        Instrumentation.exportCsv(fileHandle);
+                    } catch (Exception e) {
+                        Gdx.app.error(getClass().getName(), "Error exporting performance history", e);
+                        dialogFactory.showDialogError("Export Error...", "Error exporting performance history.\n\nOpen log?");
+                    }
+                }
+            });
+        });
+    }
+    
     private void cancel() {
         if (changedUIscale) {
             main.resizeUiScale(projectData.getUiScale());
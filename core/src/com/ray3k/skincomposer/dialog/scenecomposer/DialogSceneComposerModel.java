@@ -1,6 +1,7 @@
 package com.ray3k.skincomposer.dialog.scenecomposer;
 
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
@@ -10,6 +11,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.utils.*;
 import com.badlogic.gdx.utils.Json.Serializer;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
+import com.badlogic.gdx.utils.reflect.Field;
 import com.badlogic.gdx.utils.reflect.ReflectionException;
 import com.ray3k.skincomposer.Main;
 import com.ray3k.skincomposer.data.ColorData;
@@ -17,6 +19,7 @@ import com.ray3k.skincomposer.data.DrawableData;
 import com.ray3k.skincomposer.data.StyleData;
 import com.ray3k.skincomposer.dialog.scenecomposer.DialogSceneComposer.View;
 import com.ray3k.skincomposer.dialog.scenecomposer.undoables.SceneComposerUndoable;
+import com.ray3k.skincomposer.utils.Instrumentation;
 import com.ray3k.stripe.scenecomposer.SimMultipleChildren;
 import com.ray3k.stripe.scenecomposer.SimSingleChild;
 
@@ -35,6 +38,17 @@ public class DialogSceneComposerModel {
     private static Json json;
     private final static Vector2 temp = new Vector2();
     private final static int EDIT_EMPTY_WIDGET_SIZE = 50;
+    private final static ObjectMap<Class, Array<Field>> previewFields = new ObjectMap<>();
+    private final static ObjectMap<Class, Array<Field>> undoableFields = new ObjectMap<>();
+    private final static int OBJECT_SIZE = 16;
+    private final static int REFERENCE_SIZE = 8;
+    private final static long MERGE_TIME = 1000;
+    private final ObjectLongMap<SceneComposerUndoable> undoableSizes = new ObjectLongMap<>();
+    private SceneComposerUndoable lastUndoable;
+    private long lastUndoableTime;
+    private OrderedMap<SimActor, PreviewRecord> previewRecords;
+    private View previewView;
+    private final Array<EditWidget> editWidgets = new Array<>();
     
     public enum Interpol {
         LINEAR(Interpolation.linear, "Linear", "linear"), SMOOTH(Interpolation.smooth, "Smooth", "smooth"), SMOOTH2(
@@ -105,7 +119,6 @@ public class DialogSceneComposerModel {
         json.setSerializer(DrawableData.class, new Json.Serializer<>() {
             @Override
             public void write(Json json, DrawableData object, Class knownType) {
-                System.out.println("drawable");
                 json.writeValue(object.name);
             }
 
@@ -117,7 +130,6 @@ public class DialogSceneComposerModel {
         json.setSerializer(StyleData.class, new Json.Serializer<>() {
             @Override
             public void write(Json json, StyleData object, Class knownType) {
-                System.out.println("style");
                 json.writeObjectStart();
                 json.writeValue("clazz", object.clazz.getName());
                 json.writeValue("name", object.name);
@@ -224,12 +236,146 @@ public class DialogSceneComposerModel {
         assignParentRecursive(rootActor);
     }
     
+    /**
+     * Applies the undoable and adds it to the history. An edit of the same property that follows shortly after the last
+     * one is merged into it. The oldest undoables are discarded once the history exceeds the maximum number of undos or
+     * the undo memory budget of the project.
+     * @param undoable The new undoable. It is applied by calling redo().
+     */
+    public void addUndoable(SceneComposerUndoable undoable) {
+        for (var redoable : redoables) {
+            undoableSizes.remove(redoable, 0);
+        }
+        redoables.clear();
+        
+        var time = TimeUtils.millis();
+        var previous = undoables.size > 0 ? undoables.peek() : null;
+        var merged = previous != null && previous == lastUndoable && time - lastUndoableTime < MERGE_TIME && previous.merge(undoable);
+        undoable.redo();
+        lastUndoableTime = time;
+        Main.autosave.record();
+        
+        if (merged) {
+            undoableSizes.put(previous, previous.estimateSize());
+        } else {
+            undoables.add(undoable);
+            undoableSizes.put(undoable, undoable.estimateSize());
+            lastUndoable = undoable;
+            trimUndoables();
+        }
+    }
+    
+    private void trimUndoables() {
+        var maxUndos = projectData.getMaxUndos();
+        var maxSize = projectData.getMaxUndoMemory() * 1024L * 1024L;
+        
+        long size = 0;
+        for (var undoable : undoables) {
+            size += undoableSizes.get(undoable, 0);
+        }
+        
+        //always keep the latest undoable, even if it exceeds the budget on its own
+        while (undoables.size > 1 && (undoables.size > maxUndos || size > maxSize)) {
+            var undoable = undoables.removeIndex(0);
+            size -= undoableSizes.remove(undoable, 0);
+        }
+    }
+    
+    /**
+     * Approximates the memory retained by the fields of an undoable. Shared data such as styles, colors, and drawables
+     * is not counted. SimActors are only counted if they have been removed from the scene.
+     * @param undoable The undoable to measure.
+     * @return The estimated size in bytes.
+     */
+    public static long estimateSize(SceneComposerUndoable undoable) {
+        long size = OBJECT_SIZE;
+        for (var field : getUndoableFields(undoable.getClass())) {
+            size += REFERENCE_SIZE;
+            try {
+                size += estimateValueSize(field.get(undoable), false);
+            } catch (ReflectionException e) {
+                e.printStackTrace(System.out);
+            }
+        }
+        return size;
+    }
+    
+    private static long estimateValueSize(Object value, boolean owned) {
+        if (value instanceof SimActor) {
+            var simActor = (SimActor) value;
+            if (!owned && isInScene(simActor)) return 0;
+            
+            long size = OBJECT_SIZE;
+            for (var field : getPreviewFields(simActor.getClass())) {
+                size += REFERENCE_SIZE;
+                try {
+                    size += estimateValueSize(field.get(simActor), true);
+                } catch (ReflectionException e) {
+                    e.printStackTrace(System.out);
+                }
+            }
+            return size;
+        } else if (value instanceof Array) {
+            var array = (Array<?>) value;
+            long size = OBJECT_SIZE + (long) REFERENCE_SIZE * array.items.length;
+            for (int i = 0; i < array.size; i++) {
+                size += estimateValueSize(array.get(i), owned);
+            }
+            return size;
+        } else if (value instanceof String) {
+            return OBJECT_SIZE + 2L * ((String) value).length();
+        } else if (value instanceof Number || value instanceof Boolean) {
+            return OBJECT_SIZE;
+        }
+        return 0;
+    }
+    
+    private static boolean isInScene(SimActor simActor) {
+        for (var child = simActor; child != rootActor; child = child.parent) {
+            var parent = child.parent;
+            if (parent == null) return false;
+            
+            var found = false;
+            if (parent instanceof SimSingleChild) {
+                found = ((SimSingleChild) parent).getChild() == child;
+            }
+            
+            if (!found && parent instanceof SimMultipleChildren) {
+                var children = ((SimMultipleChildren) parent).getChildren();
+                for (int i = 0; i < children.size && !found; i++) {
+                    found = children.get(i) == child;
+                }
+            }
+            
+            if (!found) return false;
+        }
+        return true;
+    }
+    
+    private static Array<Field> getUndoableFields(Class type) {
+        var fields = undoableFields.get(type);
+        if (fields == null) {
+            fields = new Array<>();
+            for (var current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (var field : ClassReflection.getDeclaredFields(current)) {
+                    if (field.isStatic()) continue;
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+            undoableFields.put(type, fields);
+        }
+        return fields;
+    }
+    
     public void undo() {
+        lastUndoable = null;
         if (undoables.size > 0) {
             var undoable = undoables.pop();
             redoables.add(undoable);
             
             undoable.undo();
+            Main.autosave.record();
             var fadeLabel = new FadeLabel(undoable.getUndoString(), skin, "scene-edit-tip");
             temp.set(dialog.previewTable.getWidth() / 2, dialog.previewTable.getHeight() / 2);
             dialog.previewTable.localToStageCoordinates(temp);
@@ -239,32 +385,176 @@ public class DialogSceneComposerModel {
     }
     
     public void redo() {
+        lastUndoable = null;
         if (redoables.size > 0) {
             var undoable = redoables.pop();
             undoables.add(undoable);
     
             undoable.redo();
+            Main.autosave.record();
         }
     }
     
     public void updatePreview() {
-        preview.clearChildren();
+        var start = Instrumentation.start();
+        for (var editWidget : editWidgets) {
+            editWidget.remove();
+        }
+        editWidgets.clear();
+        
+        //only rebuild the whole preview if the view or the structure of the tree has changed
+        var records = new OrderedMap<SimActor, PreviewRecord>();
+        snapshotPreview(rootActor, records);
+        if (previewView != dialog.view || !patchPreviewWidgets(records)) {
+            preview.clearChildren();
+            createPreviewWidgets();
+            previewView = dialog.view;
+        }
+        previewRecords = records;
         
         switch (dialog.view) {
             case LIVE:
-                createPreviewWidgets();
                 preview.setDebug(false, true);
                 break;
             case EDIT:
-                createPreviewWidgets();
                 createEditWidgets();
                 preview.setDebug(false, true);
                 break;
             case OUTLINE:
-                createPreviewWidgets();
                 preview.debugAll();
                 break;
         }
+        Instrumentation.record("DialogSceneComposerModel.updatePreview", start);
+    }
+    
+    private void snapshotPreview(SimActor simActor, OrderedMap<SimActor, PreviewRecord> records) {
+        if (simActor == null || records.containsKey(simActor)) return;
+        
+        var record = new PreviewRecord(simActor);
+        records.put(simActor, record);
+        for (var child : record.structure) {
+            if (child instanceof SimActor) {
+                snapshotPreview((SimActor) child, records);
+            } else if (child instanceof Array) {
+                for (var arrayChild : (Array<?>) child) {
+                    if (arrayChild instanceof SimActor) snapshotPreview((SimActor) arrayChild, records);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Applies the changes between the last snapshot and the current records to the existing preview widgets. Tables and
+     * cells are modified in place and any other changed widget is rebuilt and swapped into its parent.
+     * @param records The current state of every SimActor in the tree in depth first order.
+     * @return false if the structure of the tree changed and the preview must be rebuilt completely.
+     */
+    private boolean patchPreviewWidgets(OrderedMap<SimActor, PreviewRecord> records) {
+        if (previewRecords == null || previewRecords.size != records.size) return false;
+        
+        var dirty = new Array<SimActor>();
+        for (var entry : records) {
+            var previous = previewRecords.get(entry.key);
+            if (previous == null || !previous.structure.equals(entry.value.structure)) return false;
+            if (!previous.properties.equals(entry.value.properties)) dirty.add(entry.key);
+        }
+        
+        var rebuilt = new Array<SimActor>();
+        for (var simActor : dirty) {
+            if (hasRebuiltAncestor(simActor, rebuilt)) continue;
+            
+            if (simActor instanceof SimRootGroup) {
+                //the root properties are applied by the dialog, not the preview
+                continue;
+            } else if (simActor instanceof SimTable) {
+                if (!(simActor.previewActor instanceof Table)) return false;
+                applyTable((Table) simActor.previewActor, (SimTable) simActor);
+                applyTouchableVisible(simActor.previewActor, simActor);
+            } else if (simActor instanceof SimCell) {
+                var cell = findPreviewCell((SimCell) simActor);
+                if (cell == null) return false;
+                applyCell(cell, (SimCell) simActor);
+                cell.getTable().invalidate();
+            } else {
+                if (!replacePreviewWidget(simActor)) return false;
+                rebuilt.add(simActor);
+            }
+        }
+        return true;
+    }
+    
+    private boolean hasRebuiltAncestor(SimActor simActor, Array<SimActor> rebuilt) {
+        for (var parent = simActor.parent; parent != null; parent = parent.parent) {
+            if (rebuilt.contains(parent, true)) return true;
+        }
+        return false;
+    }
+    
+    private boolean replacePreviewWidget(SimActor simActor) {
+        var oldActor = simActor.previewActor;
+        var parent = simActor.parent;
+        if (oldActor == null || parent == null) return false;
+        
+        if (parent instanceof SimRootGroup) {
+            int index = preview.getChildren().indexOf(oldActor, true);
+            if (index == -1) return false;
+            
+            var actor = createPreviewWidget(simActor);
+            if (actor == null) return false;
+            preview.addActorAt(index, actor);
+            oldActor.remove();
+        } else if (parent instanceof SimCell) {
+            var cell = findPreviewCell((SimCell) parent);
+            if (cell == null || cell.getActor() != oldActor) return false;
+            
+            var actor = createPreviewWidget(simActor);
+            if (actor == null) return false;
+            cell.setActor(actor);
+        } else if (parent.previewActor instanceof Container) {
+            var container = (Container) parent.previewActor;
+            if (container.getActor() != oldActor) return false;
+            
+            var actor = createPreviewWidget(simActor);
+            if (actor == null) return false;
+            container.setActor(actor);
+        } else if (parent.previewActor instanceof ScrollPane) {
+            var scrollPane = (ScrollPane) parent.previewActor;
+            if (scrollPane.getActor() != oldActor) return false;
+            
+            var actor = createPreviewWidget(simActor);
+            if (actor == null) return false;
+            scrollPane.setActor(actor);
+        } else if (parent.previewActor instanceof SplitPane) {
+            var splitPane = (SplitPane) parent.previewActor;
+            if (oldActor.getParent() != splitPane) return false;
+            
+            var actor = createPreviewWidget(simActor);
+            if (actor == null) return false;
+            if (simActor == ((SimSplitPane) parent).childFirst) splitPane.setFirstWidget(actor);
+            else splitPane.setSecondWidget(actor);
+        } else if (parent instanceof SimHorizontalGroup || parent instanceof SimVerticalGroup || parent instanceof SimStack) {
+            var group = oldActor.getParent();
+            if (group == null || group != parent.previewActor) return false;
+            
+            var actor = createPreviewWidget(simActor);
+            if (actor == null) return false;
+            group.addActorAt(group.getChildren().indexOf(oldActor, true), actor);
+            oldActor.remove();
+        } else {
+            //tree nodes are not tracked, rebuild everything
+            return false;
+        }
+        return true;
+    }
+    
+    private Cell findPreviewCell(SimCell simCell) {
+        if (!(simCell.parent instanceof SimTable) || !(simCell.parent.previewActor instanceof Table)) return null;
+        return findCell((Table) simCell.parent.previewActor, simCell.row, simCell.column);
+    }
+    
+    private void addEditWidget(EditWidget editWidget) {
+        preview.add(editWidget);
+        editWidgets.add(editWidget);
     }
     
     private Cell findCell(Table table, int row, int column) {
@@ -309,7 +599,7 @@ public class DialogSceneComposerModel {
             var edit = new EditWidget(skin, "scene-select-back");
             edit.setFillParent(true);
             edit.setSimActorTarget(dialog.simActor.parent);
-            preview.add(edit);
+            addEditWidget(edit);
         }
         
         if (dialog.simActor instanceof SimRootGroup) {
@@ -317,19 +607,19 @@ public class DialogSceneComposerModel {
             var edit = new EditWidget(skin, "scene-selection");
             edit.setFillParent(true);
             edit.setSimActorTarget(dialog.simActor.parent);
-            preview.add(edit);
+            addEditWidget(edit);
     
             if (simGroup.children.size > 0) {
                 edit = new EditWidget(skin, "scene-selector");
                 edit.setFillParent(true);
                 edit.setSimActorTarget(simGroup.children.peek());
-                preview.add(edit);
+                addEditWidget(edit);
             }
         } else if (dialog.simActor instanceof SimTable) {
             var edit = new EditWidget(skin, "scene-selection");
             edit.setFollowActor(dialog.simActor.previewActor);
             edit.setSimActorTarget(dialog.simActor.parent);
-            preview.add(edit);
+            addEditWidget(edit);
             
             var simTable = (SimTable) dialog.simActor;
             for (var simCell : simTable.cells) {
@@ -339,7 +629,7 @@ public class DialogSceneComposerModel {
                 edit = new EditWidget(skin, "scene-selector");
                 edit.setCell(cell);
                 edit.setSimActorTarget(simCell);
-                preview.add(edit);
+                addEditWidget(edit);
             }
         } else if (dialog.simActor instanceof SimCell) {
             var simCell = (SimCell) dialog.simActor;
@@ -349,19 +639,19 @@ public class DialogSceneComposerModel {
             var edit = new EditWidget(skin, "scene-selection");
             edit.setCell(cell);
             edit.setSimActorTarget(dialog.simActor.parent);
-            preview.add(edit);
+            addEditWidget(edit);
             
             if (simCell.child != null) {
                 edit = new EditWidget(skin, "scene-selector");
                 edit.setFollowActor(simCell.child.previewActor);
                 edit.setSimActorTarget(simCell.child);
-                preview.add(edit);
+                addEditWidget(edit);
             }
         }  else if (dialog.simActor.previewActor != null) {
             var edit = new EditWidget(skin, "scene-selection");
             edit.setFollowActor(dialog.simActor.previewActor);
             edit.setSimActorTarget(dialog.simActor.parent);
-            preview.add(edit);
+            addEditWidget(edit);
     
             if (dialog.simActor instanceof SimSingleChild) {
                 var child = ((SimSingleChild) dialog.simActor).getChild();
@@ -369,7 +659,7 @@ public class DialogSceneComposerModel {
                     edit = new EditWidget(skin, "scene-selector");
                     edit.setFollowActor(child.previewActor);
                     edit.setSimActorTarget(child);
-                    preview.add(edit);
+                    addEditWidget(edit);
                 }
             }
     
@@ -379,7 +669,7 @@ public class DialogSceneComposerModel {
                     edit = new EditWidget(skin, "scene-selector");
                     edit.setFollowActor(child.previewActor);
                     edit.setSimActorTarget(child);
-                    preview.add(edit);
+                    addEditWidget(edit);
                 }
             }
         }
@@ -419,24 +709,7 @@ public class DialogSceneComposerModel {
             var simTable = (SimTable) simActor;
             var table = new Table();
             actor = table;
-        
-            table.setName(simTable.name);
-        
-            if (simTable.background != null) {
-                table.setBackground(atlasData.getDrawablePairs().get(simTable.background));
-            }
-        
-            if (simTable.color != null) {
-                table.setColor(simTable.color.color);
-            }
-            
-            if (simTable.paddingEnabled) {
-                table.pad(simTable.padTop, simTable.padLeft, simTable.padBottom, simTable.padRight);
-            }
-            
-            table.align(simTable.alignment);
-            
-            table.setFillParent(simTable.fillParent);
+            applyTable(table, simTable);
             
             int row = 0;
             for (var simCell : simTable.cells) {
@@ -446,34 +719,7 @@ public class DialogSceneComposerModel {
                 }
                 
                 var child = createPreviewWidget(simCell.child);
-                var cell = table.add(child).fill(simCell.fillX, simCell.fillY).expand(simCell.expandX, simCell.expandY);
-                cell.pad(simCell.padTop, simCell.padLeft, simCell.padBottom, simCell.padRight);
-                cell.space(simCell.spaceTop, simCell.spaceLeft, simCell.spaceBottom, simCell.spaceRight);
-                cell.align(simCell.alignment).uniform(simCell.uniformX, simCell.uniformY).colspan(simCell.colSpan);
-    
-                if (simCell.minWidth >= 0) {
-                    cell.minWidth(simCell.minWidth);
-                }
-    
-                if (simCell.minHeight >= 0) {
-                    cell.minHeight(simCell.minHeight);
-                }
-    
-                if (simCell.maxWidth >= 0) {
-                    cell.maxWidth(simCell.maxWidth);
-                }
-    
-                if (simCell.maxHeight >= 0) {
-                    cell.maxHeight(simCell.maxHeight);
-                }
-    
-                if (simCell.preferredWidth >= 0) {
-                    cell.prefWidth(simCell.preferredWidth);
-                }
-    
-                if (simCell.preferredHeight >= 0) {
-                    cell.prefHeight(simCell.preferredHeight);
-                }
+                applyCell(table.add(child), simCell);
             }
             
             if (dialog.view == View.EDIT && table.getCells().size == 0) table.add().size(EDIT_EMPTY_WIDGET_SIZE, EDIT_EMPTY_WIDGET_SIZE);
@@ -935,15 +1181,58 @@ public class DialogSceneComposerModel {
         }
         
         if (simActor != null) {
-            if (actor != null) {
-                if (simActor instanceof SimTouchable) actor.setTouchable(((SimTouchable) simActor).getTouchable());
-                if (simActor instanceof SimVisible) actor.setVisible(((SimVisible) simActor).isVisible());
-            }
+            if (actor != null) applyTouchableVisible(actor, simActor);
             simActor.previewActor = actor;
         }
         return actor;
     }
     
+    private void applyTouchableVisible(Actor actor, SimActor simActor) {
+        if (simActor instanceof SimTouchable) actor.setTouchable(((SimTouchable) simActor).getTouchable());
+        if (simActor instanceof SimVisible) actor.setVisible(((SimVisible) simActor).isVisible());
+    }
+    
+    private void applyTable(Table table, SimTable simTable) {
+        table.setName(simTable.name);
+        table.setBackground(simTable.background == null ? null : atlasData.getDrawablePairs().get(simTable.background));
+        table.setColor(simTable.color == null ? Color.WHITE : simTable.color.color);
+        
+        if (simTable.paddingEnabled) {
+            table.pad(simTable.padTop, simTable.padLeft, simTable.padBottom, simTable.padRight);
+        } else {
+            table.pad(Table.backgroundTop, Table.backgroundLeft, Table.backgroundBottom, Table.backgroundRight);
+        }
+        
+        table.align(simTable.alignment);
+        table.setFillParent(simTable.fillParent);
+    }
+    
+    private void applyCell(Cell cell, SimCell simCell) {
+        cell.fill(simCell.fillX, simCell.fillY).expand(simCell.expandX, simCell.expandY);
+        cell.pad(simCell.padTop, simCell.padLeft, simCell.padBottom, simCell.padRight);
+        cell.space(simCell.spaceTop, simCell.spaceLeft, simCell.spaceBottom, simCell.spaceRight);
+        cell.align(simCell.alignment).uniform(simCell.uniformX, simCell.uniformY).colspan(simCell.colSpan);
+        
+        //patched cells must be returned to the defaults when a size is cleared
+        if (simCell.minWidth >= 0) cell.minWidth(simCell.minWidth);
+        else cell.minWidth(Value.minWidth);
+        
+        if (simCell.minHeight >= 0) cell.minHeight(simCell.minHeight);
+        else cell.minHeight(Value.minHeight);
+        
+        if (simCell.maxWidth >= 0) cell.maxWidth(simCell.maxWidth);
+        else cell.maxWidth(Value.zero);
+        
+        if (simCell.maxHeight >= 0) cell.maxHeight(simCell.maxHeight);
+        else cell.maxHeight(Value.zero);
+        
+        if (simCell.preferredWidth >= 0) cell.prefWidth(simCell.preferredWidth);
+        else cell.prefWidth(Value.prefWidth);
+        
+        if (simCell.preferredHeight >= 0) cell.prefHeight(simCell.preferredHeight);
+        else cell.prefHeight(Value.prefHeight);
+    }
+    
     public Tree.Node createPreviewNode(SimNode simNode) {
         if (simNode.actor != null || dialog.view == View.EDIT) {
             var node = new GenericNode();
@@ -968,6 +1257,57 @@ public class DialogSceneComposerModel {
     
     }
     
+    private static Array<Field> getPreviewFields(Class type) {
+        var fields = previewFields.get(type);
+        if (fields == null) {
+            fields = new Array<>();
+            for (var field : ClassReflection.getFields(type)) {
+                if (!field.isStatic() && !field.isTransient()) fields.add(field);
+            }
+            previewFields.put(type, fields);
+        }
+        return fields;
+    }
+    
+    /**
+     * A snapshot of a SimActor used to find the preview widgets that need to be updated. Fields referencing other
+     * SimActors are kept by identity in structure, every other value is kept in properties.
+     */
+    private static class PreviewRecord {
+        private final Array<Object> properties = new Array<>();
+        private final Array<Object> structure = new Array<>();
+        
+        public PreviewRecord(SimActor simActor) {
+            for (var field : getPreviewFields(simActor.getClass())) {
+                try {
+                    var value = field.get(simActor);
+                    if (ClassReflection.isAssignableFrom(SimActor.class, field.getType())) {
+                        structure.add(value);
+                    } else if (value instanceof Array) {
+                        var elementType = field.getElementType(0);
+                        if (elementType == null || ClassReflection.isAssignableFrom(SimActor.class, elementType)) {
+                            structure.add(new Array<Object>((Array<?>) value));
+                        } else {
+                            properties.add(new Array<Object>((Array<?>) value));
+                        }
+                    } else {
+                        properties.add(value);
+                    }
+                } catch (ReflectionException e) {
+                    e.printStackTrace(System.out);
+                }
+            }
+            
+            //moving or spanning a cell shifts its neighbors, so treat it as a structural change
+            if (simActor instanceof SimCell) {
+                var simCell = (SimCell) simActor;
+                structure.add(simCell.row);
+                structure.add(simCell.column);
+                structure.add(simCell.colSpan);
+            }
+        }
+    }
+    
     public static void assignParentRecursive(SimActor parent) {
         if (parent instanceof SimSingleChild) {
             var child = ((SimSingleChild) parent).getChild();
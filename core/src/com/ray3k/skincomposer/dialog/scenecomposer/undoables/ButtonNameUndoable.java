@@ -43,6 +43,16 @@ public class ButtonNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ButtonNameUndoable)) return false;
+        var next = (ButtonNameUndoable) undoable;
+        if (next.button != button) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Button name " + name + "\"";
@@ -52,6 +52,19 @@ public class ButtonPaddingUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ButtonPaddingUndoable)) return false;
+        var next = (ButtonPaddingUndoable) undoable;
+        if (next.button != button) return false;
+        
+        padLeft = next.padLeft;
+        padRight = next.padRight;
+        padTop = next.padTop;
+        padBottom = next.padBottom;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Button Padding\"";
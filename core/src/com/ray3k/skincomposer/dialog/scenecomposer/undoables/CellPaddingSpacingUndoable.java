@@ -83,6 +83,23 @@ public class CellPaddingSpacingUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof CellPaddingSpacingUndoable)) return false;
+        var next = (CellPaddingSpacingUndoable) undoable;
+        if (next.cell != cell) return false;
+        
+        padLeft = next.padLeft;
+        padRight = next.padRight;
+        padTop = next.padTop;
+        padBottom = next.padBottom;
+        spaceLeft = next.spaceLeft;
+        spaceRight = next.spaceRight;
+        spaceTop = next.spaceTop;
+        spaceBottom = next.spaceBottom;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Cell Padding/Spacing\"";
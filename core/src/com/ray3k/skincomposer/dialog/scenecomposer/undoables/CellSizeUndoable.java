@@ -71,6 +71,21 @@ public class CellSizeUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof CellSizeUndoable)) return false;
+        var next = (CellSizeUndoable) undoable;
+        if (next.cell != cell) return false;
+        
+        minWidth = next.minWidth;
+        minHeight = next.minHeight;
+        maxWidth = next.maxWidth;
+        maxHeight = next.maxHeight;
+        preferredWidth = next.preferredWidth;
+        preferredHeight = next.preferredHeight;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Cell Size\"";
@@ -43,6 +43,16 @@ public class CheckBoxNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof CheckBoxNameUndoable)) return false;
+        var next = (CheckBoxNameUndoable) undoable;
+        if (next.checkBox != checkBox) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"CheckBox name " + name + "\"";
@@ -52,6 +52,19 @@ public class CheckBoxPaddingUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof CheckBoxPaddingUndoable)) return false;
+        var next = (CheckBoxPaddingUndoable) undoable;
+        if (next.checkBox != checkBox) return false;
+        
+        padLeft = next.padLeft;
+        padRight = next.padRight;
+        padTop = next.padTop;
+        padBottom = next.padBottom;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"CheckBox Padding\"";
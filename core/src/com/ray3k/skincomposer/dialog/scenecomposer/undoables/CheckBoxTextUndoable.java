@@ -43,6 +43,16 @@ public class CheckBoxTextUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof CheckBoxTextUndoable)) return false;
+        var next = (CheckBoxTextUndoable) undoable;
+        if (next.checkBox != checkBox) return false;
+        
+        text = next.text;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"CheckBox text " + text + "\"";
@@ -43,6 +43,16 @@ public class ContainerNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ContainerNameUndoable)) return false;
+        var next = (ContainerNameUndoable) undoable;
+        if (next.container != container) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Container name " + name + "\"";
@@ -59,6 +59,19 @@ public class ContainerPaddingUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ContainerPaddingUndoable)) return false;
+        var next = (ContainerPaddingUndoable) undoable;
+        if (next.container != container) return false;
+        
+        padLeft = next.padLeft;
+        padRight = next.padRight;
+        padTop = next.padTop;
+        padBottom = next.padBottom;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Container Padding\"";
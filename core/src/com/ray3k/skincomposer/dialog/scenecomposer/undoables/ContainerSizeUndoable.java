@@ -73,6 +73,21 @@ public class ContainerSizeUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ContainerSizeUndoable)) return false;
+        var next = (ContainerSizeUndoable) undoable;
+        if (next.container != container) return false;
+        
+        minWidth = next.minWidth;
+        minHeight = next.minHeight;
+        maxWidth = next.maxWidth;
+        maxHeight = next.maxHeight;
+        preferredWidth = next.preferredWidth;
+        preferredHeight = next.preferredHeight;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Container size\"";
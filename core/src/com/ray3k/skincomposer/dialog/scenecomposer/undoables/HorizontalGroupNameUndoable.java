@@ -43,6 +43,16 @@ public class HorizontalGroupNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof HorizontalGroupNameUndoable)) return false;
+        var next = (HorizontalGroupNameUndoable) undoable;
+        if (next.horizontalGroup != horizontalGroup) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"HorizontalGroup name " + name + "\"";
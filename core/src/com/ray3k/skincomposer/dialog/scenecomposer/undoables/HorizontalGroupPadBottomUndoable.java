@@ -42,6 +42,16 @@ public class HorizontalGroupPadBottomUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof HorizontalGroupPadBottomUndoable)) return false;
+        var next = (HorizontalGroupPadBottomUndoable) undoable;
+        if (next.horizontalGroup != horizontalGroup) return false;
+        
+        padBottom = next.padBottom;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"HorizontalGroup pad bottom " + padBottom + "\"";
@@ -42,6 +42,16 @@ public class HorizontalGroupPadLeftUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof HorizontalGroupPadLeftUndoable)) return false;
+        var next = (HorizontalGroupPadLeftUndoable) undoable;
+        if (next.horizontalGroup != horizontalGroup) return false;
+        
+        padLeft = next.padLeft;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"HorizontalGroup pad left " + padLeft + "\"";
@@ -42,6 +42,16 @@ public class HorizontalGroupPadRightUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof HorizontalGroupPadRightUndoable)) return false;
+        var next = (HorizontalGroupPadRightUndoable) undoable;
+        if (next.horizontalGroup != horizontalGroup) return false;
+        
+        padRight = next.padRight;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"HorizontalGroup pad right " + padRight + "\"";
@@ -42,6 +42,16 @@ public class HorizontalGroupPadTopUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof HorizontalGroupPadTopUndoable)) return false;
+        var next = (HorizontalGroupPadTopUndoable) undoable;
+        if (next.horizontalGroup != horizontalGroup) return false;
+        
+        padTop = next.padTop;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"HorizontalGroup pad top " + padTop + "\"";
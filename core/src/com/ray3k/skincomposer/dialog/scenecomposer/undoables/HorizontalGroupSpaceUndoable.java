@@ -42,6 +42,16 @@ public class HorizontalGroupSpaceUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof HorizontalGroupSpaceUndoable)) return false;
+        var next = (HorizontalGroupSpaceUndoable) undoable;
+        if (next.horizontalGroup != horizontalGroup) return false;
+        
+        space = next.space;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"HorizontalGroup space " + space + "\"";
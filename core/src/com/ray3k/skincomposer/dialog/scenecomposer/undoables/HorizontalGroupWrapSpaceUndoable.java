@@ -42,6 +42,16 @@ public class HorizontalGroupWrapSpaceUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof HorizontalGroupWrapSpaceUndoable)) return false;
+        var next = (HorizontalGroupWrapSpaceUndoable) undoable;
+        if (next.horizontalGroup != horizontalGroup) return false;
+        
+        wrapSpace = next.wrapSpace;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"HorizontalGroup wrapSpace " + wrapSpace + "\"";
@@ -43,6 +43,16 @@ public class ImageButtonNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ImageButtonNameUndoable)) return false;
+        var next = (ImageButtonNameUndoable) undoable;
+        if (next.button != button) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ImageButton name " + name + "\"";
@@ -52,6 +52,19 @@ public class ImageButtonPaddingUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ImageButtonPaddingUndoable)) return false;
+        var next = (ImageButtonPaddingUndoable) undoable;
+        if (next.button != button) return false;
+        
+        padLeft = next.padLeft;
+        padRight = next.padRight;
+        padTop = next.padTop;
+        padBottom = next.padBottom;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ImageButton Padding\"";
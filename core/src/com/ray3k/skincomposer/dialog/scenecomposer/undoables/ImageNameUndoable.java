@@ -43,6 +43,16 @@ public class ImageNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ImageNameUndoable)) return false;
+        var next = (ImageNameUndoable) undoable;
+        if (next.image != image) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Image name " + name + "\"";
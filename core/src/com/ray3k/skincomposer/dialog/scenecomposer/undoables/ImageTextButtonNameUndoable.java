@@ -43,6 +43,16 @@ public class ImageTextButtonNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ImageTextButtonNameUndoable)) return false;
+        var next = (ImageTextButtonNameUndoable) undoable;
+        if (next.button != button) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ImageTextButton name " + name + "\"";
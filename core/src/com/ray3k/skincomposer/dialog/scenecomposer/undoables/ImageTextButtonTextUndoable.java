@@ -43,6 +43,16 @@ public class ImageTextButtonTextUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ImageTextButtonTextUndoable)) return false;
+        var next = (ImageTextButtonTextUndoable) undoable;
+        if (next.button != button) return false;
+        
+        text = next.text;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ImageTextButton text " + text + "\"";
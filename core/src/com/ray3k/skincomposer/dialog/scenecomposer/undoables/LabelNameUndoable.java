@@ -43,6 +43,16 @@ public class LabelNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof LabelNameUndoable)) return false;
+        var next = (LabelNameUndoable) undoable;
+        if (next.label != label) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Label name " + name + "\"";
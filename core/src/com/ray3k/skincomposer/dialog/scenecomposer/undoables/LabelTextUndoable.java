@@ -43,6 +43,16 @@ public class LabelTextUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof LabelTextUndoable)) return false;
+        var next = (LabelTextUndoable) undoable;
+        if (next.label != label) return false;
+        
+        text = next.text;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Label text " + text + "\"";
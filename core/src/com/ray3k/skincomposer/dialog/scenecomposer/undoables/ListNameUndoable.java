@@ -43,6 +43,16 @@ public class ListNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ListNameUndoable)) return false;
+        var next = (ListNameUndoable) undoable;
+        if (next.list != list) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"List name " + name + "\"";
@@ -40,6 +40,16 @@ public class ProgressBarAnimationDurationUndoable implements SceneComposerUndoab
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ProgressBarAnimationDurationUndoable)) return false;
+        var next = (ProgressBarAnimationDurationUndoable) undoable;
+        if (next.progressBar != progressBar) return false;
+        
+        animationDuration = next.animationDuration;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ProgressBar animation duration " + animationDuration + "\"";
@@ -40,6 +40,16 @@ public class ProgressBarIncrementUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ProgressBarIncrementUndoable)) return false;
+        var next = (ProgressBarIncrementUndoable) undoable;
+        if (next.progressBar != progressBar) return false;
+        
+        increment = next.increment;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ProgressBar increment " + increment + "\"";
@@ -46,6 +46,17 @@ public class ProgressBarMaximumUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ProgressBarMaximumUndoable)) return false;
+        var next = (ProgressBarMaximumUndoable) undoable;
+        if (next.progressBar != progressBar) return false;
+        
+        maximum = next.maximum;
+        value = next.value;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ProgressBar maximum " + maximum + "\"";
@@ -47,6 +47,17 @@ public class ProgressBarMinimumUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ProgressBarMinimumUndoable)) return false;
+        var next = (ProgressBarMinimumUndoable) undoable;
+        if (next.progressBar != progressBar) return false;
+        
+        minimum = next.minimum;
+        value = next.value;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ProgressBar minimum " + minimum + "\"";
@@ -43,6 +43,16 @@ public class ProgressBarNameUndoable implements  SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ProgressBarNameUndoable)) return false;
+        var next = (ProgressBarNameUndoable) undoable;
+        if (next.progressBar != progressBar) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ProgressBar Name: " + name + "\"";
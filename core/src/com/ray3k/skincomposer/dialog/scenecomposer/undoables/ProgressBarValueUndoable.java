@@ -40,6 +40,16 @@ public class ProgressBarValueUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ProgressBarValueUndoable)) return false;
+        var next = (ProgressBarValueUndoable) undoable;
+        if (next.progressBar != progressBar) return false;
+        
+        value = next.value;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ProgressBar value " + value + "\"";
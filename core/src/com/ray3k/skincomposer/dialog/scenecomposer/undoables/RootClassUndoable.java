@@ -24,6 +24,15 @@ public class RootClassUndoable implements SceneComposerUndoable {
         rootActor.classString = classString;
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof RootClassUndoable)) return false;
+        var next = (RootClassUndoable) undoable;
+        
+        classString = next.classString;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Class name " + classString + "\"";
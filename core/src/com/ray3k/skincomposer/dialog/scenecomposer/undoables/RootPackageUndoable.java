@@ -24,6 +24,15 @@ public class RootPackageUndoable implements SceneComposerUndoable {
         rootActor.packageString = packageString;
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof RootPackageUndoable)) return false;
+        var next = (RootPackageUndoable) undoable;
+        
+        packageString = next.packageString;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Package name " + packageString + "\"";
@@ -24,6 +24,15 @@ public class RootSkinPathUndoable implements SceneComposerUndoable {
         rootActor.skinPath = skinPath;
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof RootSkinPathUndoable)) return false;
+        var next = (RootSkinPathUndoable) undoable;
+        
+        skinPath = next.skinPath;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Skin path " + skinPath + "\"";
@@ -1,8 +1,29 @@
 package com.ray3k.skincomposer.dialog.scenecomposer.undoables;
 
+import com.ray3k.skincomposer.dialog.scenecomposer.DialogSceneComposerModel;
+
 public interface SceneComposerUndoable {
     public void undo();
     public void redo();
     public String getRedoString();
     public String getUndoString();
+
+    /**
+     * Absorbs the new values of the following undoable if it edits the same property of the same actor. The previous
+     * values of this undoable are kept so a single undo reverts both edits.
+     * @param undoable The undoable that was created after this one.
+     * @return true if the undoable was merged and should not be added to the history.
+     */
+    public default boolean merge(SceneComposerUndoable undoable) {
+        return false;
+    }
+
+    /**
+     * Approximates the memory retained by this undoable. Actors that have been removed from the scene are counted with
+     * their entire subtree.
+     * @return The estimated size in bytes.
+     */
+    public default long estimateSize() {
+        return DialogSceneComposerModel.estimateSize(this);
+    }
 }
@@ -40,6 +40,16 @@ public class ScrollPaneFlingTimeUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ScrollPaneFlingTimeUndoable)) return false;
+        var next = (ScrollPaneFlingTimeUndoable) undoable;
+        if (next.scrollPane != scrollPane) return false;
+        
+        flingTime = next.flingTime;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ScrollPane fling time " + flingTime + "\"";
@@ -43,6 +43,16 @@ public class ScrollPaneNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ScrollPaneNameUndoable)) return false;
+        var next = (ScrollPaneNameUndoable) undoable;
+        if (next.scrollPane != scrollPane) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ScrollPane name " + name + "\"";
@@ -40,6 +40,16 @@ public class ScrollPaneOverScrollDistanceUndoable implements SceneComposerUndoab
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ScrollPaneOverScrollDistanceUndoable)) return false;
+        var next = (ScrollPaneOverScrollDistanceUndoable) undoable;
+        if (next.scrollPane != scrollPane) return false;
+        
+        overScrollDistance = next.overScrollDistance;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ScrollPane over scroll distance " + overScrollDistance + "\"";
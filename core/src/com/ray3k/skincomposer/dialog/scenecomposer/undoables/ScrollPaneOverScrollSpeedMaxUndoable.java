@@ -40,6 +40,16 @@ public class ScrollPaneOverScrollSpeedMaxUndoable implements SceneComposerUndoab
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ScrollPaneOverScrollSpeedMaxUndoable)) return false;
+        var next = (ScrollPaneOverScrollSpeedMaxUndoable) undoable;
+        if (next.scrollPane != scrollPane) return false;
+        
+        overScrollSpeedMax = next.overScrollSpeedMax;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ScrollPane over scroll speed maximum " + overScrollSpeedMax + "\"";
@@ -40,6 +40,16 @@ public class ScrollPaneOverScrollSpeedMinUndoable implements SceneComposerUndoab
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof ScrollPaneOverScrollSpeedMinUndoable)) return false;
+        var next = (ScrollPaneOverScrollSpeedMinUndoable) undoable;
+        if (next.scrollPane != scrollPane) return false;
+        
+        overScrollSpeedMin = next.overScrollSpeedMin;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"ScrollPane over scroll speed minimum " + overScrollSpeedMin + "\"";
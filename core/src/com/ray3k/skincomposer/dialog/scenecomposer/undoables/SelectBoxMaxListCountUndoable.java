@@ -40,6 +40,16 @@ public class SelectBoxMaxListCountUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof SelectBoxMaxListCountUndoable)) return false;
+        var next = (SelectBoxMaxListCountUndoable) undoable;
+        if (next.selectBox != selectBox) return false;
+        
+        maxListCount = next.maxListCount;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"SelectBox max list count " + maxListCount + "\"";
@@ -43,6 +43,16 @@ public class SelectBoxNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof SelectBoxNameUndoable)) return false;
+        var next = (SelectBoxNameUndoable) undoable;
+        if (next.selectBox != selectBox) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"SelectBox name " + name + "\"";
@@ -40,6 +40,16 @@ public class SliderAnimationDurationUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof SliderAnimationDurationUndoable)) return false;
+        var next = (SliderAnimationDurationUndoable) undoable;
+        if (next.slider != slider) return false;
+        
+        animationDuration = next.animationDuration;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Slider animation duration " + animationDuration + "\"";
@@ -40,6 +40,16 @@ public class SliderIncrementUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof SliderIncrementUndoable)) return false;
+        var next = (SliderIncrementUndoable) undoable;
+        if (next.slider != slider) return false;
+        
+        increment = next.increment;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Slider increment " + increment + "\"";
@@ -40,6 +40,16 @@ public class SliderMaximumUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof SliderMaximumUndoable)) return false;
+        var next = (SliderMaximumUndoable) undoable;
+        if (next.slider != slider) return false;
+        
+        maximum = next.maximum;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Slider maximum " + maximum + "\"";
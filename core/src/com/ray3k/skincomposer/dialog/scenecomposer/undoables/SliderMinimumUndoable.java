@@ -40,6 +40,16 @@ public class SliderMinimumUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof SliderMinimumUndoable)) return false;
+        var next = (SliderMinimumUndoable) undoable;
+        if (next.slider != slider) return false;
+        
+        minimum = next.minimum;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Slider minimum " + minimum + "\"";
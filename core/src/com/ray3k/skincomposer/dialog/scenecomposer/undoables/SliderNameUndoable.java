@@ -43,6 +43,16 @@ public class SliderNameUndoable implements  SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof SliderNameUndoable)) return false;
+        var next = (SliderNameUndoable) undoable;
+        if (next.slider != slider) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Slider Name: " + name + "\"";
@@ -40,6 +40,16 @@ public class SliderValueUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof SliderValueUndoable)) return false;
+        var next = (SliderValueUndoable) undoable;
+        if (next.slider != slider) return false;
+        
+        value = next.value;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Slider value " + value + "\"";
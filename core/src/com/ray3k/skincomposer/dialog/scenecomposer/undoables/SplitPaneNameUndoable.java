@@ -43,6 +43,16 @@ public class SplitPaneNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof SplitPaneNameUndoable)) return false;
+        var next = (SplitPaneNameUndoable) undoable;
+        if (next.splitPane != splitPane) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"SplitPane name " + name + "\"";
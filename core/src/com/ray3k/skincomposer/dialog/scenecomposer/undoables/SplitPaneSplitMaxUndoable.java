@@ -40,6 +40,16 @@ public class SplitPaneSplitMaxUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof SplitPaneSplitMaxUndoable)) return false;
+        var next = (SplitPaneSplitMaxUndoable) undoable;
+        if (next.splitPane != splitPane) return false;
+        
+        splitMax = next.splitMax;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"SplitPane split maximum " + splitMax + "\"";
@@ -40,6 +40,16 @@ public class SplitPaneSplitMinUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof SplitPaneSplitMinUndoable)) return false;
+        var next = (SplitPaneSplitMinUndoable) undoable;
+        if (next.splitPane != splitPane) return false;
+        
+        splitMin = next.splitMin;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"SplitPane split minimum " + splitMin + "\"";
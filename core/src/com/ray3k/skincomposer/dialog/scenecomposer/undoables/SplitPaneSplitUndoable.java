@@ -40,6 +40,16 @@ public class SplitPaneSplitUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof SplitPaneSplitUndoable)) return false;
+        var next = (SplitPaneSplitUndoable) undoable;
+        if (next.splitPane != splitPane) return false;
+        
+        split = next.split;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"SplitPane split " + split + "\"";
@@ -43,6 +43,16 @@ public class StackNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof StackNameUndoable)) return false;
+        var next = (StackNameUndoable) undoable;
+        if (next.stack != stack) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Stack name " + name + "\"";
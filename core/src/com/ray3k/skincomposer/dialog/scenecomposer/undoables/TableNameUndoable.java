@@ -43,6 +43,16 @@ public class TableNameUndoable implements  SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TableNameUndoable)) return false;
+        var next = (TableNameUndoable) undoable;
+        if (next.table != table) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Table Name: " + name + "\"";
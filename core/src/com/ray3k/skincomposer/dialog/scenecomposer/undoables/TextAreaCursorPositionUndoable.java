@@ -41,6 +41,16 @@ public class TextAreaCursorPositionUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextAreaCursorPositionUndoable)) return false;
+        var next = (TextAreaCursorPositionUndoable) undoable;
+        if (next.textArea != textArea) return false;
+        
+        cursorPosition = next.cursorPosition;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextArea cursor position\"";
@@ -41,6 +41,16 @@ public class TextAreaMaxLengthUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextAreaMaxLengthUndoable)) return false;
+        var next = (TextAreaMaxLengthUndoable) undoable;
+        if (next.textArea != textArea) return false;
+        
+        maxLength = next.maxLength;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextArea max length " + maxLength + "\"";
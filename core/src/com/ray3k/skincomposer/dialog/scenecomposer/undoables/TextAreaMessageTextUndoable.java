@@ -43,6 +43,16 @@ public class TextAreaMessageTextUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextAreaMessageTextUndoable)) return false;
+        var next = (TextAreaMessageTextUndoable) undoable;
+        if (next.textArea != textArea) return false;
+        
+        messageText = next.messageText;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextArea message text " + messageText + "\"";
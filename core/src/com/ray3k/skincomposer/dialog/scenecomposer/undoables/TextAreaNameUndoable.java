@@ -43,6 +43,16 @@ public class TextAreaNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextAreaNameUndoable)) return false;
+        var next = (TextAreaNameUndoable) undoable;
+        if (next.textArea != textArea) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextArea name " + name + "\"";
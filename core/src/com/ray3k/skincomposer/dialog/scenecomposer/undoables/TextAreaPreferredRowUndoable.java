@@ -41,6 +41,16 @@ public class TextAreaPreferredRowUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextAreaPreferredRowUndoable)) return false;
+        var next = (TextAreaPreferredRowUndoable) undoable;
+        if (next.textArea != textArea) return false;
+        
+        preferredRows = next.preferredRows;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextArea preferred rows " + preferredRows + "\"";
@@ -41,6 +41,16 @@ public class TextAreaSelectionEndUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextAreaSelectionEndUndoable)) return false;
+        var next = (TextAreaSelectionEndUndoable) undoable;
+        if (next.textArea != textArea) return false;
+        
+        selectionEnd = next.selectionEnd;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextArea selection end\"";
@@ -41,6 +41,16 @@ public class TextAreaSelectionStartUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextAreaSelectionStartUndoable)) return false;
+        var next = (TextAreaSelectionStartUndoable) undoable;
+        if (next.textArea != textArea) return false;
+        
+        selectionStart = next.selectionStart;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextArea selection start\"";
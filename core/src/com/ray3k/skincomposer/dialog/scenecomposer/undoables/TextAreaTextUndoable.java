@@ -43,6 +43,16 @@ public class TextAreaTextUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextAreaTextUndoable)) return false;
+        var next = (TextAreaTextUndoable) undoable;
+        if (next.textArea != textArea) return false;
+        
+        text = next.text;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextArea text " + text + "\"";
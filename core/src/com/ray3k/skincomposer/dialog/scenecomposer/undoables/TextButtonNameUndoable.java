@@ -43,6 +43,16 @@ public class TextButtonNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextButtonNameUndoable)) return false;
+        var next = (TextButtonNameUndoable) undoable;
+        if (next.textButton != textButton) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextButton name " + name + "\"";
@@ -52,6 +52,19 @@ public class TextButtonPaddingUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextButtonPaddingUndoable)) return false;
+        var next = (TextButtonPaddingUndoable) undoable;
+        if (next.textButton != textButton) return false;
+        
+        padLeft = next.padLeft;
+        padRight = next.padRight;
+        padTop = next.padTop;
+        padBottom = next.padBottom;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextButton Padding\"";
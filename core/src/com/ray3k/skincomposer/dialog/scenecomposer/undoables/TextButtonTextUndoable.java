@@ -43,6 +43,16 @@ public class TextButtonTextUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextButtonTextUndoable)) return false;
+        var next = (TextButtonTextUndoable) undoable;
+        if (next.textButton != textButton) return false;
+        
+        text = next.text;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextButton text " + text + "\"";
@@ -41,6 +41,16 @@ public class TextFieldCursorPositionUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextFieldCursorPositionUndoable)) return false;
+        var next = (TextFieldCursorPositionUndoable) undoable;
+        if (next.textField != textField) return false;
+        
+        cursorPosition = next.cursorPosition;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextField cursor position\"";
@@ -41,6 +41,16 @@ public class TextFieldMaxLengthUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextFieldMaxLengthUndoable)) return false;
+        var next = (TextFieldMaxLengthUndoable) undoable;
+        if (next.textField != textField) return false;
+        
+        maxLength = next.maxLength;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextField max length " + maxLength + "\"";
@@ -43,6 +43,16 @@ public class TextFieldMessageTextUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextFieldMessageTextUndoable)) return false;
+        var next = (TextFieldMessageTextUndoable) undoable;
+        if (next.textField != textField) return false;
+        
+        messageText = next.messageText;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextField message text " + messageText + "\"";
@@ -43,6 +43,16 @@ public class TextFieldNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextFieldNameUndoable)) return false;
+        var next = (TextFieldNameUndoable) undoable;
+        if (next.textField != textField) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextField name " + name + "\"";
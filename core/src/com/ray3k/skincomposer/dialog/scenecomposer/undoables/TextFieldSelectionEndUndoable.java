@@ -41,6 +41,16 @@ public class TextFieldSelectionEndUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextFieldSelectionEndUndoable)) return false;
+        var next = (TextFieldSelectionEndUndoable) undoable;
+        if (next.textField != textField) return false;
+        
+        selectionEnd = next.selectionEnd;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextField selection end\"";
@@ -41,6 +41,16 @@ public class TextFieldSelectionStartUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextFieldSelectionStartUndoable)) return false;
+        var next = (TextFieldSelectionStartUndoable) undoable;
+        if (next.textField != textField) return false;
+        
+        selectionStart = next.selectionStart;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextField selection start\"";
@@ -43,6 +43,16 @@ public class TextFieldTextUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TextFieldTextUndoable)) return false;
+        var next = (TextFieldTextUndoable) undoable;
+        if (next.textField != textField) return false;
+        
+        text = next.text;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TextField text " + text + "\"";
@@ -41,6 +41,16 @@ public class TouchPadDeadZoneUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TouchPadDeadZoneUndoable)) return false;
+        var next = (TouchPadDeadZoneUndoable) undoable;
+        if (next.touchPad != touchPad) return false;
+        
+        deadZone = next.deadZone;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TouchPad dead zone " + deadZone + "\"";
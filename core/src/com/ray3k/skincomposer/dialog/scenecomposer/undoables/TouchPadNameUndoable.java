@@ -43,6 +43,16 @@ public class TouchPadNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TouchPadNameUndoable)) return false;
+        var next = (TouchPadNameUndoable) undoable;
+        if (next.touchPad != touchPad) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"TouchPad name " + name + "\"";
@@ -40,6 +40,16 @@ public class TreeIconSpaceLeftUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TreeIconSpaceLeftUndoable)) return false;
+        var next = (TreeIconSpaceLeftUndoable) undoable;
+        if (next.tree != tree) return false;
+        
+        iconSpaceLeft = next.iconSpaceLeft;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Tree icon space left " + iconSpaceLeft + "\"";
@@ -40,6 +40,16 @@ public class TreeIconSpaceRightUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TreeIconSpaceRightUndoable)) return false;
+        var next = (TreeIconSpaceRightUndoable) undoable;
+        if (next.tree != tree) return false;
+        
+        iconSpaceRight = next.iconSpaceRight;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Tree icon space right " + iconSpaceRight + "\"";
@@ -40,6 +40,16 @@ public class TreeIndentSpacingUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TreeIndentSpacingUndoable)) return false;
+        var next = (TreeIndentSpacingUndoable) undoable;
+        if (next.tree != tree) return false;
+        
+        indentSpacing = next.indentSpacing;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Tree indent spacing " + indentSpacing + "\"";
@@ -43,6 +43,16 @@ public class TreeNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TreeNameUndoable)) return false;
+        var next = (TreeNameUndoable) undoable;
+        if (next.tree != tree) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Tree name " + name + "\"";
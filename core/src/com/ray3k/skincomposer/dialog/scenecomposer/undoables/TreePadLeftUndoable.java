@@ -40,6 +40,16 @@ public class TreePadLeftUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TreePadLeftUndoable)) return false;
+        var next = (TreePadLeftUndoable) undoable;
+        if (next.tree != tree) return false;
+        
+        padLeft = next.padLeft;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Tree pad left " + padLeft + "\"";
@@ -40,6 +40,16 @@ public class TreePadRightUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TreePadRightUndoable)) return false;
+        var next = (TreePadRightUndoable) undoable;
+        if (next.tree != tree) return false;
+        
+        padRight = next.padRight;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Tree pad right " + padRight + "\"";
@@ -40,6 +40,16 @@ public class TreeYSpacingUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof TreeYSpacingUndoable)) return false;
+        var next = (TreeYSpacingUndoable) undoable;
+        if (next.tree != tree) return false;
+        
+        ySpacing = next.ySpacing;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"Tree y spacing " + ySpacing + "\"";
@@ -43,6 +43,16 @@ public class VerticalGroupNameUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof VerticalGroupNameUndoable)) return false;
+        var next = (VerticalGroupNameUndoable) undoable;
+        if (next.verticalGroup != verticalGroup) return false;
+        
+        name = next.name;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"VerticalGroup name " + name + "\"";
@@ -42,6 +42,16 @@ public class VerticalGroupPadBottomUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof VerticalGroupPadBottomUndoable)) return false;
+        var next = (VerticalGroupPadBottomUndoable) undoable;
+        if (next.verticalGroup != verticalGroup) return false;
+        
+        padBottom = next.padBottom;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"VerticalGroup pad bottom " + padBottom + "\"";
@@ -42,6 +42,16 @@ public class VerticalGroupPadLeftUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof VerticalGroupPadLeftUndoable)) return false;
+        var next = (VerticalGroupPadLeftUndoable) undoable;
+        if (next.verticalGroup != verticalGroup) return false;
+        
+        padLeft = next.padLeft;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"VerticalGroup pad left " + padLeft + "\"";
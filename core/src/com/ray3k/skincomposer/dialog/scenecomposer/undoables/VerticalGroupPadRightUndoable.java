@@ -42,6 +42,16 @@ public class VerticalGroupPadRightUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof VerticalGroupPadRightUndoable)) return false;
+        var next = (VerticalGroupPadRightUndoable) undoable;
+        if (next.verticalGroup != verticalGroup) return false;
+        
+        padRight = next.padRight;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"VerticalGroup pad right " + padRight + "\"";
@@ -42,6 +42,16 @@ public class VerticalGroupPadTopUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof VerticalGroupPadTopUndoable)) return false;
+        var next = (VerticalGroupPadTopUndoable) undoable;
+        if (next.verticalGroup != verticalGroup) return false;
+        
+        padTop = next.padTop;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"VerticalGroup pad top " + padTop + "\"";
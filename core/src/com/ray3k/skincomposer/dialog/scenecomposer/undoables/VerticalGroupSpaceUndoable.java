@@ -42,6 +42,16 @@ public class VerticalGroupSpaceUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof VerticalGroupSpaceUndoable)) return false;
+        var next = (VerticalGroupSpaceUndoable) undoable;
+        if (next.verticalGroup != verticalGroup) return false;
+        
+        space = next.space;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"VerticalGroup space " + space + "\"";
@@ -42,6 +42,16 @@ public class VerticalGroupWrapSpaceUndoable implements SceneComposerUndoable {
         dialog.model.updatePreview();
     }
     
+    @Override
+    public boolean merge(SceneComposerUndoable undoable) {
+        if (!(undoable instanceof VerticalGroupWrapSpaceUndoable)) return false;
+        var next = (VerticalGroupWrapSpaceUndoable) undoable;
+        if (next.verticalGroup != verticalGroup) return false;
+        
+        wrapSpace = next.wrapSpace;
+        return true;
+    }
+    
     @Override
     public String getRedoString() {
         return "Redo \"VerticalGroup wrapSpace " + wrapSpace + "\"";
@@ -50,6 +50,7 @@ import com.ray3k.skincomposer.ResizeFourArrowListener;
 import com.ray3k.skincomposer.StageResizeListener;
 import com.ray3k.skincomposer.TenPatchWidget;
 import com.ray3k.skincomposer.data.DrawableData;
+import com.ray3k.skincomposer.data.NameIndex;
 import com.ray3k.skincomposer.data.StyleProperty;
 import com.ray3k.skincomposer.dialog.DialogDrawables;
 import com.ray3k.skincomposer.dialog.DialogDrawables.DialogDrawablesListener;
@@ -148,6 +149,7 @@ public class DialogTenPatch extends Dialog {
                                 
                                 TextField textField = findActor("nameField");
                                 drawableData.name = textField.getText();
+                                NameIndex.nameChanged();
                                 drawableData.file = file;
                                 
                                 var iter = drawableData.tenPatchData.regionNames.iterator();
@@ -278,6 +280,7 @@ public class DialogTenPatch extends Dialog {
             @Override
             public void changed(ChangeEvent event, Actor actor) {
                 drawableData.name = textField.getText();
+                NameIndex.nameChanged();
                 validateName();
             }
         });
@@ -12,6 +12,7 @@ import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.badlogic.gdx.utils.*;
 import com.ray3k.skincomposer.HandListener;
 import com.ray3k.skincomposer.Main;
+import com.ray3k.skincomposer.ScheduledTenPatchDrawable;
 import com.ray3k.skincomposer.dialog.DialogDrawables;
 import com.ray3k.skincomposer.dialog.DialogDrawables.FilterOptions;
 import com.ray3k.skincomposer.dialog.DialogFactory.ConfirmationListener;
@@ -85,7 +86,7 @@ public class DialogTenPatchAnimation extends Dialog {
         
         top.row();
         
-        animatedDrawable = new TenPatchDrawable();
+        animatedDrawable = new ScheduledTenPatchDrawable();
         animatedDrawable.horizontalStretchAreas = new int[]{};
         animatedDrawable.verticalStretchAreas = new int[]{};
     
@@ -862,12 +863,6 @@ public class DialogTenPatchAnimation extends Dialog {
         }
     }
     
-    @Override
-    public void act(float delta) {
-        super.act(delta);
-        animatedDrawable.update(delta);
-    }
-    
     public static class DialogTenPatchAnimationEvent extends Event {
         public DrawableData drawableData;
     
@@ -0,0 +1,620 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.ray3k.skincomposer.utils;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.FileImageInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads the dimensions of an image from its header without decoding any
+ * pixels. PNG, JPEG, GIF, and BMP headers are parsed directly. Other formats
+ * fall back to an ImageIO reader, which also only reads the header. The border
+ * of a nine patch PNG is read by unfiltering one row at a time and keeping
+ * only the alpha of the outer pixels.
+ * @author Raymond Buckley
+ */
+public class ImageProbe {
+    private static final int IHDR = 0x49484452;
+    private static final int IDAT = 0x49444154;
+    private static final int IEND = 0x49454E44;
+    private static final int TRNS = 0x74524E53;
+    
+    public static class ImageInfo {
+        public int width;
+        public int height;
+        /**
+         * True if the file name marks the image as a nine patch. The 1 pixel
+         * border is already subtracted from the dimensions.
+         */
+        public boolean ninePatch;
+        /**
+         * The split values of a nine patch as {left, right, top, bottom} or null
+         * if there are no splits or the border was not read.
+         */
+        public int[] splits;
+        /**
+         * The padding values of a nine patch as {left, right, top, bottom} or
+         * null if the padding is not defined, equal to the splits, or the border
+         * was not read.
+         */
+        public int[] pads;
+    }
+    
+    /**
+     * The alpha values of the 1 pixel border of a nine patch.
+     */
+    private static class Border {
+        private int[] top;
+        private int[] bottom;
+        private int[] left;
+        private int[] right;
+        private boolean read;
+    }
+    
+    /**
+     * Reads the dimensions of the image and the splits and padding of nine
+     * patches. For nine patches the dimensions exclude the 1 pixel border.
+     * @param file
+     * @return
+     * @throws GdxRuntimeException if the file can not be read or the format is
+     * not recognized.
+     */
+    public static ImageInfo probe(FileHandle file) {
+        return probe(file, true);
+    }
+    
+    /**
+     * Reads the dimensions of the image. For nine patches the dimensions
+     * exclude the 1 pixel border.
+     * @param file
+     * @param readBorder If true, the border of nine patches is read for the
+     * splits and padding. PNG files are decoded one row at a time without
+     * keeping the image, other formats are decoded with a Pixmap.
+     * @return
+     * @throws GdxRuntimeException if the file can not be read or the format is
+     * not recognized.
+     */
+    public static ImageInfo probe(FileHandle file, boolean readBorder) {
+        var info = new ImageInfo();
+        info.ninePatch = Utils.isNinePatch(file.name());
+        var border = readBorder && info.ninePatch ? new Border() : null;
+        try (var reader = new HeaderReader(openChannel(file), border == null ? 512 : 64 * 1024)) {
+            int first = reader.readUnsignedByte();
+            int second = reader.readUnsignedByte();
+            
+            if (first == 0x89 && second == 'P') {
+                readPng(reader, info, border);
+            } else if (first == 0xFF && second == 0xD8) {
+                readJpeg(reader, info);
+            } else if (first == 'G' && second == 'I') {
+                //signature, version, then little endian width and height
+                reader.skip(4);
+                info.width = reader.readUnsignedShortLE();
+                info.height = reader.readUnsignedShortLE();
+            } else if (first == 'B' && second == 'M') {
+                //file header, header size, then the little endian width and height of the BITMAPINFOHEADER
+                reader.skip(16);
+                info.width = Math.abs(reader.readIntLE());
+                info.height = Math.abs(reader.readIntLE());
+            } else {
+                readWithImageIO(file, info);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Unable to read image dimensions: " + file.path(), e);
+        }
+        
+        if (border != null) {
+            //interlaced PNGs and other formats
+            if (!border.read) readBorderWithPixmap(file, border);
+            info.splits = getSplits(border.top, border.left);
+            info.pads = getPads(border.bottom, border.right, info.splits);
+        }
+        
+        if (info.ninePatch) {
+            info.width = Math.max(info.width - 2, 0);
+            info.height = Math.max(info.height - 2, 0);
+        }
+        
+        return info;
+    }
+    
+    private static void readPng(HeaderReader reader, ImageInfo info, Border border) throws IOException {
+        //rest of the signature, then IHDR is always the first chunk: length, type, width, height
+        reader.skip(6);
+        reader.readInt();
+        if (reader.readInt() != IHDR) throw new IOException("Missing IHDR chunk");
+        info.width = reader.readInt();
+        info.height = reader.readInt();
+        if (border != null) readPngBorder(reader, info.width, info.height, border);
+    }
+    
+    private static void readPngBorder(HeaderReader reader, int width, int height, Border border) throws IOException {
+        int bitDepth = reader.readUnsignedByte();
+        int colorType = reader.readUnsignedByte();
+        //compression and filter method
+        reader.skip(2);
+        int interlace = reader.readUnsignedByte();
+        //CRC
+        reader.skip(4);
+        if (interlace != 0 || width <= 0 || height <= 0) return;
+        
+        byte[] transparency = null;
+        int length;
+        while (true) {
+            length = reader.readInt();
+            int type = reader.readInt();
+            if (type == IDAT) break;
+            if (type == IEND) throw new IOException("Missing IDAT chunk");
+            if (type == TRNS) {
+                transparency = new byte[length];
+                reader.readFully(transparency, 0, length);
+                reader.skip(4);
+            } else {
+                reader.skip(length + 4L);
+            }
+        }
+        
+        int channels;
+        switch (colorType) {
+            case 0:
+            case 3:
+                channels = 1;
+                break;
+            case 2:
+                channels = 3;
+                break;
+            case 4:
+                channels = 2;
+                break;
+            case 6:
+                channels = 4;
+                break;
+            default:
+                throw new IOException("Invalid PNG color type");
+        }
+        int bitsPerPixel = channels * bitDepth;
+        int bytesPerPixel = Math.max(bitsPerPixel / 8, 1);
+        int rowBytes = (int) (((long) width * bitsPerPixel + 7) / 8);
+        
+        border.top = new int[width];
+        border.bottom = new int[width];
+        border.left = new int[height];
+        border.right = new int[height];
+        var row = new byte[rowBytes];
+        var previous = new byte[rowBytes];
+        var inflater = new Inflater();
+        try (var data = new DataInputStream(new InflaterInputStream(new ImageDataStream(reader, length), inflater, 8192))) {
+            for (int y = 0; y < height; y++) {
+                int filter = data.readUnsignedByte();
+                data.readFully(row);
+                unfilter(filter, row, previous, bytesPerPixel);
+                
+                border.left[y] = getAlpha(row, 0, colorType, bitDepth, transparency);
+                border.right[y] = getAlpha(row, width - 1, colorType, bitDepth, transparency);
+                if (y == 0 || y == height - 1) {
+                    var line = y == 0 ? border.top : border.bottom;
+                    for (int x = 0; x < width; x++) {
+                        line[x] = getAlpha(row, x, colorType, bitDepth, transparency);
+                    }
+                    if (height == 1) System.arraycopy(border.top, 0, border.bottom, 0, width);
+                }
+                
+                var swap = previous;
+                previous = row;
+                row = swap;
+            }
+        } finally {
+            inflater.end();
+        }
+        border.read = true;
+    }
+    
+    private static void unfilter(int filter, byte[] row, byte[] previous, int bytesPerPixel) throws IOException {
+        switch (filter) {
+            case 0:
+                break;
+            case 1:
+                for (int i = bytesPerPixel; i < row.length; i++) {
+                    row[i] += row[i - bytesPerPixel];
+                }
+                break;
+            case 2:
+                for (int i = 0; i < row.length; i++) {
+                    row[i] += previous[i];
+                }
+                break;
+            case 3:
+                for (int i = 0; i < row.length; i++) {
+                    int left = i >= bytesPerPixel ? row[i - bytesPerPixel] & 0xFF : 0;
+                    row[i] += (left + (previous[i] & 0xFF)) >>> 1;
+                }
+                break;
+            case 4:
+                for (int i = 0; i < row.length; i++) {
+                    int left = i >= bytesPerPixel ? row[i - bytesPerPixel] & 0xFF : 0;
+                    int up = previous[i] & 0xFF;
+                    int upLeft = i >= bytesPerPixel ? previous[i - bytesPerPixel] & 0xFF : 0;
+                    int estimate = left + up - upLeft;
+                    int distanceLeft = Math.abs(estimate - left);
+                    int distanceUp = Math.abs(estimate - up);
+                    int distanceUpLeft = Math.abs(estimate - upLeft);
+                    if (distanceLeft <= distanceUp && distanceLeft <= distanceUpLeft) row[i] += left;
+                    else if (distanceUp <= distanceUpLeft) row[i] += up;
+                    else row[i] += upLeft;
+                }
+                break;
+            default:
+                throw new IOException("Invalid PNG filter type");
+        }
+    }
+    
+    /**
+     * Returns the 8 bit alpha of a pixel the way a Pixmap would decode it.
+     * Sixteen bit samples are reduced to their high byte and smaller samples
+     * are scaled up.
+     */
+    private static int getAlpha(byte[] row, int x, int colorType, int bitDepth, byte[] transparency) {
+        switch (colorType) {
+            case 6:
+                return row[bitDepth == 8 ? x * 4 + 3 : x * 8 + 6] & 0xFF;
+            case 4:
+                return row[bitDepth == 8 ? x * 2 + 1 : x * 4 + 2] & 0xFF;
+            case 3:
+                int index = getSample(row, x, bitDepth);
+                return transparency != null && index < transparency.length ? transparency[index] & 0xFF : 255;
+            case 0:
+                //a Pixmap loads grayscale without transparency as an alpha image
+                int sample = getSample(row, x, bitDepth);
+                if (transparency == null || transparency.length < 2) return bitDepth == 16 ? sample >> 8 : sample * 255 / ((1 << bitDepth) - 1);
+                return sample == getKey(transparency, 0) ? 0 : 255;
+            default:
+                if (transparency == null || transparency.length < 6) return 255;
+                for (int channel = 0; channel < 3; channel++) {
+                    int offset = bitDepth == 8 ? x * 3 + channel : (x * 3 + channel) * 2;
+                    int value = bitDepth == 8 ? row[offset] & 0xFF : (row[offset] & 0xFF) << 8 | row[offset + 1] & 0xFF;
+                    if (value != getKey(transparency, channel)) return 255;
+                }
+                return 0;
+        }
+    }
+    
+    private static int getSample(byte[] row, int x, int bitDepth) {
+        if (bitDepth == 16) return (row[x * 2] & 0xFF) << 8 | row[x * 2 + 1] & 0xFF;
+        if (bitDepth == 8) return row[x] & 0xFF;
+        int bit = x * bitDepth;
+        return row[bit >> 3] >> 8 - bitDepth - (bit & 7) & (1 << bitDepth) - 1;
+    }
+    
+    private static int getKey(byte[] transparency, int channel) {
+        return (transparency[channel * 2] & 0xFF) << 8 | transparency[channel * 2 + 1] & 0xFF;
+    }
+    
+    private static void readBorderWithPixmap(FileHandle file, Border border) {
+        var pixmap = new Pixmap(file);
+        try {
+            int width = pixmap.getWidth();
+            int height = pixmap.getHeight();
+            border.top = new int[width];
+            border.bottom = new int[width];
+            border.left = new int[height];
+            border.right = new int[height];
+            for (int x = 0; x < width; x++) {
+                border.top[x] = pixmap.getPixel(x, 0) & 0xFF;
+                border.bottom[x] = pixmap.getPixel(x, height - 1) & 0xFF;
+            }
+            for (int y = 0; y < height; y++) {
+                border.left[y] = pixmap.getPixel(0, y) & 0xFF;
+                border.right[y] = pixmap.getPixel(width - 1, y) & 0xFF;
+            }
+        } finally {
+            pixmap.dispose();
+        }
+    }
+    
+    /**
+     * Returns the split values of a nine patch from the alpha of its border.
+     * Mirrors the behavior of TexturePacker's ImageProcessor.
+     * @param top The alpha of the top row, including the corners.
+     * @param left The alpha of the left column, including the corners.
+     * @return {left, right, top, bottom} or null if there are no splits.
+     */
+    public static int[] getSplits(int[] top, int[] left) {
+        int startX = getSplitPoint(top, 1, true);
+        int endX = getSplitPoint(top, startX, false);
+        int startY = getSplitPoint(left, 1, true);
+        int endY = getSplitPoint(left, startY, false);
+        
+        if (startX == 0 && endX == 0 && startY == 0 && endY == 0) return null;
+        
+        //subtraction here is because the coordinates were computed before the 1px border was stripped
+        if (startX != 0) {
+            startX--;
+            endX = top.length - 2 - (endX - 1);
+        } else {
+            endX = top.length - 2;
+        }
+        if (startY != 0) {
+            startY--;
+            endY = left.length - 2 - (endY - 1);
+        } else {
+            endY = left.length - 2;
+        }
+        
+        return new int[] {startX, endX, startY, endY};
+    }
+    
+    /**
+     * Returns the padding values of a nine patch from the alpha of its border.
+     * Mirrors the behavior of TexturePacker's ImageProcessor.
+     * @param bottom The alpha of the bottom row, including the corners.
+     * @param right The alpha of the right column, including the corners.
+     * @param splits
+     * @return {left, right, top, bottom} or null if the padding is not
+     * defined or equal to the splits.
+     */
+    public static int[] getPads(int[] bottom, int[] right, int[] splits) {
+        int startX = getSplitPoint(bottom, 1, true);
+        int startY = getSplitPoint(right, 1, true);
+        
+        int endX = 0;
+        int endY = 0;
+        if (startX != 0) endX = getSplitPoint(bottom, startX + 1, false);
+        if (startY != 0) endY = getSplitPoint(right, startY + 1, false);
+        
+        if (startX == 0 && endX == 0 && startY == 0 && endY == 0) return null;
+        
+        if (startX == 0 && endX == 0) {
+            startX = -1;
+            endX = -1;
+        } else if (startX > 0) {
+            startX--;
+            endX = bottom.length - 2 - (endX - 1);
+        } else {
+            endX = bottom.length - 2;
+        }
+        if (startY == 0 && endY == 0) {
+            startY = -1;
+            endY = -1;
+        } else if (startY > 0) {
+            startY--;
+            endY = right.length - 2 - (endY - 1);
+        } else {
+            endY = right.length - 2;
+        }
+        
+        var pads = new int[] {startX, endX, startY, endY};
+        if (splits != null && Arrays.equals(pads, splits)) return null;
+        
+        return pads;
+    }
+    
+    /**
+     * Scans along the border of a nine patch image for the first pixel that
+     * starts or ends a black line.
+     * @return the index of the pixel or 0 if none was found.
+     */
+    private static int getSplitPoint(int[] alpha, int start, boolean startPoint) {
+        int breakA = startPoint ? 255 : 0;
+        for (int i = start; i < alpha.length; i++) {
+            if (alpha[i] == breakA) return i;
+        }
+        return 0;
+    }
+    
+    private static void readJpeg(HeaderReader reader, ImageInfo info) throws IOException {
+        while (true) {
+            int marker = reader.readUnsignedByte();
+            if (marker != 0xFF) throw new IOException("Invalid JPEG marker");
+            
+            //skip fill bytes
+            while (marker == 0xFF) {
+                marker = reader.readUnsignedByte();
+            }
+            
+            //markers without a length
+            if (marker == 0x01 || marker >= 0xD0 && marker <= 0xD8) continue;
+            if (marker == 0xD9 || marker == 0xDA) throw new IOException("No frame header found");
+            
+            int length = reader.readUnsignedShort();
+            //SOF0 to SOF15 except DHT, JPG, and DAC
+            if (marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC) {
+                //precision, height, width
+                reader.skip(1);
+                info.height = reader.readUnsignedShort();
+                info.width = reader.readUnsignedShort();
+                return;
+            }
+            
+            reader.skip(length - 2);
+        }
+    }
+    
+    private static void readWithImageIO(FileHandle file, ImageInfo info) throws IOException {
+        var iterator = ImageIO.getImageReadersBySuffix(file.extension());
+        if (!iterator.hasNext()) throw new IOException("No reader available to check image dimensions");
+        
+        ImageReader reader = iterator.next();
+        try (var stream = new FileImageInputStream(file.file())) {
+            reader.setInput(stream);
+            info.width = reader.getWidth(reader.getMinIndex());
+            info.height = reader.getHeight(reader.getMinIndex());
+        } finally {
+            reader.dispose();
+        }
+    }
+    
+    private static ReadableByteChannel openChannel(FileHandle file) throws IOException {
+        if (file.type() != Files.FileType.Classpath && file.type() != Files.FileType.Internal || file.file().exists()) {
+            return FileChannel.open(file.file().toPath(), StandardOpenOption.READ);
+        }
+        return Channels.newChannel(file.read());
+    }
+    
+    /**
+     * Reads the data of consecutive IDAT chunks as one stream.
+     */
+    private static class ImageDataStream extends InputStream {
+        private final HeaderReader reader;
+        private int remaining;
+        
+        private ImageDataStream(HeaderReader reader, int length) {
+            this.reader = reader;
+            remaining = length;
+        }
+        
+        private boolean nextChunk() throws IOException {
+            while (remaining == 0) {
+                //CRC of the previous chunk, then the next chunk header
+                reader.skip(4);
+                int length = reader.readInt();
+                if (reader.readInt() != IDAT) return false;
+                remaining = length;
+            }
+            return true;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            if (!nextChunk()) return -1;
+            remaining--;
+            return reader.readUnsignedByte();
+        }
+        
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) return 0;
+            if (!nextChunk()) return -1;
+            int read = reader.read(bytes, offset, Math.min(length, remaining));
+            remaining -= read;
+            return read;
+        }
+    }
+    
+    /**
+     * Reads big endian values from the start of a file through a small
+     * buffer. Skips are done by moving the position of the channel if
+     * possible.
+     */
+    private static class HeaderReader implements Closeable {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer;
+        
+        private HeaderReader(ReadableByteChannel channel, int bufferSize) {
+            this.channel = channel;
+            buffer = ByteBuffer.allocate(bufferSize);
+            buffer.limit(0);
+        }
+        
+        private void fill() throws IOException {
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            if (read == -1) throw new EOFException();
+            buffer.flip();
+        }
+        
+        private int readUnsignedByte() throws IOException {
+            if (!buffer.hasRemaining()) fill();
+            return buffer.get() & 0xFF;
+        }
+        
+        private void readFully(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                int read = read(bytes, offset, length);
+                offset += read;
+                length -= read;
+            }
+        }
+        
+        private int read(byte[] bytes, int offset, int length) throws IOException {
+            if (!buffer.hasRemaining()) fill();
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+        
+        private int readUnsignedShort() throws IOException {
+            return readUnsignedByte() << 8 | readUnsignedByte();
+        }
+        
+        private int readUnsignedShortLE() throws IOException {
+            return readUnsignedByte() | readUnsignedByte() << 8;
+        }
+        
+        private int readInt() throws IOException {
+            return readUnsignedShort() << 16 | readUnsignedShort();
+        }
+        
+        private int readIntLE() throws IOException {
+            return readUnsignedShortLE() | readUnsignedShortLE() << 16;
+        }
+        
+        private void skip(long count) throws IOException {
+            int buffered = (int) Math.min(count, buffer.remaining());
+            buffer.position(buffer.position() + buffered);
+            count -= buffered;
+            if (count == 0) return;
+            
+            if (channel instanceof FileChannel) {
+                var fileChannel = (FileChannel) channel;
+                long position = fileChannel.position() + count;
+                if (position > fileChannel.size()) throw new EOFException();
+                fileChannel.position(position);
+            } else {
+                while (count > 0) {
+                    fill();
+                    buffered = (int) Math.min(count, buffer.remaining());
+                    buffer.position(buffer.position() + buffered);
+                    count -= buffered;
+                }
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
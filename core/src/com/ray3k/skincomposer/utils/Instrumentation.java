@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.ray3k.skincomposer.utils;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.OrderedMap;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Collects frame timings and timers for instrumented subsystem calls. A rolling
+ * history of the most recent frames and timer samples is kept so it can be
+ * displayed by the InstrumentationHud or exported as CSV. Timers may be
+ * recorded from any thread.
+ * @author Raymond Buckley
+ */
+public class Instrumentation {
+    public static final int HISTORY_SIZE = 1000;
+    private static final Object lock = new Object();
+    
+    //frame history
+    private static final long[] frameTimestamps = new long[HISTORY_SIZE];
+    private static final float[] frameMillis = new float[HISTORY_SIZE];
+    private static final float[] actMillis = new float[HISTORY_SIZE];
+    private static final float[] drawMillis = new float[HISTORY_SIZE];
+    private static final int[] drawCalls = new int[HISTORY_SIZE];
+    private static final int[] textureBindings = new int[HISTORY_SIZE];
+    private static final int[] renderCalls = new int[HISTORY_SIZE];
+    private static final boolean[] continuousFrames = new boolean[HISTORY_SIZE];
+    private static final float[] sortedFrameMillis = new float[HISTORY_SIZE];
+    private static int frameIndex;
+    private static int frameCount;
+    
+    //timer history
+    private static final long[] sampleTimestamps = new long[HISTORY_SIZE];
+    private static final String[] sampleNames = new String[HISTORY_SIZE];
+    private static final float[] sampleMillis = new float[HISTORY_SIZE];
+    private static int sampleIndex;
+    private static int sampleCount;
+    private static final OrderedMap<String, Timer> timers = new OrderedMap<>();
+    
+    public static class Timer {
+        public String name;
+        public int count;
+        public double totalMillis;
+        public float lastMillis;
+        public float maxMillis;
+        
+        public float getAverageMillis() {
+            return count == 0 ? 0 : (float) (totalMillis / count);
+        }
+    }
+    
+    /**
+     * @return the start time to pass to {@link #record(String, long)}.
+     */
+    public static long start() {
+        return TimeUtils.nanoTime();
+    }
+    
+    /**
+     * @param start a value returned by {@link #start()}
+     * @return the milliseconds elapsed since start.
+     */
+    public static float millisSince(long start) {
+        return (TimeUtils.nanoTime() - start) / 1000000f;
+    }
+    
+    /**
+     * Records the time elapsed since start for the named timer.
+     * @param name
+     * @param start a value returned by {@link #start()}
+     */
+    public static void record(String name, long start) {
+        var millis = millisSince(start);
+        synchronized (lock) {
+            var timer = timers.get(name);
+            if (timer == null) {
+                timer = new Timer();
+                timer.name = name;
+                timers.put(name, timer);
+            }
+            timer.count++;
+            timer.totalMillis += millis;
+            timer.lastMillis = millis;
+            timer.maxMillis = Math.max(timer.maxMillis, millis);
+            
+            sampleTimestamps[sampleIndex] = TimeUtils.millis();
+            sampleNames[sampleIndex] = name;
+            sampleMillis[sampleIndex] = millis;
+            sampleIndex = (sampleIndex + 1) % HISTORY_SIZE;
+            sampleCount = Math.min(sampleCount + 1, HISTORY_SIZE);
+        }
+    }
+    
+    /**
+     * Records the statistics of a rendered frame. Counts that were not measured
+     * should be passed as -1. Frames rendered on demand should pass the time
+     * spent rendering instead of the time since the previous frame.
+     */
+    public static void recordFrame(float frame, float act, float draw, int frameDrawCalls, int frameTextureBindings, int frameRenderCalls, boolean continuous) {
+        synchronized (lock) {
+            frameTimestamps[frameIndex] = TimeUtils.millis();
+            frameMillis[frameIndex] = frame;
+            actMillis[frameIndex] = act;
+            drawMillis[frameIndex] = draw;
+            drawCalls[frameIndex] = frameDrawCalls;
+            textureBindings[frameIndex] = frameTextureBindings;
+            renderCalls[frameIndex] = frameRenderCalls;
+            continuousFrames[frameIndex] = continuous;
+            frameIndex = (frameIndex + 1) % HISTORY_SIZE;
+            frameCount = Math.min(frameCount + 1, HISTORY_SIZE);
+        }
+    }
+    
+    /**
+     * Calculates frame time percentiles over the frame history.
+     * @param percentiles values between 0 and 1
+     * @param results receives the frame time in milliseconds for each percentile
+     */
+    public static void getFramePercentiles(float[] percentiles, float[] results) {
+        synchronized (lock) {
+            if (frameCount == 0) {
+                Arrays.fill(results, 0);
+                return;
+            }
+            
+            System.arraycopy(frameMillis, 0, sortedFrameMillis, 0, frameCount);
+            Arrays.sort(sortedFrameMillis, 0, frameCount);
+            for (int i = 0; i < percentiles.length; i++) {
+                var index = (int) Math.ceil(percentiles[i] * frameCount) - 1;
+                results[i] = sortedFrameMillis[Math.max(0, Math.min(index, frameCount - 1))];
+            }
+        }
+    }
+    
+    /**
+     * @param windowMillis
+     * @return the number of frames rendered per second during the most recent
+     * window of time.
+     */
+    public static float getFramesPerSecond(long windowMillis) {
+        synchronized (lock) {
+            var since = TimeUtils.millis() - windowMillis;
+            var count = 0;
+            for (int i = 1; i <= frameCount; i++) {
+                if (frameTimestamps[(frameIndex - i + HISTORY_SIZE) % HISTORY_SIZE] < since) break;
+                count++;
+            }
+            return count * 1000f / windowMillis;
+        }
+    }
+    
+    /**
+     * Copies the statistics of the most recent frame.
+     * @param results receives the act time, draw time, draw calls, texture
+     * bindings, and render calls in that order.
+     */
+    public static void getLastFrame(float[] results) {
+        synchronized (lock) {
+            if (frameCount == 0) {
+                Arrays.fill(results, 0);
+                return;
+            }
+            
+            var index = (frameIndex + HISTORY_SIZE - 1) % HISTORY_SIZE;
+            results[0] = actMillis[index];
+            results[1] = drawMillis[index];
+            results[2] = drawCalls[index];
+            results[3] = textureBindings[index];
+            results[4] = renderCalls[index];
+        }
+    }
+    
+    /**
+     * @return a copy of every timer in the order they were first recorded.
+     */
+    public static Array<Timer> getTimers() {
+        var results = new Array<Timer>();
+        synchronized (lock) {
+            for (var timer : timers.values()) {
+                var copy = new Timer();
+                copy.name = timer.name;
+                copy.count = timer.count;
+                copy.totalMillis = timer.totalMillis;
+                copy.lastMillis = timer.lastMillis;
+                copy.maxMillis = timer.maxMillis;
+                results.add(copy);
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Writes the frame and timer history to a CSV file, oldest entries first.
+     * @param fileHandle
+     */
+    public static void exportCsv(FileHandle fileHandle) {
+        var builder = new StringBuilder();
+        builder.append("type,timestamp,name,milliseconds,act_milliseconds,draw_milliseconds,draw_calls,texture_bindings,render_calls,continuous\n");
+        synchronized (lock) {
+            for (int i = 0; i < frameCount; i++) {
+                var index = (frameIndex - frameCount + i + HISTORY_SIZE) % HISTORY_SIZE;
+                builder.append("frame,").append(frameTimestamps[index]).append(",,");
+                appendMillis(builder, frameMillis[index]).append(',');
+                appendMillis(builder, actMillis[index]).append(',');
+                appendMillis(builder, drawMillis[index]).append(',');
+                appendCount(builder, drawCalls[index]).append(',');
+                appendCount(builder, textureBindings[index]).append(',');
+                appendCount(builder, renderCalls[index]).append(',');
+                builder.append(continuousFrames[index]).append('\n');
+            }
+            
+            for (int i = 0; i < sampleCount; i++) {
+                var index = (sampleIndex - sampleCount + i + HISTORY_SIZE) % HISTORY_SIZE;
+                builder.append("timer,").append(sampleTimestamps[index]).append(',').append(sampleNames[index]).append(',');
+                appendMillis(builder, sampleMillis[index]).append(",,,,,,\n");
+            }
+        }
+        fileHandle.writeString(builder.toString(), false, "UTF-8");
+    }
+    
+    private static StringBuilder appendMillis(StringBuilder builder, float millis) {
+        return builder.append(String.format(Locale.ROOT, "%.3f", millis));
+    }
+    
+    private static StringBuilder appendCount(StringBuilder builder, int count) {
+        if (count >= 0) builder.append(count);
+        return builder;
+    }
+    
+    public static void clear() {
+        synchronized (lock) {
+            frameIndex = 0;
+            frameCount = 0;
+            sampleIndex = 0;
+            sampleCount = 0;
+            Arrays.fill(sampleNames, null);
+            timers.clear();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.utils;
+
+import com.badlogic.gdx.utils.BooleanArray;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Indents the output of a JsonWriter while it is being written so large files
+ * can be pretty printed without parsing them again. Supports the minimal output
+ * type, where names and values may be unquoted and unquoted values may contain
+ * brackets and colons.
+ * @author Raymond Buckley
+ */
+public class JsonIndentWriter extends Writer {
+    private final Writer writer;
+    private final BooleanArray objects = new BooleanArray();
+    private int indent;
+    private boolean quoted;
+    private boolean escaped;
+    private boolean unquoted;
+    private boolean unquotedName;
+    private boolean expectingName;
+    private boolean pendingNewLine;
+    
+    public JsonIndentWriter(Writer writer) {
+        this.writer = writer;
+    }
+    
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            write(cbuf[i]);
+        }
+    }
+    
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            write(str.charAt(i));
+        }
+    }
+    
+    @Override
+    public void write(int c) throws IOException {
+        if (quoted) {
+            writer.write(c);
+            if (escaped) escaped = false;
+            else if (c == '\\') escaped = true;
+            else if (c == '"') quoted = false;
+            return;
+        }
+        
+        if (unquoted) {
+            //names end at the colon, values end at the next separator
+            boolean end = unquotedName ? c == ':' : c == ',' || c == '}' || c == ']';
+            if (!end) {
+                writer.write(c);
+                return;
+            }
+            unquoted = false;
+        }
+        
+        if (pendingNewLine) {
+            pendingNewLine = false;
+            if (c == '}' || c == ']') {
+                objects.pop();
+                indent--;
+                writer.write(c);
+                return;
+            }
+            newLine();
+        }
+        
+        switch (c) {
+            case '{':
+            case '[':
+                writer.write(c);
+                objects.add(c == '{');
+                expectingName = c == '{';
+                indent++;
+                pendingNewLine = true;
+                break;
+            case '}':
+            case ']':
+                objects.pop();
+                indent--;
+                newLine();
+                writer.write(c);
+                break;
+            case ',':
+                writer.write(c);
+                expectingName = objects.size > 0 && objects.peek();
+                newLine();
+                break;
+            case ':':
+                writer.write(": ");
+                expectingName = false;
+                break;
+            case '"':
+                writer.write(c);
+                quoted = true;
+                break;
+            default:
+                writer.write(c);
+                unquoted = true;
+                unquotedName = expectingName;
+        }
+    }
+    
+    private void newLine() throws IOException {
+        writer.write('\n');
+        for (int i = 0; i < indent; i++) {
+            writer.write('\t');
+        }
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
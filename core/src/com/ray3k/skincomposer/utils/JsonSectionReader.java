@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.utils;
+
+import com.badlogic.gdx.utils.BooleanArray;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.SerializationException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads the members of a top level JSON object one at a time, so a large file
+ * never has to be parsed into a single tree. Only the text of the current
+ * member is kept and parsed. Supports the output of JsonWriter and
+ * {@link JsonIndentWriter}, including the minimal output type, where names and
+ * values may be unquoted and unquoted values may contain brackets and colons.
+ * @author Raymond Buckley
+ */
+public class JsonSectionReader {
+    private final Reader reader;
+    private final JsonReader jsonReader = new JsonReader();
+    private final BooleanArray objects = new BooleanArray();
+    private final StringBuilder section = new StringBuilder();
+    private final char[] buffer = new char[64 * 1024];
+    private int position;
+    private int length;
+    private boolean quoted;
+    private boolean escaped;
+    private boolean unquoted;
+    private boolean unquotedName;
+    private boolean expectingName;
+    private boolean finished;
+    
+    public JsonSectionReader(Reader reader) {
+        this.reader = reader;
+    }
+    
+    /**
+     * Reads and parses the next member of the top level object.
+     * @return The value of the member with its name set or null if there are
+     * no more members.
+     * @throws IOException
+     */
+    public JsonValue next() throws IOException {
+        if (finished) return null;
+        
+        section.setLength(0);
+        section.append('{');
+        int c;
+        while ((c = read()) != -1) {
+            //anything before the top level object, such as a byte order mark, is skipped
+            if (objects.size == 0 && c != '{') continue;
+            
+            if (quoted) {
+                section.append((char) c);
+                if (escaped) escaped = false;
+                else if (c == '\\') escaped = true;
+                else if (c == '"') quoted = false;
+                continue;
+            }
+            
+            if (unquoted) {
+                //names end at the colon, values end at the next separator
+                boolean end = unquotedName ? c == ':' : c == ',' || c == '}' || c == ']';
+                if (!end) {
+                    section.append((char) c);
+                    continue;
+                }
+                unquoted = false;
+            }
+            
+            switch (c) {
+                case '{':
+                case '[':
+                    if (objects.size > 0) section.append((char) c);
+                    objects.add(c == '{');
+                    expectingName = c == '{';
+                    break;
+                case '}':
+                case ']':
+                    objects.pop();
+                    if (objects.size == 0) {
+                        finished = true;
+                        return parse();
+                    }
+                    section.append((char) c);
+                    break;
+                case ',':
+                    expectingName = objects.peek();
+                    if (objects.size == 1) return parse();
+                    section.append((char) c);
+                    break;
+                case ':':
+                    section.append((char) c);
+                    expectingName = false;
+                    break;
+                case '"':
+                    section.append((char) c);
+                    quoted = true;
+                    break;
+                case ' ':
+                case '\t':
+                case '\r':
+                case '\n':
+                    section.append((char) c);
+                    break;
+                default:
+                    section.append((char) c);
+                    unquoted = true;
+                    unquotedName = expectingName;
+            }
+        }
+        
+        throw new SerializationException("Unexpected end of JSON, the top level object is not closed.");
+    }
+    
+    private JsonValue parse() {
+        section.append('}');
+        var member = jsonReader.parse(section.toString()).child;
+        if (member != null) member.parent = null;
+        return member;
+    }
+    
+    private int read() throws IOException {
+        if (position == length) {
+            position = 0;
+            length = Math.max(reader.read(buffer, 0, buffer.length), 0);
+            if (length == 0) return -1;
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+
+package com.ray3k.skincomposer.utils;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Finds the offsets at which pairs of glyphs touch for auto kerning. Each
+ * glyph is reduced to a mask of packed bit rows with the leftmost and
+ * rightmost opaque column of every row precomputed, so a pair can be solved in
+ * a single pass over the rows instead of sliding images over each other.
+ * @author Raymond Buckley
+ */
+public class KerningSolver {
+    private static final int PAIRS_PER_TASK = 256;
+    
+    /**
+     * Creates a mask of the opaque pixels in the given region of the pixmap.
+     * Pixels outside of the pixmap are treated as transparent.
+     * @param pixmap The font image.
+     * @param x
+     * @param y
+     * @param width
+     * @param height
+     * @return the mask with its row profiles already computed.
+     */
+    public static GlyphMask createMask(Pixmap pixmap, int x, int y, int width, int height) {
+        var mask = new GlyphMask(width, height);
+        for (int row = 0; row < height; row++) {
+            var offset = row * mask.words;
+            for (int column = 0; column < width; column++) {
+                if ((pixmap.getPixel(x + column, y + row) & 0xff) != 0) {
+                    mask.rows[offset + (column >>> 6)] |= 1L << (column & 63);
+                }
+            }
+        }
+        mask.updateProfiles();
+        return mask;
+    }
+    
+    /**
+     * Finds the largest horizontal offset of the second glyph, relative to the
+     * left edge of the first glyph, at which an opaque pixel of both glyphs
+     * falls on the same spot. Both glyphs are top aligned and only the rows
+     * they share are compared.
+     * @param first
+     * @param second
+     * @return The offset or -1 if the glyphs don't touch at any offset of 0 or
+     * more.
+     */
+    public static int findContact(GlyphMask first, GlyphMask second) {
+        var contact = -1;
+        var rows = Math.min(first.height, second.height);
+        for (int row = 0; row < rows; row++) {
+            if (first.right[row] != -1 && second.left[row] != -1) {
+                contact = Math.max(contact, first.right[row] - second.left[row]);
+            }
+        }
+        return contact;
+    }
+    
+    /**
+     * Solves every pair on the WorkerPool.
+     * @param firsts The left glyph of each pair.
+     * @param seconds The right glyph of each pair.
+     * @return The result of {@link #findContact(GlyphMask, GlyphMask)} for
+     * each pair in the same order.
+     * @throws Exception the first exception thrown by a task.
+     */
+    public static int[] findContacts(Array<GlyphMask> firsts, Array<GlyphMask> seconds) throws Exception {
+        var contacts = new int[firsts.size];
+        var tasks = new Array<Callable<Void>>();
+        for (int start = 0; start < firsts.size; start += PAIRS_PER_TASK) {
+            var from = start;
+            var to = Math.min(firsts.size, start + PAIRS_PER_TASK);
+            tasks.add(() -> {
+                for (int i = from; i < to; i++) {
+                    contacts[i] = findContact(firsts.get(i), seconds.get(i));
+                }
+                return null;
+            });
+        }
+        WorkerPool.invokeAll(tasks);
+        return contacts;
+    }
+    
+    public static class GlyphMask {
+        public final int width;
+        public final int height;
+        private final int words;
+        private final long[] rows;
+        private final int[] left;
+        private final int[] right;
+    
+        public GlyphMask(int width, int height) {
+            this.width = width;
+            this.height = height;
+            words = Math.max(1, (width + 63) >>> 6);
+            rows = new long[words * height];
+            left = new int[height];
+            right = new int[height];
+        }
+        
+        public boolean isOpaque(int x, int y) {
+            return (rows[y * words + (x >>> 6)] & 1L << (x & 63)) != 0;
+        }
+        
+        private void updateProfiles() {
+            for (int row = 0; row < height; row++) {
+                var offset = row * words;
+                left[row] = -1;
+                right[row] = -1;
+                
+                for (int word = 0; word < words; word++) {
+                    var bits = rows[offset + word];
+                    if (bits != 0) {
+                        left[row] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        break;
+                    }
+                }
+                
+                for (int word = words - 1; word >= 0; word--) {
+                    var bits = rows[offset + word];
+                    if (bits != 0) {
+                        right[row] = (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
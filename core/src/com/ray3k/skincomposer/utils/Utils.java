@@ -42,20 +42,17 @@ import com.badlogic.gdx.scenes.scene2d.InputListener;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.ray3k.skincomposer.ResizeFourArrowListener;
 import com.ray3k.stripe.ResizeWidget;
 import regexodus.Pattern;
 
-import javax.imageio.ImageIO;
-import javax.imageio.ImageReader;
-import javax.imageio.stream.FileImageInputStream;
 import java.awt.*;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.Set;
@@ -118,17 +115,16 @@ public class Utils {
         return returnValue;
     }
     
+    /**
+     * Reads the dimensions from the image header without decoding the image.
+     * The border of nine patches is excluded.
+     * @param file
+     * @return
+     * @see ImageProbe
+     */
     public static Vector2 imageDimensions(FileHandle file) {
-        Vector2 vector = new Vector2();
-        Pixmap pixmap = new Pixmap(file);
-        vector.x = pixmap.getWidth();
-        vector.y = pixmap.getHeight();
-        if (file.name().matches("(?i).*\\.9\\.png$")) {
-            vector.x = MathUtils.clamp(vector.x - 2, 0.0f, vector.x);
-            vector.y = MathUtils.clamp(vector.y - 2, 0.0f, vector.y);
-        }
-        pixmap.dispose();
-        return vector;
+        var info = ImageProbe.probe(file, false);
+        return new Vector2(info.width, info.height);
     }
     
     /**
@@ -287,25 +283,13 @@ public class Utils {
     }
     
     public static boolean doesImageFitBox(FileHandle fileHandle, float width, float height) {
-        boolean result = false;
-        String suffix = fileHandle.extension();
-        Iterator<ImageReader> iter = ImageIO.getImageReadersBySuffix(suffix);
-        if (iter.hasNext()) {
-            ImageReader reader = iter.next();
-            try (var stream = new FileImageInputStream(fileHandle.file())) {
-                reader.setInput(stream);
-                int imageWidth = reader.getWidth(reader.getMinIndex());
-                int imageHeight = reader.getHeight(reader.getMinIndex());
-                result = imageWidth < width && imageHeight < height;
-            } catch (IOException e) {
-                Gdx.app.error(Utils.class.getName(), "error checking image dimensions", e);
-            } finally {
-                reader.dispose();
-            }
-        } else {
-            Gdx.app.error(Utils.class.getName(), "No reader available to check image dimensions");
+        try {
+            var info = ImageProbe.probe(fileHandle, false);
+            return info.width < width && info.height < height;
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error(Utils.class.getName(), "error checking image dimensions", e);
+            return false;
         }
-        return result;
     }
     
     public static void writeWarningsToFile(Array<String> warnings, FileHandle file) {
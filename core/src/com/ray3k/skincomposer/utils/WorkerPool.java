@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * MIT License
+ * 
+ * Copyright (c) 2022 Raymond Buckley
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.ray3k.skincomposer.utils;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared pool of daemon threads for CPU bound work such as decoding and
+ * encoding images. Work that waits on the pool must be started with
+ * {@link #runInBackground(String, Runnable)} instead of being submitted to the
+ * pool itself to avoid exhausting the threads.
+ * @author Raymond Buckley
+ */
+public class WorkerPool {
+    private static ExecutorService executor;
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    
+    public static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                var thread = new Thread(runnable, "worker-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+    
+    /**
+     * Starts a dedicated daemon thread that is allowed to block while it waits
+     * for work submitted to the pool.
+     * @param name
+     * @param runnable
+     * @return
+     */
+    public static Thread runInBackground(String name, Runnable runnable) {
+        var thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+    
+    /**
+     * Runs every callable on the pool and waits for all of them to complete.
+     * @param callables
+     * @return the results in the same order as the callables.
+     * @throws Exception the first exception thrown by a callable.
+     */
+    public static <T> Array<T> invokeAll(Array<Callable<T>> callables) throws Exception {
+        var list = new ArrayList<Callable<T>>(callables.size);
+        for (var callable : callables) {
+            list.add(callable);
+        }
+        
+        var results = new Array<T>(callables.size);
+        Exception exception = null;
+        for (var future : getExecutor().invokeAll(list)) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                results.add(null);
+                if (exception == null) {
+                    exception = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                }
+            }
+        }
+        
+        if (exception != null) throw exception;
+        return results;
+    }
+}